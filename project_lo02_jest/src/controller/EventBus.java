@@ -0,0 +1,666 @@
+package controller;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import model.Card;
+import model.Offer;
+import model.Player;
+import model.TableSnapshot;
+import view.GameObserver;
+
+/**
+ * Bus d'événements asynchrone entre le contrôleur et ses observateurs.
+ * <p>
+ * Le bus est lui-même un {@link GameObserver} : le contrôleur lui notifie les
+ * événements comme à n'importe quelle vue. Chaque événement est écrit dans une
+ * case d'un tampon circulaire préalloué, sans verrou : la case est réservée
+ * par un compare-and-set, ce qui autorise plusieurs producteurs.
+ * Chaque observateur abonné lit ensuite le tampon à son rythme dans son propre
+ * thread, et reçoit les événements dans leur ordre de publication.
+ * </p>
+ * <p>
+ * Le producteur n'attend que si le tampon est plein, c'est-à-dire si un
+ * observateur a pris toute la capacité de retard. {@link #drain()} permet
+ * d'attendre que les observateurs aient tout traité, par exemple avant de
+ * demander une décision à un joueur humain.
+ * </p>
+ * <p>
+ * Les joueurs, offres, listes et scores d'un événement sont copiés à la
+ * publication, dans le thread du contrôleur : un observateur en retard voit la
+ * partie telle qu'elle était à ce moment, jamais un objet que le jeu est en
+ * train de modifier. Les copies d'un même événement sont cohérentes entre
+ * elles (un joueur qui apparaît deux fois n'est copié qu'une fois), et les
+ * cartes, qui ne changent pas pendant une partie, sont partagées.
+ * </p>
+ * <p>
+ * Les copies sont faites dans des objets propres à chaque case, réutilisés à
+ * chaque passage : une fois le tampon parcouru une première fois, la
+ * publication n'alloue plus rien. En contrepartie, les objets reçus ne restent
+ * valables que jusqu'à la réutilisation de leur case, soit la capacité du
+ * tampon en événements plus tard ; un observateur qui les garde au-delà de
+ * l'appel doit les copier (par exemple avec {@link Player#Player(Player)}).
+ * </p>
+ */
+public class EventBus implements GameObserver, Closeable {
+
+	/**
+	 * Manière dont un observateur attend le prochain événement.
+	 */
+	public enum WaitStrategy {
+		/** Attente sur une condition, réveillée par le producteur. Aucun CPU au repos. */
+		BLOCKING,
+		/** Boucle brève, puis cession du processeur, puis sommeil court. */
+		SLEEPING,
+		/** Boucle brève puis cession du processeur. Latence faible, CPU occupé. */
+		YIELDING,
+		/** Boucle active. Latence minimale, un cœur occupé par observateur. */
+		BUSY_SPIN
+	}
+
+	/** Capacité par défaut du tampon, en événements. */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private static final int SPIN_TRIES = 100;
+	private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	// Types d'événements
+	private static final int GAME_STARTED = 0;
+	private static final int ROUND_STARTED = 1;
+	private static final int CARDS_DISTRIBUTED = 2;
+	private static final int TURN_TO_OFFER = 3;
+	private static final int OFFER_MADE = 4;
+	private static final int TURN_TO_CHOOSE = 5;
+	private static final int CARD_CHOSEN = 6;
+	private static final int ROUND_ENDED = 7;
+	private static final int GAME_ENDED = 8;
+	private static final int TROPHY_CARDS = 9;
+	private static final int STACK = 10;
+	private static final int GAME_SAVED = 11;
+	private static final int GAME_LOADED = 12;
+	private static final int STATE_RESTORED = 13;
+	private static final int ERROR = 14;
+	private static final int SNAPSHOT = 15;
+
+	/**
+	 * Case du tampon : un événement réutilisable, dont les champs sont
+	 * interprétés selon son type.
+	 */
+	private static final class Event {
+		int type;
+		int number;
+		int mode;
+		boolean flag;
+		Object first;
+		Object second;
+		Object third;
+
+		// Copies de l'événement, réutilisées d'un passage à l'autre : joueurs
+		// d'origine et leurs copies, offres, listes et scores
+		final List<Player> sources = new ArrayList<>();
+		final List<Player> players = new ArrayList<>();
+		int copiedPlayers;
+		final List<Offer> offers = new ArrayList<>();
+		int copiedOffers;
+		final List<Player> playerList = new ArrayList<>();
+		final List<Offer> offerList = new ArrayList<>();
+		final List<Card> cardList = new ArrayList<>();
+		int[] scores = new int[0];
+
+		/**
+		 * Copie un joueur dans la case. Un joueur déjà copié pour cet événement
+		 * rend la même copie.
+		 */
+		Player copy(Player source) {
+			if (source == null) {
+				return null;
+			}
+			for (int i = 0; i < copiedPlayers; i++) {
+				if (sources.get(i) == source) {
+					return players.get(i);
+				}
+			}
+			if (copiedPlayers == players.size()) {
+				sources.add(source);
+				players.add(new Player(source));
+			} else {
+				sources.set(copiedPlayers, source);
+				players.get(copiedPlayers).copyFrom(source);
+			}
+			return players.get(copiedPlayers++);
+		}
+
+		Offer copy(Offer source) {
+			if (source == null) {
+				return null;
+			}
+			Player owner = copy(source.getOwner());
+			if (copiedOffers == offers.size()) {
+				offers.add(new Offer(source.getVisibleCard(), source.getHiddenCard(), owner));
+			} else {
+				offers.get(copiedOffers).set(source.getVisibleCard(), source.getHiddenCard(), owner);
+			}
+			return offers.get(copiedOffers++);
+		}
+
+		List<Player> copyPlayers(List<Player> source) {
+			playerList.clear();
+			for (int i = 0; i < source.size(); i++) {
+				playerList.add(copy(source.get(i)));
+			}
+			return playerList;
+		}
+
+		List<Offer> copyOffers(List<Offer> source) {
+			offerList.clear();
+			for (int i = 0; i < source.size(); i++) {
+				offerList.add(copy(source.get(i)));
+			}
+			return offerList;
+		}
+
+		List<Card> copyCards(List<Card> source) {
+			cardList.clear();
+			for (int i = 0; i < source.size(); i++) {
+				cardList.add(source.get(i));
+			}
+			return cardList;
+		}
+
+		int[] copy(int[] source) {
+			if (scores.length != source.length) {
+				scores = new int[source.length];
+			}
+			System.arraycopy(source, 0, scores, 0, source.length);
+			return scores;
+		}
+
+		@SuppressWarnings("unchecked")
+		void dispatch(GameObserver observer) {
+			switch (type) {
+			case GAME_STARTED:
+				observer.onGameStarted(number, mode, flag);
+				break;
+			case ROUND_STARTED:
+				observer.onRoundStarted(number);
+				break;
+			case CARDS_DISTRIBUTED:
+				observer.onCardsDistributed((List<Player>) first);
+				break;
+			case TURN_TO_OFFER:
+				observer.onPlayerTurnToOffer((Player) first);
+				break;
+			case OFFER_MADE:
+				observer.onOfferMade((Player) first, (Offer) second);
+				break;
+			case TURN_TO_CHOOSE:
+				observer.onPlayerTurnToChoose((Player) first, (List<Offer>) second);
+				break;
+			case CARD_CHOSEN:
+				observer.onCardChosen((Player) first, (Player) second, (Card) third);
+				break;
+			case ROUND_ENDED:
+				observer.onRoundEnded((List<Player>) first);
+				break;
+			case GAME_ENDED:
+				observer.onGameEnded((Player) first, (List<Player>) second, (int[]) third);
+				break;
+			case TROPHY_CARDS:
+				observer.onTrophyCardsDisplayed((Card) first, (Card) second);
+				break;
+			case STACK:
+				observer.onStackDisplayed((List<Card>) first);
+				break;
+			case GAME_SAVED:
+				observer.onGameSaved((String) first);
+				break;
+			case GAME_LOADED:
+				observer.onGameLoaded((String) first);
+				break;
+			case STATE_RESTORED:
+				observer.onStateRestored(number);
+				break;
+			case ERROR:
+				observer.onError((String) first);
+				break;
+			case SNAPSHOT:
+				observer.onSnapshot((TableSnapshot) first);
+				break;
+			default:
+			}
+		}
+	}
+
+	/**
+	 * Observateur abonné, et thread qui lui délivre les événements.
+	 */
+	private final class Subscriber implements Runnable {
+		final GameObserver observer;
+		// Dernier événement traité
+		final AtomicLong sequence;
+		volatile boolean running;
+		Thread thread;
+
+		Subscriber(GameObserver observer, long start) {
+			this.observer = observer;
+			this.sequence = new AtomicLong(start);
+			this.running = true;
+		}
+
+		@Override
+		public void run() {
+			long next = sequence.get() + 1;
+			while (running) {
+				long available = waitFor(next, this);
+				if (available < next) {
+					continue;
+				}
+				for (long seq = next; seq <= available; seq++) {
+					try {
+						ring[(int) seq & mask].dispatch(observer);
+					} catch (RuntimeException e) {
+						System.err.println("Erreur de l'observateur " + observer.getClass().getSimpleName() + " : " + e);
+					}
+				}
+				sequence.set(available);
+				next = available + 1;
+			}
+		}
+	}
+
+	private final Event[] ring;
+	private final int mask;
+	private final int shift;
+	// Tour du tampon auquel chaque case a été publiée
+	private final AtomicIntegerArray published;
+	// Dernière case réservée par un producteur
+	private final AtomicLong claimed;
+	// Plus petite séquence des abonnés, lue lors de la dernière réservation
+	private volatile long gatingCache;
+
+	private final WaitStrategy waitStrategy;
+	private final List<Subscriber> subscribers;
+	private final ReentrantLock lock;
+	private final Condition available;
+	private final AtomicLong blockedSubscribers;
+
+	/**
+	 * Construit un bus d'événements.
+	 *
+	 * @param capacity     la capacité du tampon, arrondie à la puissance de 2
+	 *                     supérieure
+	 * @param waitStrategy la manière dont les observateurs attendent les
+	 *                     événements
+	 */
+	public EventBus(int capacity, WaitStrategy waitStrategy) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.ring = new Event[size];
+		for (int i = 0; i < size; i++) {
+			ring[i] = new Event();
+		}
+		this.mask = size - 1;
+		this.shift = Integer.numberOfTrailingZeros(size);
+		this.published = new AtomicIntegerArray(size);
+		for (int i = 0; i < size; i++) {
+			published.set(i, -1);
+		}
+		this.claimed = new AtomicLong(-1);
+		this.gatingCache = -1;
+		this.waitStrategy = waitStrategy;
+		this.subscribers = new CopyOnWriteArrayList<>();
+		this.lock = new ReentrantLock();
+		this.available = lock.newCondition();
+		this.blockedSubscribers = new AtomicLong();
+	}
+
+	// === ABONNEMENTS ===
+
+	/**
+	 * Abonne un observateur, qui recevra les événements publiés à partir de
+	 * maintenant dans un thread dédié.
+	 *
+	 * @param observer l'observateur à abonner
+	 */
+	public synchronized void subscribe(GameObserver observer) {
+		Subscriber subscriber = new Subscriber(observer, claimed.get());
+		subscribers.add(subscriber);
+		subscriber.thread = Thread.ofPlatform().daemon().name("jest-events-" + observer.getClass().getSimpleName())
+				.start(subscriber);
+	}
+
+	/**
+	 * Désabonne un observateur. Les événements qu'il n'a pas encore traités ne
+	 * lui sont pas délivrés.
+	 *
+	 * @param observer l'observateur à désabonner
+	 */
+	public synchronized void unsubscribe(GameObserver observer) {
+		for (Subscriber s : subscribers) {
+			if (s.observer == observer) {
+				stop(s);
+			}
+		}
+	}
+
+	/**
+	 * Retourne les observateurs abonnés.
+	 *
+	 * @return les observateurs, dans l'ordre d'abonnement
+	 */
+	public List<GameObserver> getObservers() {
+		return subscribers.stream().map(s -> s.observer).toList();
+	}
+
+	private void stop(Subscriber s) {
+		subscribers.remove(s);
+		s.running = false;
+		signalAll();
+		s.thread.interrupt();
+	}
+
+	/**
+	 * Attend que les observateurs aient traité tous les événements publiés
+	 * jusqu'ici.
+	 *
+	 * @return false si l'attente a été interrompue (le statut d'interruption est
+	 *         conservé)
+	 */
+	public boolean drain() {
+		long target = claimed.get();
+		int tries = 0;
+		while (minimumSequence(target) < target) {
+			if (Thread.currentThread().isInterrupted()) {
+				return false;
+			}
+			if (++tries < SPIN_TRIES) {
+				Thread.onSpinWait();
+			} else {
+				LockSupport.parkNanos(SLEEP_NANOS);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Délivre les événements en attente puis arrête les threads des observateurs.
+	 */
+	@Override
+	public synchronized void close() {
+		drain();
+		for (Subscriber s : subscribers) {
+			stop(s);
+		}
+	}
+
+	// === PUBLICATION ===
+
+	/**
+	 * Réserve la prochaine case du tampon. N'attend que si le tampon est plein.
+	 */
+	private long claim() {
+		while (true) {
+			long current = claimed.get();
+			long next = current + 1;
+			long wrapPoint = next - ring.length;
+			if (wrapPoint > gatingCache) {
+				long min = minimumSequence(current);
+				gatingCache = min;
+				if (wrapPoint > min) {
+					// Un observateur a pris tout le retard possible
+					LockSupport.parkNanos(SLEEP_NANOS);
+					continue;
+				}
+			}
+			if (claimed.compareAndSet(current, next)) {
+				return next;
+			}
+		}
+	}
+
+	private Event slot(long sequence, int type) {
+		Event event = ring[(int) sequence & mask];
+		event.type = type;
+		event.first = null;
+		event.second = null;
+		event.third = null;
+		event.copiedPlayers = 0;
+		event.copiedOffers = 0;
+		return event;
+	}
+
+	private void publish(long sequence) {
+		published.set((int) sequence & mask, (int) (sequence >>> shift));
+		if (waitStrategy == WaitStrategy.BLOCKING && blockedSubscribers.get() > 0) {
+			signalAll();
+		}
+	}
+
+	private void signalAll() {
+		lock.lock();
+		try {
+			available.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private boolean isPublished(long sequence) {
+		return published.get((int) sequence & mask) == (int) (sequence >>> shift);
+	}
+
+	private long minimumSequence(long fallback) {
+		long min = fallback;
+		for (Subscriber s : subscribers) {
+			min = Math.min(min, s.sequence.get());
+		}
+		return min;
+	}
+
+	// === CONSOMMATION ===
+
+	/**
+	 * Attend que l'événement {@code next} soit publié, selon la stratégie
+	 * d'attente.
+	 *
+	 * @return la dernière séquence publiée sans trou à partir de {@code next}, ou
+	 *         {@code next - 1} si l'abonné a été arrêté
+	 */
+	private long waitFor(long next, Subscriber subscriber) {
+		int tries = 0;
+		while (!isPublished(next)) {
+			if (!subscriber.running) {
+				return next - 1;
+			}
+			switch (waitStrategy) {
+			case BLOCKING:
+				block(next, subscriber);
+				break;
+			case SLEEPING:
+				if (++tries < SPIN_TRIES) {
+					Thread.onSpinWait();
+				} else if (tries < 2 * SPIN_TRIES) {
+					Thread.yield();
+				} else {
+					LockSupport.parkNanos(SLEEP_NANOS);
+				}
+				break;
+			case YIELDING:
+				if (++tries < SPIN_TRIES) {
+					Thread.onSpinWait();
+				} else {
+					Thread.yield();
+				}
+				break;
+			default:
+				Thread.onSpinWait();
+			}
+		}
+
+		long last = next;
+		long limit = claimed.get();
+		while (last < limit && isPublished(last + 1)) {
+			last++;
+		}
+		return last;
+	}
+
+	private void block(long next, Subscriber subscriber) {
+		lock.lock();
+		try {
+			blockedSubscribers.incrementAndGet();
+			try {
+				// Revérifier après s'être déclaré, pour ne pas manquer un réveil
+				if (!isPublished(next) && subscriber.running) {
+					available.await();
+				}
+			} finally {
+				blockedSubscribers.decrementAndGet();
+			}
+		} catch (InterruptedException e) {
+			// Désabonnement : la boucle vérifie running
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// === ÉVÉNEMENTS ===
+
+	@Override
+	public void onGameStarted(int nbPlayers, int mode, boolean extensionActive) {
+		long seq = claim();
+		Event e = slot(seq, GAME_STARTED);
+		e.number = nbPlayers;
+		e.mode = mode;
+		e.flag = extensionActive;
+		publish(seq);
+	}
+
+	@Override
+	public void onRoundStarted(int roundNumber) {
+		long seq = claim();
+		slot(seq, ROUND_STARTED).number = roundNumber;
+		publish(seq);
+	}
+
+	@Override
+	public void onCardsDistributed(List<Player> players) {
+		long seq = claim();
+		Event e = slot(seq, CARDS_DISTRIBUTED);
+		e.first = e.copyPlayers(players);
+		publish(seq);
+	}
+
+	@Override
+	public void onPlayerTurnToOffer(Player player) {
+		long seq = claim();
+		Event e = slot(seq, TURN_TO_OFFER);
+		e.first = e.copy(player);
+		publish(seq);
+	}
+
+	@Override
+	public void onOfferMade(Player player, Offer offer) {
+		long seq = claim();
+		Event e = slot(seq, OFFER_MADE);
+		e.first = e.copy(player);
+		e.second = e.copy(offer);
+		publish(seq);
+	}
+
+	@Override
+	public void onPlayerTurnToChoose(Player player, List<Offer> availableOffers) {
+		long seq = claim();
+		Event e = slot(seq, TURN_TO_CHOOSE);
+		e.first = e.copy(player);
+		e.second = e.copyOffers(availableOffers);
+		publish(seq);
+	}
+
+	@Override
+	public void onCardChosen(Player chooser, Player target, Card card) {
+		long seq = claim();
+		Event e = slot(seq, CARD_CHOSEN);
+		e.first = e.copy(chooser);
+		e.second = e.copy(target);
+		e.third = card;
+		publish(seq);
+	}
+
+	@Override
+	public void onRoundEnded(List<Player> players) {
+		long seq = claim();
+		Event e = slot(seq, ROUND_ENDED);
+		e.first = e.copyPlayers(players);
+		publish(seq);
+	}
+
+	@Override
+	public void onGameEnded(Player winner, List<Player> players, int[] scores) {
+		long seq = claim();
+		Event e = slot(seq, GAME_ENDED);
+		e.second = e.copyPlayers(players);
+		e.first = e.copy(winner);
+		e.third = scores != null ? e.copy(scores) : null;
+		publish(seq);
+	}
+
+	@Override
+	public void onTrophyCardsDisplayed(Card trophy1, Card trophy2) {
+		long seq = claim();
+		Event e = slot(seq, TROPHY_CARDS);
+		e.first = trophy1;
+		e.second = trophy2;
+		publish(seq);
+	}
+
+	@Override
+	public void onStackDisplayed(List<Card> stack) {
+		long seq = claim();
+		Event e = slot(seq, STACK);
+		e.first = stack != null ? e.copyCards(stack) : null;
+		publish(seq);
+	}
+
+	@Override
+	public void onGameSaved(String saveName) {
+		long seq = claim();
+		slot(seq, GAME_SAVED).first = saveName;
+		publish(seq);
+	}
+
+	@Override
+	public void onGameLoaded(String saveName) {
+		long seq = claim();
+		slot(seq, GAME_LOADED).first = saveName;
+		publish(seq);
+	}
+
+	@Override
+	public void onStateRestored(int decisionIndex) {
+		long seq = claim();
+		slot(seq, STATE_RESTORED).number = decisionIndex;
+		publish(seq);
+	}
+
+	@Override
+	public void onSnapshot(TableSnapshot snapshot) {
+		long seq = claim();
+		slot(seq, SNAPSHOT).first = snapshot;
+		publish(seq);
+	}
+
+	@Override
+	public void onError(String errorMessage) {
+		long seq = claim();
+		slot(seq, ERROR).first = errorMessage;
+		publish(seq);
+	}
+}
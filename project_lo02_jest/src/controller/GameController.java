@@ -1,21 +1,37 @@
 package controller;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
 
 import model.Card;
 import model.ClassicCounter;
 import model.Color;
+import model.CompactGameState;
 import model.Deck;
+import model.ExternalStrategy;
+import model.GameReplay;
+import model.GameResult;
 import model.GameState;
+import model.InteractivePlayerStrategy;
 import model.Offer;
 import model.Player;
+import model.RealPlayer;
 import model.SaveLoadManager;
+import model.SnapshotChain;
 import model.Strategy;
+import model.TableSnapshot;
 import model.Trophy;
 import model.TrophyManager;
+import model.TrophyType;
 import model.VirtualPlayerCheater;
 import model.VirtualPlayerRandom;
 import view.GameObserver;
@@ -48,8 +64,47 @@ public class GameController {
 	private boolean extensionActive = false;
 	private int currentRound = 0;
 
-	// Observateurs (vues)
+	// Graine des mélanges et enregistrement des décisions (null pour une partie chargée)
+	private long seed;
+	private GameReplay replay;
+	private String archivedReplayName;
+
+	// Vitesse des pauses entre les coups des bots (0 = aucune pause)
+	private double speed = 1.0;
+
+	// Historique des coups pour l'annulation et le retour arrière ; modifié par
+	// la boucle de jeu et lu par les vues, toujours sous seekLock
+	private SnapshotChain history = new SnapshotChain();
+	private boolean historyEnabled = true;
+	private int position = -1;
+	private boolean branchPending = false;
+
+	// Joueur en train de choisir pendant la phase de choix (-1 hors de cette phase)
+	private int chooserIndex = -1;
+
+	// Reprise d'un coup interrompu : joueur dont la décision est attendue, cible
+	// déjà choisie avant la carte, et round dont le début a déjà été annoncé
+	private Player awaiting;
+	private Player pendingTarget;
+	private boolean roundAnnounced;
+
+	// Partie menée pas à pas par step(), et partie terminée
+	private boolean stepping;
+	private boolean gameOver;
+
+	// Thread de la boucle de jeu, et déplacement demandé depuis un autre thread
+	private volatile Thread gameThread;
+	private volatile int pendingSeek = -1;
+	private final Object seekLock = new Object();
+
+	// Observateurs (vues), ou le seul bus d'événements qui les dessert
 	private List<GameObserver> observers;
+	private EventBus eventBus;
+
+	// Dernier état publié aux vues, et joueur dont c'est le tour
+	private volatile TableSnapshot snapshot;
+	private Player activePlayer;
+	private boolean choosingPhase;
 
 	// Stratégie pour les joueurs humains (sera définie par les vues)
 	private Strategy humanStrategy;
@@ -70,7 +125,11 @@ public class GameController {
      * @param observer La vue (Console ou GUI) à attacher au contrôleur.
      */
 	public void addObserver(GameObserver observer) {
-		observers.add(observer);
+		if (eventBus != null) {
+			eventBus.subscribe(observer);
+		} else {
+			observers.add(observer);
+		}
 	}
 
 	/**
@@ -79,13 +138,84 @@ public class GameController {
 	 * @param observer l'observateur à retirer
 	 */
 	public void removeObserver(GameObserver observer) {
-		observers.remove(observer);
+		if (eventBus != null) {
+			eventBus.unsubscribe(observer);
+		} else {
+			observers.remove(observer);
+		}
+	}
+
+	/**
+	 * Délivre les notifications de façon asynchrone par un bus d'événements :
+	 * la boucle de jeu publie sans attendre les vues, et chaque observateur les
+	 * traite dans son propre thread. Avant chaque décision d'un joueur humain,
+	 * la boucle attend que les vues aient rattrapé la partie. Les observateurs
+	 * déjà enregistrés sont transférés au bus.
+	 * 
+	 * @param bus le bus à utiliser, ou null pour revenir aux notifications
+	 *            synchrones
+	 */
+	public void setEventBus(EventBus bus) {
+		List<GameObserver> current = eventBus != null ? eventBus.getObservers() : new ArrayList<>(observers);
+		if (eventBus != null) {
+			eventBus.close();
+		}
+		this.eventBus = bus;
+		this.observers = new ArrayList<>();
+		if (bus != null) {
+			observers.add(bus);
+		}
+		for (GameObserver observer : current) {
+			addObserver(observer);
+		}
+	}
+
+	/**
+	 * Attend que les vues aient traité les notifications en attente avant de
+	 * demander une décision à un joueur humain, pour qu'il décide sur un
+	 * affichage à jour.
+	 */
+	private void awaitViews(Player player) {
+		Strategy s = player.getStrategy();
+		if (eventBus != null && (s instanceof InteractivePlayerStrategy || s instanceof RealPlayer)) {
+			eventBus.drain();
+		}
+	}
+
+	/**
+	 * Publie un instantané de l'état courant et le transmet aux observateurs.
+	 * Les parties inchangées depuis l'instantané précédent sont partagées. Rien
+	 * n'est construit tant qu'aucun observateur n'est enregistré.
+	 */
+	private void publishSnapshot() {
+		if (observers.isEmpty()) {
+			return;
+		}
+		TableSnapshot s = TableSnapshot.capture(snapshot, currentRound, mode, extensionActive, trophyCard1,
+				trophyCard2, players, offers, activePlayer, choosingPhase);
+		snapshot = s;
+		for (GameObserver observer : observers) {
+			observer.onSnapshot(s);
+		}
+	}
+
+	/**
+	 * Retourne le dernier instantané publié. Lecture sans verrou, depuis
+	 * n'importe quel thread.
+	 * 
+	 * @return l'état visible de la partie, ou null avant la première publication
+	 */
+	public TableSnapshot getSnapshot() {
+		return snapshot;
 	}
 
 	/**
 	 * Notifie tous les observateurs que la partie a démarré.
 	 */
 	private void notifyGameStarted() {
+		activePlayer = null;
+		choosingPhase = false;
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onGameStarted(nbPlayers, mode, extensionActive);
 		}
@@ -95,6 +225,7 @@ public class GameController {
 	 * Notifie tous les observateurs qu'un nouveau round a démarré.
 	 */
 	private void notifyRoundStarted() {
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onRoundStarted(currentRound);
 		}
@@ -104,6 +235,7 @@ public class GameController {
 	 * Notifie tous les observateurs que les cartes ont été distribuées.
 	 */
 	private void notifyCardsDistributed() {
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onCardsDistributed(players);
 		}
@@ -115,6 +247,9 @@ public class GameController {
 	 * @param player le joueur dont c'est le tour
 	 */
 	private void notifyPlayerTurnToOffer(Player player) {
+		activePlayer = player;
+		choosingPhase = false;
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onPlayerTurnToOffer(player);
 		}
@@ -127,6 +262,7 @@ public class GameController {
 	 * @param offer l'offre créée
 	 */
 	private void notifyOfferMade(Player player, Offer offer) {
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onOfferMade(player, offer);
 		}
@@ -138,6 +274,9 @@ public class GameController {
 	 * @param player le joueur dont c'est le tour de choisir
 	 */
 	private void notifyPlayerTurnToChoose(Player player) {
+		activePlayer = player;
+		choosingPhase = true;
+		publishSnapshot();
 		List<Offer> available = getAvailableOffers(player);
 		for (GameObserver observer : observers) {
 			observer.onPlayerTurnToChoose(player, available);
@@ -145,18 +284,21 @@ public class GameController {
 	}
 
 	private void notifyCardChosen(Player chooser, Player target, Card card) {
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onCardChosen(chooser, target, card);
 		}
 	}
 
 	private void notifyRoundEnded() {
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onRoundEnded(players);
 		}
 	}
 
 	private void notifyGameEnded() {
+		publishSnapshot();
 		Player winner = determineWinner();
 		int[] scores = calculateScores();
 		for (GameObserver observer : observers) {
@@ -165,6 +307,7 @@ public class GameController {
 	}
 
 	private void notifyTrophyCardsDisplayed() {
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onTrophyCardsDisplayed(trophyCard1, trophyCard2);
 		}
@@ -183,11 +326,23 @@ public class GameController {
 	}
 
 	private void notifyGameLoaded(String saveName) {
+		activePlayer = null;
+		choosingPhase = false;
+		publishSnapshot();
 		for (GameObserver observer : observers) {
 			observer.onGameLoaded(saveName);
 		}
 	}
 
+	private void notifyStateRestored() {
+		activePlayer = null;
+		choosingPhase = false;
+		publishSnapshot();
+		for (GameObserver observer : observers) {
+			observer.onStateRestored(position);
+		}
+	}
+
 	private void notifyError(String message) {
 		for (GameObserver observer : observers) {
 			observer.onError(message);
@@ -199,6 +354,27 @@ public class GameController {
 	public void setHumanStrategy(Strategy strategy) {
 		this.humanStrategy = strategy;
 	}
+
+	/**
+	 * Règle la vitesse des pauses entre les coups des joueurs automatiques. 1.0
+	 * correspond au rythme normal, 2.0 au double, et 0 supprime toute pause.
+	 * 
+	 * @param speed le multiplicateur de vitesse (0 pour aucune pause)
+	 */
+	public void setSpeed(double speed) {
+		this.speed = speed;
+	}
+
+	/**
+	 * Active ou désactive l'historique des coups. Sans historique, les parties
+	 * sont plus rapides mais {@link #undo()}, {@link #redo()} et
+	 * {@link #seek(int)} sont sans effet ; utile pour les simulations.
+	 * 
+	 * @param enabled true pour enregistrer l'historique
+	 */
+	public void setHistoryEnabled(boolean enabled) {
+		this.historyEnabled = enabled;
+	}
 	
 	/**
      * Initialise une nouvelle partie avec les paramètres fournis.
@@ -209,12 +385,26 @@ public class GameController {
 
 	public void startNewGame(int nbHumanPlayers, int nbBotPlayers, List<String> playerNames,
 			List<Boolean> botTypes, int mode, boolean extensionActive) {
+		startNewGame(nbHumanPlayers, nbBotPlayers, playerNames, botTypes, mode, extensionActive, new Random().nextLong());
+	}
 
-		this.mode = mode;
-		this.extensionActive = extensionActive;
-		this.nbPlayers = nbHumanPlayers + nbBotPlayers;
-		this.players = new ArrayList<>();
-		this.currentRound = 0;
+	/**
+	 * Initialise une nouvelle partie dont tous les mélanges, ainsi que les choix
+	 * des bots aléatoires, dérivent de la graine fournie. Deux parties lancées
+	 * avec la même graine et les mêmes décisions humaines sont identiques.
+	 * 
+	 * @param nbHumanPlayers  le nombre de joueurs humains
+	 * @param nbBotPlayers    le nombre de bots
+	 * @param playerNames     les noms des joueurs humains
+	 * @param botTypes        pour chaque bot, true s'il s'agit d'un tricheur
+	 * @param mode            le mode de jeu
+	 * @param extensionActive true si l'extension est activée
+	 * @param seed            la graine des mélanges et des bots
+	 */
+	public void startNewGame(int nbHumanPlayers, int nbBotPlayers, List<String> playerNames,
+			List<Boolean> botTypes, int mode, boolean extensionActive, long seed) {
+
+		List<Player> players = new ArrayList<>();
 
 		// Créer les joueurs humains
 		for (int i = 0; i < nbHumanPlayers; i++) {
@@ -229,13 +419,46 @@ public class GameController {
 			if (isCheater) {
 				players.add(new Player("HAL-9000-" + (i + 1), new VirtualPlayerCheater()));
 			} else {
-				players.add(new Player("Bender-" + (i + 1), new VirtualPlayerRandom()));
+				// Graine propre à chaque place, distincte de celles des mélanges
+				long botSeed = seed ^ ((i + 1) * 0xC2B2AE3D27D4EB4FL);
+				players.add(new Player("Bender-" + (i + 1), new VirtualPlayerRandom(botSeed)));
 			}
 		}
 
+		startGame(players, mode, extensionActive, seed);
+	}
+
+	/**
+	 * Initialise une nouvelle partie avec des joueurs déjà construits. Utilisé
+	 * notamment pour rejouer un {@link GameReplay}.
+	 * 
+	 * @param players         les joueurs, dans l'ordre des places
+	 * @param mode            le mode de jeu
+	 * @param extensionActive true si l'extension est activée
+	 * @param seed            la graine des mélanges
+	 */
+	public void startGame(List<Player> players, int mode, boolean extensionActive, long seed) {
+		this.mode = mode;
+		this.extensionActive = extensionActive;
+		this.nbPlayers = players.size();
+		this.players = new ArrayList<>(players);
+		this.currentRound = 0;
+		this.seed = seed;
+		this.stack = new ArrayList<>();
+		this.trophyCard2 = null;
+		this.chooserIndex = -1;
+		this.gameOver = false;
+		resetTurn();
+
+		this.replay = new GameReplay(seed, mode, extensionActive);
+		this.archivedReplayName = null;
+		for (Player p : this.players) {
+			replay.addPlayer(p.getName(), SaveLoadManager.strategyTypeOf(p.getStrategy()));
+		}
+
 		// Initialiser le deck
 		deck = new Deck();
-		deck.initStandardDeck(extensionActive);
+		deck.initStandardDeck(extensionActive, new Random(seed));
 
 		// Tirer les cartes trophées
 		trophyCard1 = deck.draw();
@@ -262,6 +485,7 @@ public class GameController {
 		counter = new ClassicCounter();
 		offers = new ArrayList<>();
 
+		resetHistory();
 		notifyGameStarted();
 	}
 
@@ -273,7 +497,11 @@ public class GameController {
 			return;
 		}
 
-		restoreGameState(gameState);
+		restoreGameState(gameState, null);
+		gameOver = false;
+		// Une partie chargée ne peut pas être rejouée depuis le début
+		replay = null;
+		resetHistory();
 		notifyGameLoaded(saveName);
 	}
 
@@ -283,24 +511,153 @@ public class GameController {
 
 	// === BOUCLE DE JEU ===
 
+	/**
+	 * Joue la partie jusqu'à sa fin dans le thread appelant. Les applications la
+	 * confient à un {@link GameExecutor}.
+	 * 
+	 * @throws CancellationException si le thread est interrompu en dehors d'un
+	 *                               retour arrière : le coup en cours est
+	 *                               abandonné sans rien changer à la partie, et
+	 *                               aucune fin n'est annoncée
+	 */
 	public void runGameLoop() {
-		while ((deck.size() + stack.size()) >= (players.size() * 2)) {
-			currentRound++;
+		gameThread = Thread.currentThread();
+		try {
+			boolean finished = false;
+			while (!finished) {
+				try {
+					playRounds();
+					assignTrophies();
+
+					// Un retour arrière arrivé pendant le décompte relance la partie ; les
+					// suivants ne feront que replacer l'état pour consultation
+					synchronized (seekLock) {
+						checkSeek();
+						gameThread = null;
+					}
+					finished = true;
+				} catch (SeekRequest e) {
+					// Effacer l'interruption qui a réveillé la boucle, puis reprendre depuis
+					// l'état demandé
+					int target;
+					synchronized (seekLock) {
+						Thread.interrupted();
+						target = pendingSeek;
+						pendingSeek = -1;
+					}
+					applySeek(target);
+				}
+			}
+		} finally {
+			synchronized (seekLock) {
+				gameThread = null;
+				pendingSeek = -1;
+			}
+		}
+
+		notifyGameEnded();
+	}
+
+	/**
+	 * Fait avancer la partie aussi loin que possible sans attendre de décision
+	 * extérieure, puis rend la main. Les joueurs dont les décisions arrivent de
+	 * l'extérieur doivent utiliser une {@link ExternalStrategy} : quand l'un
+	 * d'eux doit jouer et qu'aucune décision n'a été déposée par
+	 * {@link #submitDecision(int, int)}, la partie s'arrête sur ce coup. Les bots
+	 * jouent immédiatement, sans pause.
+	 * <p>
+	 * Aucun thread ne reste attaché à la partie entre deux appels : un seul
+	 * thread peut ainsi mener un grand nombre de parties. Les appels à
+	 * {@code step}, {@code submitDecision} et {@link #seek(int)} d'une même
+	 * partie doivent venir de ce thread.
+	 * </p>
+	 * 
+	 * @return la place du joueur dont une décision est attendue, ou -1 si la
+	 *         partie est terminée
+	 */
+	public int step() {
+		if (gameOver) {
+			return -1;
+		}
+		stepping = true;
+		try {
+			playRounds();
+			assignTrophies();
+		} catch (ExternalStrategy.DecisionPending e) {
+			return players.indexOf(awaiting);
+		} finally {
+			stepping = false;
+		}
+		notifyGameEnded();
+		return -1;
+	}
+
+	/**
+	 * Dépose la décision du joueur attendu par {@link #step()}. Elle est jouée
+	 * au prochain appel de {@code step}.
+	 * 
+	 * @param playerIndex la place du joueur
+	 * @param move        le code de décision (voir {@link ExternalStrategy})
+	 * @return false si la partie n'attend pas de décision de ce joueur, ou si sa
+	 *         décision a déjà été déposée
+	 */
+	public boolean submitDecision(int playerIndex, int move) {
+		if (gameOver || awaiting == null || players.indexOf(awaiting) != playerIndex) {
+			return false;
+		}
+		if (!(awaiting.getStrategy() instanceof ExternalStrategy external) || external.hasMove()) {
+			return false;
+		}
+		external.submit(move);
+		return true;
+	}
+
+	/**
+	 * Retourne la place du joueur dont une décision est attendue.
+	 * 
+	 * @return l'index du joueur, ou -1 si aucune décision n'est attendue
+	 */
+	public int getAwaitedPlayer() {
+		return awaiting != null ? players.indexOf(awaiting) : -1;
+	}
+
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	/**
+	 * Joue les rounds jusqu'à épuisement des cartes. Un round déjà entamé
+	 * (partie chargée, retour arrière, partie pas à pas) est repris là où il
+	 * s'est arrêté.
+	 */
+	private void playRounds() {
+		while (roundInProgress() || (deck.size() + stack.size()) >= (players.size() * 2)) {
+			if (!roundInProgress()) {
+				currentRound++;
+			}
 			distributeCards();
 			playRound();
 		}
+	}
 
-		// Fin de partie
+	/**
+	 * Attribue les trophées et ajoute leurs cartes dans les Jest des gagnants.
+	 */
+	private void assignTrophies() {
 		tm.assignAll(players, counter);
 
-		// Ajouter les cartes trophées dans les Jest des gagnants
 		for (Trophy t : tm.getTrophies()) {
 			if (t.getOwner() != null) {
 				t.getOwner().toJest(t.getSourceCard());
 			}
 		}
+		gameOver = true;
+	}
 
-		notifyGameEnded();
+	private void resetTurn() {
+		awaiting = null;
+		pendingTarget = null;
+		roundAnnounced = false;
 	}
 
 	private void distributeCards() {
@@ -323,7 +680,7 @@ public class GameController {
 				stack.add(deck.draw());
 			}
 
-			Collections.shuffle(stack);
+			Collections.shuffle(stack, roundRandom());
 
 			int i = 0;
 			for (Player p : players) {
@@ -339,7 +696,9 @@ public class GameController {
 	}
 
 	private void playRound() {
-		notifyRoundStarted();
+		if (!roundAnnounced) {
+			notifyRoundStarted();
+		}
 		
 		// Vérifier si les offres contiennent des cartes valides (pour le chargement de partie)
 		// Ne pas confondre avec des offres vides du round précédent
@@ -348,85 +707,101 @@ public class GameController {
 		
 		if (!offersAlreadyExist) {
 			offers.clear();
+		}
 
-			// PHASE D'OFFRE
+		// PHASE D'OFFRE (seuls les joueurs sans offre sont sollicités, pour reprendre
+		// une phase d'offre interrompue)
+		if (!roundAnnounced) {
 			notifyTrophyCardsDisplayed();
 
 			if (mode == 2 && !stack.isEmpty()) {
 				notifyStackDisplayed();
 			}
+			roundAnnounced = true;
+		}
 
-			for (Player p : players) {
-				p.SetHasNotPlayed();
+		for (Player p : players) {
+			if (p.getOffer(offers) != null) {
+				continue;
+			}
+			p.SetHasNotPlayed();
+			if (awaiting != p) {
 				notifyPlayerTurnToOffer(p);
+			}
 
-				Offer offer = p.getStrategy().offer(p);
-// Pause AVANT pour les bots - pour laisser l'utilisateur voir leur main
-if (p.getStrategy() instanceof VirtualPlayerRandom || p.getStrategy() instanceof VirtualPlayerCheater) {
-try {
-TimeUnit.MILLISECONDS.sleep(800);
-} catch (InterruptedException e) {
-e.printStackTrace();
-}
-}
-				if (offer != null) {
-					offers.add(offer);
-					notifyOfferMade(p, offer);
-				}
+			awaiting = p;
+			awaitViews(p);
+			Offer offer = p.getStrategy().offer(p);
+			awaiting = null;
+			checkSeek();
+			recordDecision(offer == null ? 0 : (offer.getVisibleCard() == p.getHand().get(1) ? 1 : 2));
+			// Pause AVANT pour les bots - pour laisser l'utilisateur voir leur main
+			pause(p, 800);
+			if (offer != null) {
+				offers.add(offer);
+				recordSnapshot();
+				notifyOfferMade(p, offer);
+			}
 
 			// Pause pour les bots
-			if (p.getStrategy() instanceof VirtualPlayerRandom || p.getStrategy() instanceof VirtualPlayerCheater) {
-				try {
-					TimeUnit.MILLISECONDS.sleep(500);
-				} catch (InterruptedException e) {
-					e.printStackTrace();
-				}
-			}
-		}
-		} else {
-			// Partie chargée avec offres existantes - afficher l'état
-			notifyTrophyCardsDisplayed();
-			if (mode == 2 && !stack.isEmpty()) {
-				notifyStackDisplayed();
-			}
+			pause(p, 500);
 		}
 
 		// PHASE DE CHOIX
-		Player current = chooseFirst();
-
-		if (mode == 1) {
+		Player current;
+		if (chooserIndex >= 0) {
+			current = players.get(chooserIndex);
+		} else if (mode == 1) {
 			current = chooseLast();
+		} else {
+			current = chooseFirst();
 		}
 
-		for (int i = 0; i < players.size(); i++) {
+		int alreadyPlayed = 0;
+		for (Player p : players) {
+			if (p.hasPlayed()) {
+				alreadyPlayed++;
+			}
+		}
+
+		for (int i = alreadyPlayed; i < players.size(); i++) {
+			chooserIndex = players.indexOf(current);
 			List<Offer> available = getAvailableOffers(current);
 
 			if (available.isEmpty()) {
 				// Le joueur prend sa propre carte
 				Offer ownOffer = current.getOffer(offers);
-				Card taken = current.getStrategy().choose(current, ownOffer, stack);
+				awaiting = current;
+				awaitViews(current);
+				Card taken = chooseCard(current, ownOffer);
 				current.toJest(taken);
-				notifyCardChosen(current, current, taken);
 				current.SetHasPlayed();
+				recordSnapshot();
+				notifyCardChosen(current, current, taken);
 
-				if (current.getStrategy() instanceof VirtualPlayerRandom
-						|| current.getStrategy() instanceof VirtualPlayerCheater) {
-					try {
-						TimeUnit.SECONDS.sleep(1);
-					} catch (InterruptedException e) {
-						e.printStackTrace();
-					}
-				}
+				pause(current, 1000);
 				continue;
 			}
 
 			if (!current.hasPlayed()) {
-				notifyPlayerTurnToChoose(current);
+				// Une cible déjà choisie lors d'un passage précédent est conservée
+				Player target = pendingTarget;
+				if (target == null) {
+					if (awaiting != current) {
+						notifyPlayerTurnToChoose(current);
+					}
 
-				Player target = current.getStrategy().chooseTarget(current, available);
+					awaiting = current;
+					awaitViews(current);
+					target = current.getStrategy().chooseTarget(current, available);
+					awaiting = null;
+					checkSeek();
+					recordDecision(indexOfOwner(available, target) + 1);
 
-				if (target == null) {
-					target = available.get(0).getOwner();
+					if (target == null) {
+						target = available.get(0).getOwner();
+					}
+					pendingTarget = target;
 				}
 
 				Offer targetOffer = null;
@@ -437,24 +812,18 @@ e.printStackTrace();
 					}
 				}
 
+				Card taken = null;
 				if (targetOffer != null) {
-					Card taken = current.getStrategy().choose(current, targetOffer, stack);
+					awaiting = current;
+					taken = chooseCard(current, targetOffer);
 					if (taken != null) {
 						current.toJest(taken);
-						notifyCardChosen(current, target, taken);
-
-						if (current.getStrategy() instanceof VirtualPlayerRandom
-								|| current.getStrategy() instanceof VirtualPlayerCheater) {
-							try {
-								TimeUnit.SECONDS.sleep(1);
-							} catch (InterruptedException e) {
-								e.printStackTrace();
-							}
-						}
 					}
 				}
 
 				current.SetHasPlayed();
+				pendingTarget = null;
+				Player chooser = current;
 
 				if (target.hasPlayed()) {
 					for (Player p : players) {
@@ -466,10 +835,20 @@ e.printStackTrace();
 				} else {
 					current = target;
 				}
+				chooserIndex = players.indexOf(current);
+				recordSnapshot();
+
+				if (taken != null) {
+					notifyCardChosen(chooser, target, taken);
+
+					pause(chooser, 1000);
+				}
 			}
 		}
 
 		// FIN DE ROUND
+		chooserIndex = -1;
+		roundAnnounced = false;
 		stack.clear();
 
 		for (Offer o : offers) {
@@ -504,6 +883,104 @@ e.printStackTrace();
 
 	// === MÉTHODES UTILITAIRES ===
 
+	/**
+	 * Ajoute un code de décision à l'enregistrement de la partie en cours.
+	 * 
+	 * @param code le code de décision
+	 */
+	private void recordDecision(int code) {
+		if (branchPending) {
+			// Premier coup après un retour arrière : la suite de l'historique est abandonnée
+			branchPending = false;
+			synchronized (seekLock) {
+				if (replay != null) {
+					replay.truncate(history.getTag(position));
+				}
+				history.truncate(position + 1);
+			}
+		}
+		if (replay != null) {
+			replay.addDecision(code);
+		}
+	}
+
+	private boolean roundInProgress() {
+		for (Player p : players) {
+			if (!p.getHand().isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int indexOfOwner(List<Offer> available, Player owner) {
+		for (int i = 0; i < available.size(); i++) {
+			if (available.get(i).getOwner() == owner) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Générateur du mélange du stack pour le round courant. Il dérive uniquement
+	 * de la graine et du numéro de round, pour que le mélange soit reproductible.
+	 * 
+	 * @return le générateur du round courant
+	 */
+	private Random roundRandom() {
+		return new Random(seed + currentRound * 0x9E3779B97F4A7C15L);
+	}
+
+	/**
+	 * Marque une pause après le coup d'un joueur automatique, pour laisser le
+	 * temps aux vues de suivre. Les joueurs humains ne sont jamais ralentis, et la
+	 * pause est ajustée selon la vitesse réglée par {@link #setSpeed(double)}.
+	 * 
+	 * @param player le joueur qui vient de jouer
+	 * @param millis la durée de la pause au rythme normal, en millisecondes
+	 */
+	private void pause(Player player, long millis) {
+		checkSeek();
+		Strategy s = player.getStrategy();
+		if (stepping || speed <= 0 || s instanceof InteractivePlayerStrategy || s instanceof RealPlayer) {
+			return;
+		}
+		try {
+			TimeUnit.MILLISECONDS.sleep((long) (millis / speed));
+		} catch (InterruptedException e) {
+			// Réveil par un retour arrière ou par l'annulation de la partie : traité
+			// par checkSeek()
+			Thread.currentThread().interrupt();
+		}
+		checkSeek();
+	}
+
+	/**
+	 * Fait choisir une carte de l'offre par la stratégie du joueur. Les stratégies
+	 * retirent la carte de l'offre avant de la rendre : si la partie est annulée
+	 * ou ramenée en arrière pendant la question, l'offre retrouve ses cartes pour
+	 * que l'état reste celui d'avant le coup.
+	 * 
+	 * @param current le joueur qui choisit
+	 * @param offer   l'offre dans laquelle il choisit
+	 * @return la carte prise, ou null
+	 */
+	private Card chooseCard(Player current, Offer offer) {
+		Card visible = offer.getVisibleCard();
+		Card hidden = offer.getHiddenCard();
+		Card taken = current.getStrategy().choose(current, offer, stack);
+		awaiting = null;
+		try {
+			checkSeek();
+		} catch (RuntimeException e) {
+			offer.set(visible, hidden, offer.getOwner());
+			throw e;
+		}
+		recordDecision(taken == null ? 0 : (taken == visible ? 1 : 2));
+		return taken;
+	}
+
 	private List<Offer> getAvailableOffers(Player current) {
 		List<Offer> available = new ArrayList<>();
 		for (Offer o : offers) {
@@ -565,12 +1042,167 @@ e.printStackTrace();
 		return scores;
 	}
 
+	// === HISTORIQUE (ANNULER / RÉTABLIR) ===
+
+	/**
+	 * Demande interne d'abandon du coup en cours, levée dans la boucle de jeu
+	 * lorsqu'un retour arrière a été demandé.
+	 */
+	private static class SeekRequest extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		SeekRequest() {
+			super(null, null, false, false);
+		}
+	}
+
+	/**
+	 * Point d'arrêt de la boucle entre deux étapes d'un coup : abandonne le coup
+	 * pour un retour arrière demandé, ou arrête la partie si son thread a été
+	 * interrompu (annulation par {@link GameExecutor}).
+	 */
+	private void checkSeek() {
+		if (pendingSeek >= 0) {
+			throw new SeekRequest();
+		}
+		if (gameThread != null && Thread.currentThread().isInterrupted()) {
+			throw new CancellationException("Partie annulée");
+		}
+	}
+
+	private void resetHistory() {
+		synchronized (seekLock) {
+			history.clear();
+			position = -1;
+			branchPending = false;
+			pendingSeek = -1;
+		}
+		recordSnapshot();
+	}
+
+	/**
+	 * Ajoute l'état courant à l'historique, après un coup.
+	 */
+	private void recordSnapshot() {
+		if (!historyEnabled) {
+			return;
+		}
+		byte[] state = CompactGameState.encode(captureGameState());
+		synchronized (seekLock) {
+			history.append(state, replay != null ? replay.getDecisionCount() : 0);
+			position = history.size() - 1;
+		}
+	}
+
+	/**
+	 * Annule le dernier coup joué.
+	 * 
+	 * @return true si un coup a été annulé
+	 */
+	public boolean undo() {
+		synchronized (seekLock) {
+			int from = pendingSeek >= 0 ? pendingSeek : position;
+			return from > 0 && seek(from - 1);
+		}
+	}
+
+	/**
+	 * Rejoue le coup annulé par le dernier {@link #undo()}, tant qu'aucun nouveau
+	 * coup n'a été joué depuis.
+	 * 
+	 * @return true si un coup a été rétabli
+	 */
+	public boolean redo() {
+		synchronized (seekLock) {
+			int from = pendingSeek >= 0 ? pendingSeek : position;
+			return from + 1 < history.size() && seek(from + 1);
+		}
+	}
+
+	/**
+	 * Replace la partie dans l'état qui suivait le coup d'index donné (0 pour le
+	 * début de la partie). Si la boucle de jeu tourne dans un autre thread, le
+	 * coup en cours y est abandonné et la partie reprend depuis cet état. Une fois
+	 * la partie terminée, l'état est seulement restauré pour être consulté.
+	 * 
+	 * @param decisionIndex l'index du coup, entre 0 et {@link #getHistorySize()} - 1
+	 * @return true si le déplacement a eu lieu
+	 */
+	public boolean seek(int decisionIndex) {
+		synchronized (seekLock) {
+			if (decisionIndex < 0 || decisionIndex >= history.size()) {
+				return false;
+			}
+			Thread loop = gameThread;
+			if (loop == null) {
+				applySeek(decisionIndex);
+			} else {
+				pendingSeek = decisionIndex;
+				if (loop != Thread.currentThread()) {
+					loop.interrupt();
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Restaure l'état d'index donné, en gardant les stratégies des places.
+	 */
+	private void applySeek(int index) {
+		GameState gs;
+		try {
+			gs = CompactGameState.wrap(ByteBuffer.wrap(history.get(index))).toGameState();
+		} catch (IOException e) {
+			notifyError("Historique de partie invalide");
+			return;
+		}
+		restoreGameState(gs, players);
+		synchronized (seekLock) {
+			position = index;
+		}
+		branchPending = true;
+		notifyStateRestored();
+	}
+
+	public boolean canUndo() {
+		synchronized (seekLock) {
+			return position > 0;
+		}
+	}
+
+	public boolean canRedo() {
+		synchronized (seekLock) {
+			return position + 1 < history.size();
+		}
+	}
+
+	/**
+	 * Retourne l'index du coup correspondant à l'état courant.
+	 * 
+	 * @return l'index dans l'historique, ou -1 si l'historique est vide
+	 */
+	public int getDecisionIndex() {
+		synchronized (seekLock) {
+			return position;
+		}
+	}
+
+	public int getHistorySize() {
+		synchronized (seekLock) {
+			return history.size();
+		}
+	}
+
 	// === SAUVEGARDE/CHARGEMENT ===
 
 	public void saveGame(String saveName) {
 		GameState gameState = captureGameState();
 
-		if (SaveLoadManager.saveGame(gameState, saveName)) {
+		if (SaveLoadManager.saveCompactGame(gameState, saveName)) {
+			// Copie dans l'archive : les sections inchangées d'une sauvegarde à
+			// l'autre n'y sont stockées qu'une fois
+			SaveLoadManager.archiveGame(gameState, saveName);
 			notifyGameSaved(saveName);
 		} else {
 			notifyError("Erreur lors de la sauvegarde");
@@ -584,6 +1216,8 @@ e.printStackTrace();
 		gs.setMode(mode);
 		gs.setExtensionActive(extensionActive);
 		gs.setCurrentRound(currentRound);
+		gs.setSeed(seed);
+		gs.setCurrentPlayerIndex(chooserIndex);
 
 		for (Player p : players) {
 			gs.getPlayerStates().add(SaveLoadManager.toPlayerState(p));
@@ -611,22 +1245,39 @@ e.printStackTrace();
 		return gs;
 	}
 
-	private void restoreGameState(GameState gs) {
+	/**
+	 * Restaure l'état de la partie.
+	 * 
+	 * @param gs    l'état à restaurer
+	 * @param seats les joueurs dont les stratégies sont reprises place par place,
+	 *              ou null pour les recréer depuis l'état
+	 */
+	private void restoreGameState(GameState gs, List<Player> seats) {
 		nbPlayers = gs.getNbPlayers();
 		mode = gs.getMode();
 		extensionActive = gs.isExtensionActive();
 		currentRound = gs.getCurrentRound();
-
-		players = new ArrayList<>();
-		for (GameState.PlayerState ps : gs.getPlayerStates()) {
-			Player p = SaveLoadManager.toPlayer(ps);
-			// Restaurer la stratégie appropriée pour les joueurs humains
+		seed = gs.getSeed();
+		chooserIndex = gs.getCurrentPlayerIndex();
+		resetTurn();
+
+		boolean keepSeats = seats != null && seats.size() == gs.getPlayerStates().size();
+		List<Player> restored = new ArrayList<>();
+		for (int i = 0; i < gs.getPlayerStates().size(); i++) {
+			GameState.PlayerState ps = gs.getPlayerStates().get(i);
 			String stratType = ps.getStrategyType();
-			if (stratType != null && (stratType.equals("REAL") || stratType.equals("RealPlayer"))) {
-				p = new Player(ps.getName(), humanStrategy);
+			Player p;
+			if (keepSeats) {
+				p = SaveLoadManager.toPlayer(ps, seats.get(i).getStrategy());
+			} else if (stratType != null && (stratType.equals("REAL") || stratType.equals("RealPlayer"))) {
+				// Restaurer la stratégie appropriée pour les joueurs humains
+				p = SaveLoadManager.toPlayer(ps, humanStrategy);
+			} else {
+				p = SaveLoadManager.toPlayer(ps);
 			}
-			players.add(p);
+			restored.add(p);
 		}
+		players = restored;
 
 		deck = new Deck();
 		for (GameState.CardState cs : gs.getDeckCards()) {
@@ -658,12 +1309,134 @@ e.printStackTrace();
 		}
 	}
 
+	// === MISE EN SOMMEIL ===
+
+	// En-tête d'une partie en sommeil : joueur attendu, cible déjà choisie,
+	// options, taille de l'état. Suivent l'état, les décisions déposées et pas
+	// encore jouées de chaque place (nombre puis codes), et l'enregistrement
+	private static final int HIBERNATE_HEADER = 7;
+	private static final int ROUND_ANNOUNCED = 1;
+	private static final int HISTORY_ENABLED = 2;
+	private static final int GAME_OVER = 4;
+
+	/**
+	 * Encode une partie menée par {@link #step()}, arrêtée entre deux appels,
+	 * pour la mettre en sommeil : l'état compact de la table, le coup en
+	 * attente, les décisions déjà déposées par {@link #submitDecision(int, int)}
+	 * mais pas encore jouées, et l'enregistrement des décisions. L'historique
+	 * d'annulation n'est pas conservé. Le contrôleur ne doit plus servir
+	 * ensuite ; ses objets sont libérés dès qu'il n'est plus référencé.
+	 * 
+	 * @return l'enregistrement de la partie, à relire par {@link #wake(byte[])}
+	 * @throws IllegalStateException si la boucle de jeu est en cours
+	 */
+	public byte[] hibernate() {
+		if (gameThread != null || stepping) {
+			throw new IllegalStateException("La partie est en cours");
+		}
+		byte[] state = CompactGameState.encode(captureGameState());
+		byte[] decisions = replay != null ? replay.toBytes() : new byte[0];
+		List<List<Integer>> pending = new ArrayList<>();
+		int pendingLength = 0;
+		for (Player p : players) {
+			List<Integer> moves = p.getStrategy() instanceof ExternalStrategy external ? external.getPendingMoves()
+					: List.of();
+			pending.add(moves);
+			pendingLength += 1 + moves.size();
+		}
+
+		ByteBuffer out = ByteBuffer.allocate(HIBERNATE_HEADER + state.length + pendingLength + decisions.length);
+		out.put((byte) players.indexOf(awaiting));
+		out.put((byte) players.indexOf(pendingTarget));
+		out.put((byte) ((roundAnnounced ? ROUND_ANNOUNCED : 0) | (historyEnabled ? HISTORY_ENABLED : 0)
+				| (gameOver ? GAME_OVER : 0)));
+		out.putInt(state.length);
+		out.put(state);
+		for (List<Integer> moves : pending) {
+			out.put((byte) moves.size());
+			for (int move : moves) {
+				out.put((byte) move);
+			}
+		}
+		out.put(decisions);
+		return out.array();
+	}
+
+	/**
+	 * Reconstruit un contrôleur depuis une partie mise en sommeil par
+	 * {@link #hibernate()}. Les joueurs extérieurs retrouvent une
+	 * {@link ExternalStrategy}, les bots une stratégie neuve du même type. Aucun
+	 * observateur n'est enregistré et aucune notification n'est envoyée : la
+	 * partie reprend au prochain appel de {@link #step()}.
+	 * 
+	 * @param record l'enregistrement de la partie
+	 * @return le contrôleur de la partie réveillée
+	 * @throws IOException si l'enregistrement est invalide
+	 */
+	public static GameController wake(byte[] record) throws IOException {
+		ByteBuffer in = ByteBuffer.wrap(record);
+		int awaitingIndex = in.get();
+		int targetIndex = in.get();
+		int flags = in.get();
+		int stateLength = in.getInt();
+		GameState gs = CompactGameState.wrap(ByteBuffer.wrap(record, HIBERNATE_HEADER, stateLength)).toGameState();
+
+		List<Player> seats = new ArrayList<>();
+		for (GameState.PlayerState ps : gs.getPlayerStates()) {
+			if ("EXTERNAL".equals(ps.getStrategyType())) {
+				seats.add(new Player(ps.getName(), new ExternalStrategy()));
+			} else {
+				seats.add(SaveLoadManager.toPlayer(ps));
+			}
+		}
+
+		GameController game = new GameController();
+		game.restoreGameState(gs, seats);
+		game.awaiting = awaitingIndex >= 0 ? game.players.get(awaitingIndex) : null;
+		game.pendingTarget = targetIndex >= 0 ? game.players.get(targetIndex) : null;
+		game.roundAnnounced = (flags & ROUND_ANNOUNCED) != 0;
+		game.historyEnabled = (flags & HISTORY_ENABLED) != 0;
+		game.gameOver = (flags & GAME_OVER) != 0;
+
+		in.position(HIBERNATE_HEADER + stateLength);
+		for (Player p : game.players) {
+			int count = in.get() & 0xFF;
+			for (int i = 0; i < count; i++) {
+				int move = in.get();
+				if (p.getStrategy() instanceof ExternalStrategy external) {
+					external.submit(move);
+				}
+			}
+		}
+
+		int decisionsOffset = in.position();
+		if (decisionsOffset < record.length) {
+			game.replay = GameReplay.fromBytes(Arrays.copyOfRange(record, decisionsOffset, record.length));
+		}
+		game.resetHistory();
+		return game;
+	}
+
 	// === GETTERS ===
 
 	public List<Player> getPlayers() {
 		return players;
 	}
 
+	/**
+	 * Retourne les observateurs enregistrés, y compris ceux servis par le bus
+	 * d'événements.
+	 * 
+	 * @return une copie de la liste des observateurs
+	 */
+	public List<GameObserver> getObservers() {
+		return eventBus != null ? eventBus.getObservers() : new ArrayList<>(observers);
+	}
+
+	public EventBus getEventBus() {
+		return eventBus;
+	}
+
 	public int getNbPlayers() {
 		return nbPlayers;
 	}
@@ -695,4 +1468,62 @@ e.printStackTrace();
 	public List<Offer> getOffers() {
 		return offers;
 	}
+
+	/**
+	 * Retourne l'enregistrement des décisions de la partie en cours.
+	 * 
+	 * @return le replay de la partie, ou null si la partie a été chargée
+	 */
+	public GameReplay getReplay() {
+		return replay;
+	}
+
+	/**
+	 * Archive l'enregistrement de la partie terminée, pour qu'elle puisse être
+	 * revue plus tard. Le nom reprend la date et la graine de la partie ; un
+	 * nouvel appel pour la même partie rend le même nom sans rien réécrire.
+	 * 
+	 * @return le nom du replay archivé, ou null si la partie a été chargée, n'est
+	 *         pas terminée, ou n'a pas pu être archivée
+	 */
+	public synchronized String archiveReplay() {
+		if (replay == null || !gameOver) {
+			return null;
+		}
+		if (archivedReplayName == null) {
+			String name = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + "-"
+					+ Long.toHexString(seed);
+			if (SaveLoadManager.archiveReplay(replay, name)) {
+				archivedReplayName = name;
+			}
+		}
+		return archivedReplayName;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Construit le résultat de la partie terminée, pour l'export des simulations.
+	 * 
+	 * @return le résultat de la partie (graine, configuration, scores, trophées)
+	 */
+	public GameResult getResult() {
+		String[] strategyTypes = new String[players.size()];
+		for (int i = 0; i < players.size(); i++) {
+			strategyTypes[i] = SaveLoadManager.strategyTypeOf(players.get(i).getStrategy());
+		}
+
+		List<Trophy> trophies = tm.getTrophies();
+		TrophyType[] trophyTypes = new TrophyType[trophies.size()];
+		int[] trophyOwners = new int[trophies.size()];
+		for (int i = 0; i < trophies.size(); i++) {
+			trophyTypes[i] = trophies.get(i).getType();
+			trophyOwners[i] = players.indexOf(trophies.get(i).getOwner());
+		}
+
+		return new GameResult(seed, mode, extensionActive, currentRound, strategyTypes, calculateScores(),
+				trophyTypes, trophyOwners);
+	}
 }
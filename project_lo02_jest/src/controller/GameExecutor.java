@@ -0,0 +1,384 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service qui possède les boucles de jeu ({@link GameController#runGameLoop()})
+ * de l'application.
+ * <p>
+ * Au plus {@code maxRunning} parties tournent en même temps, chacune dans un
+ * thread virtuel ; les suivantes attendent dans une file bornée, et une
+ * soumission au-delà est refusée. Chaque partie soumise est suivie par un
+ * {@link GameHandle} qui permet de l'annuler ou d'attendre sa fin. À l'arrêt,
+ * le service laisse les parties se terminer pendant un délai, puis annule
+ * celles qui restent en les sauvegardant.
+ * </p>
+ * <p>
+ * Une partie annulée s'arrête au coup suivant : sa boucle est interrompue,
+ * l'attente en cours (saisie, pause d'un bot) se termine, et la boucle sort par
+ * une {@link CancellationException} sans annoncer de fin de partie.
+ * </p>
+ */
+public class GameExecutor {
+
+	/** Nombre de parties en cours par défaut. */
+	public static final int DEFAULT_MAX_RUNNING = 8;
+
+	/** Capacité par défaut de la file des parties en attente. */
+	public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+	/** Début du nom des sauvegardes faites à l'arrêt du service. */
+	public static final String AUTOSAVE_PREFIX = "autosave-";
+
+	// Délai accordé aux parties annulées pour se sauvegarder, en secondes
+	private static final long CANCEL_GRACE_SECONDS = 5;
+
+	private static GameExecutor defaultExecutor;
+
+	/**
+	 * État d'une partie soumise.
+	 */
+	public enum State {
+		QUEUED, RUNNING, FINISHED, CANCELLED, FAILED
+	}
+
+	/**
+	 * Suivi d'une partie soumise au service.
+	 */
+	public final class GameHandle {
+		private final int id;
+		private final GameController controller;
+		private final CountDownLatch done;
+		private final Runnable task;
+		private State state;
+		private Thread thread;
+		private boolean saveOnCancel;
+		private String saveName;
+
+		private GameHandle(int id, GameController controller) {
+			this.id = id;
+			this.controller = controller;
+			this.done = new CountDownLatch(1);
+			this.task = () -> run(this);
+			this.state = State.QUEUED;
+		}
+
+		/**
+		 * Annule la partie, sans la sauvegarder.
+		 *
+		 * @return false si la partie était déjà terminée
+		 */
+		public boolean cancel() {
+			return cancel(false);
+		}
+
+		/**
+		 * Annule la partie. Une partie en attente est retirée de la file ; une
+		 * partie en cours s'arrête au coup suivant.
+		 *
+		 * @param save true pour sauvegarder la partie annulée
+		 * @return false si la partie était déjà terminée
+		 */
+		public boolean cancel(boolean save) {
+			synchronized (this) {
+				if (state == State.RUNNING) {
+					saveOnCancel |= save;
+					thread.interrupt();
+					return true;
+				}
+				if (state != State.QUEUED) {
+					return false;
+				}
+				state = State.CANCELLED;
+			}
+			// La boucle n'a pas démarré : rien ne modifie la partie
+			pool.remove(task);
+			if (save) {
+				autosave(this);
+			}
+			ended(this);
+			return true;
+		}
+
+		/**
+		 * Attend la fin de la partie (terminée, annulée ou en échec).
+		 *
+		 * @throws InterruptedException si l'attente est interrompue
+		 */
+		public void await() throws InterruptedException {
+			done.await();
+		}
+
+		/**
+		 * Attend la fin de la partie pendant un délai.
+		 *
+		 * @param timeout le délai maximal
+		 * @param unit    l'unité du délai
+		 * @return true si la partie est finie
+		 * @throws InterruptedException si l'attente est interrompue
+		 */
+		public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+			return done.await(timeout, unit);
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		public GameController getController() {
+			return controller;
+		}
+
+		public synchronized State getState() {
+			return state;
+		}
+
+		/**
+		 * Retourne le nom de la sauvegarde faite à l'annulation.
+		 *
+		 * @return le nom de la sauvegarde, ou null si la partie n'a pas été
+		 *         sauvegardée
+		 */
+		public synchronized String getSaveName() {
+			return saveName;
+		}
+
+		private synchronized boolean start() {
+			if (state != State.QUEUED) {
+				return false;
+			}
+			state = State.RUNNING;
+			thread = Thread.currentThread();
+			return true;
+		}
+
+		private synchronized void finish(State end) {
+			state = end;
+			thread = null;
+		}
+	}
+
+	private final int maxRunning;
+	private final int queueCapacity;
+	private final ThreadPoolExecutor pool;
+	private final Set<GameHandle> games;
+	private final AtomicInteger nextId;
+
+	private final AtomicInteger running;
+	private final AtomicLong submitted;
+	private final AtomicLong finished;
+	private final AtomicLong cancelled;
+	private final AtomicLong failed;
+
+	/**
+	 * Construit un service.
+	 *
+	 * @param maxRunning    le nombre maximal de parties en cours
+	 * @param queueCapacity le nombre maximal de parties en attente
+	 */
+	public GameExecutor(int maxRunning, int queueCapacity) {
+		this.maxRunning = maxRunning;
+		this.queueCapacity = queueCapacity;
+		this.pool = new ThreadPoolExecutor(maxRunning, maxRunning, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), Thread.ofVirtual().name("game-", 1).factory());
+		this.games = ConcurrentHashMap.newKeySet();
+		this.nextId = new AtomicInteger();
+		this.running = new AtomicInteger();
+		this.submitted = new AtomicLong();
+		this.finished = new AtomicLong();
+		this.cancelled = new AtomicLong();
+		this.failed = new AtomicLong();
+	}
+
+	/**
+	 * Retourne le service de l'application, créé au premier appel. Il est
+	 * arrêté à la fermeture de l'application : les parties encore en cours sont
+	 * sauvegardées.
+	 *
+	 * @return le service par défaut
+	 */
+	public static synchronized GameExecutor getDefault() {
+		if (defaultExecutor == null) {
+			GameExecutor executor = new GameExecutor(DEFAULT_MAX_RUNNING, DEFAULT_QUEUE_CAPACITY);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					executor.shutdown(0, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, "game-executor-shutdown"));
+			defaultExecutor = executor;
+		}
+		return defaultExecutor;
+	}
+
+	/**
+	 * Soumet une partie démarrée ou chargée. Elle démarre dès qu'une place se
+	 * libère.
+	 *
+	 * @param controller la partie à jouer
+	 * @return le suivi de la partie
+	 * @throws RejectedExecutionException si la file est pleine ou le service
+	 *                                    arrêté
+	 */
+	public GameHandle submit(GameController controller) {
+		GameHandle handle = new GameHandle(nextId.incrementAndGet(), controller);
+		games.add(handle);
+		try {
+			pool.execute(handle.task);
+		} catch (RejectedExecutionException e) {
+			games.remove(handle);
+			throw new RejectedExecutionException(
+					pool.isShutdown() ? "Service de parties arrêté" : "File des parties pleine", e);
+		}
+		submitted.incrementAndGet();
+		return handle;
+	}
+
+	private void run(GameHandle handle) {
+		if (!handle.start()) {
+			return;
+		}
+		running.incrementAndGet();
+		try {
+			handle.controller.runGameLoop();
+			handle.finish(State.FINISHED);
+		} catch (CancellationException e) {
+			boolean save;
+			synchronized (handle) {
+				save = handle.saveOnCancel;
+			}
+			if (save) {
+				// La boucle a abandonné le coup interrompu : l'état est
+				// celui laissé par le dernier coup joué. L'interruption a servi ;
+				// laissée active, elle fermerait les canaux de fichiers de la
+				// sauvegarde et de l'archive
+				Thread.interrupted();
+				autosave(handle);
+			}
+			handle.finish(State.CANCELLED);
+		} catch (RuntimeException e) {
+			System.err.println("Partie " + handle.id + " interrompue par une erreur : " + e);
+			handle.finish(State.FAILED);
+		} finally {
+			running.decrementAndGet();
+			ended(handle);
+		}
+	}
+
+	private void autosave(GameHandle handle) {
+		String name = AUTOSAVE_PREFIX + handle.id + "-" + System.currentTimeMillis();
+		handle.controller.saveGame(name);
+		synchronized (handle) {
+			handle.saveName = name;
+		}
+	}
+
+	private void ended(GameHandle handle) {
+		switch (handle.getState()) {
+		case FINISHED:
+			finished.incrementAndGet();
+			break;
+		case CANCELLED:
+			cancelled.incrementAndGet();
+			break;
+		default:
+			failed.incrementAndGet();
+		}
+		games.remove(handle);
+		handle.done.countDown();
+	}
+
+	/**
+	 * Arrête le service. Les nouvelles soumissions sont refusées, et les parties
+	 * en cours ou en attente ont le délai donné pour se terminer. Celles qui
+	 * restent sont ensuite annulées et sauvegardées.
+	 *
+	 * @param drainTimeout le délai laissé aux parties pour se terminer
+	 * @param unit         l'unité du délai
+	 * @return les parties annulées et sauvegardées
+	 * @throws InterruptedException si l'attente est interrompue
+	 */
+	public List<GameHandle> shutdown(long drainTimeout, TimeUnit unit) throws InterruptedException {
+		pool.shutdown();
+		if (pool.awaitTermination(drainTimeout, unit)) {
+			return new ArrayList<>();
+		}
+
+		List<GameHandle> interrupted = new ArrayList<>(games);
+		for (GameHandle handle : interrupted) {
+			handle.cancel(true);
+		}
+		for (GameHandle handle : interrupted) {
+			if (!handle.await(CANCEL_GRACE_SECONDS, TimeUnit.SECONDS)) {
+				System.err.println("La partie " + handle.id + " ne s'est pas arrêtée à temps");
+			}
+		}
+		return interrupted;
+	}
+
+	public boolean isShutdown() {
+		return pool.isShutdown();
+	}
+
+	// === MÉTRIQUES ===
+
+	/**
+	 * Retourne les parties soumises qui ne sont pas encore finies.
+	 *
+	 * @return une copie de la liste des parties en attente ou en cours
+	 */
+	public List<GameHandle> getGames() {
+		return new ArrayList<>(games);
+	}
+
+	public int getQueuedCount() {
+		return pool.getQueue().size();
+	}
+
+	public int getRunningCount() {
+		return running.get();
+	}
+
+	public int getMaxRunning() {
+		return maxRunning;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public long getSubmittedCount() {
+		return submitted.get();
+	}
+
+	public long getFinishedCount() {
+		return finished.get();
+	}
+
+	public long getCancelledCount() {
+		return cancelled.get();
+	}
+
+	public long getFailedCount() {
+		return failed.get();
+	}
+
+	@Override
+	public String toString() {
+		return "GameExecutor [en cours=" + getRunningCount() + "/" + maxRunning + ", en attente=" + getQueuedCount()
+				+ "/" + queueCapacity + ", terminées=" + getFinishedCount() + ", annulées=" + getCancelledCount()
+				+ ", en échec=" + getFailedCount() + "]";
+	}
+}
@@ -0,0 +1,226 @@
+package controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import model.OffHeapStore;
+import view.GameObserver;
+
+/**
+ * Index de parties menées pas à pas ({@link GameController#step()}) qui met
+ * en sommeil celles qui attendent depuis trop longtemps.
+ * <p>
+ * Une partie en sommeil est encodée par {@link GameController#hibernate()}
+ * dans un {@link OffHeapStore}, et son contrôleur est abandonné : il ne reste
+ * sur le tas que son entrée dans l'index (identifiant de l'enregistrement,
+ * date d'activité, observateurs). Elle est réveillée sans que l'appelant ait à
+ * s'en soucier dès qu'une décision arrive ou que son contrôleur est demandé.
+ * </p>
+ * <p>
+ * Les parties confiées à l'index ne doivent être menées que par ses méthodes,
+ * ou par le contrôleur obtenu de {@link #get(int)} juste avant.
+ * </p>
+ */
+public class GameHibernator {
+
+	/**
+	 * Entrée d'une partie dans l'index.
+	 */
+	private static final class Entry {
+		// Contrôleur de la partie éveillée, ou null pendant le sommeil
+		private GameController game;
+		private long handle;
+		private long lastActive;
+		private List<GameObserver> observers;
+		private EventBus bus;
+	}
+
+	private final OffHeapStore store;
+	private final long idleNanos;
+	private final Map<Integer, Entry> entries;
+	private int nextId;
+
+	private int hibernated;
+	private long wakeCount;
+
+	/**
+	 * Construit un index vide.
+	 *
+	 * @param store       le stockage des parties en sommeil
+	 * @param idleTimeout la durée sans activité avant la mise en sommeil
+	 * @param unit        l'unité de cette durée
+	 */
+	public GameHibernator(OffHeapStore store, long idleTimeout, TimeUnit unit) {
+		this.store = store;
+		this.idleNanos = unit.toNanos(idleTimeout);
+		this.entries = new HashMap<>();
+	}
+
+	/**
+	 * Confie une partie à l'index.
+	 *
+	 * @param game la partie, démarrée
+	 * @return son identifiant dans l'index
+	 */
+	public synchronized int add(GameController game) {
+		Entry e = new Entry();
+		e.game = game;
+		e.lastActive = System.nanoTime();
+		int id = nextId++;
+		entries.put(id, e);
+		return id;
+	}
+
+	/**
+	 * Retourne le contrôleur d'une partie, en la réveillant si besoin.
+	 *
+	 * @param id l'identifiant de la partie
+	 * @return son contrôleur, ou null si la partie est inconnue
+	 */
+	public synchronized GameController get(int id) {
+		Entry e = entries.get(id);
+		return e != null ? touch(e) : null;
+	}
+
+	/**
+	 * Fait avancer une partie jusqu'à la prochaine décision attendue.
+	 *
+	 * @param id l'identifiant de la partie
+	 * @return la place du joueur attendu, ou -1 si la partie est terminée
+	 * @see GameController#step()
+	 */
+	public synchronized int step(int id) {
+		return touch(require(id)).step();
+	}
+
+	/**
+	 * Dépose la décision d'un joueur, en réveillant la partie si besoin.
+	 *
+	 * @param id          l'identifiant de la partie
+	 * @param playerIndex la place du joueur
+	 * @param move        le code de décision
+	 * @return false si la partie n'attend pas cette décision
+	 * @see GameController#submitDecision(int, int)
+	 */
+	public synchronized boolean submitDecision(int id, int playerIndex, int move) {
+		return touch(require(id)).submitDecision(playerIndex, move);
+	}
+
+	/**
+	 * Retire une partie de l'index et libère son enregistrement.
+	 *
+	 * @param id l'identifiant de la partie
+	 * @return true si la partie existait
+	 */
+	public synchronized boolean remove(int id) {
+		Entry e = entries.remove(id);
+		if (e == null) {
+			return false;
+		}
+		if (e.game == null) {
+			store.free(e.handle);
+			hibernated--;
+		}
+		return true;
+	}
+
+	/**
+	 * Met en sommeil les parties éveillées restées sans activité plus longtemps
+	 * que le délai. À appeler régulièrement.
+	 *
+	 * @return le nombre de parties mises en sommeil
+	 */
+	public synchronized int hibernateIdle() {
+		long now = System.nanoTime();
+		int count = 0;
+		for (Entry e : entries.values()) {
+			if (e.game != null && now - e.lastActive >= idleNanos) {
+				hibernate(e);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void hibernate(Entry e) {
+		e.handle = store.put(e.game.hibernate());
+		e.bus = e.game.getEventBus();
+		if (e.bus == null) {
+			List<GameObserver> observers = e.game.getObservers();
+			e.observers = observers.isEmpty() ? null : observers;
+		}
+		e.game = null;
+		hibernated++;
+	}
+
+	/**
+	 * Réveille la partie si elle dort et note l'activité.
+	 */
+	private GameController touch(Entry e) {
+		if (e.game == null) {
+			GameController game;
+			try {
+				game = GameController.wake(store.get(e.handle));
+			} catch (IOException ex) {
+				throw new UncheckedIOException("Partie en sommeil illisible", ex);
+			}
+			store.free(e.handle);
+			if (e.bus != null) {
+				game.setEventBus(e.bus);
+			} else if (e.observers != null) {
+				for (GameObserver o : e.observers) {
+					game.addObserver(o);
+				}
+			}
+			e.game = game;
+			e.observers = null;
+			e.bus = null;
+			hibernated--;
+			wakeCount++;
+		}
+		e.lastActive = System.nanoTime();
+		return e.game;
+	}
+
+	private Entry require(int id) {
+		Entry e = entries.get(id);
+		if (e == null) {
+			throw new IllegalArgumentException("Partie inconnue : " + id);
+		}
+		return e;
+	}
+
+	// === STATISTIQUES ===
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Indique si une partie est en sommeil.
+	 *
+	 * @param id l'identifiant de la partie
+	 * @return true si la partie dort
+	 */
+	public synchronized boolean isHibernated(int id) {
+		Entry e = entries.get(id);
+		return e != null && e.game == null;
+	}
+
+	public synchronized int getHibernatedCount() {
+		return hibernated;
+	}
+
+	/**
+	 * Retourne le nombre de réveils depuis la création de l'index.
+	 *
+	 * @return le nombre de parties réveillées
+	 */
+	public synchronized long getWakeCount() {
+		return wakeCount;
+	}
+}
@@ -5,6 +5,7 @@ import javax.swing.UIManager;
 
 import view.ConsoleView;
 import view.gui.MainMenuFrame;
+import view.gui.ResourceLoader;
 
 /**
  * Point d'entrée principal de l'application JEST. Permet de lancer le jeu en
@@ -26,6 +27,8 @@ public class JestGame {
 		System.out.println();
 
 		GameController controller = new GameController();
+		// Les vues reçoivent les événements dans leurs propres threads
+		controller.setEventBus(new EventBus(EventBus.DEFAULT_CAPACITY, EventBus.WaitStrategy.BLOCKING));
 		launchBoth(controller);
 	}
 
@@ -35,15 +38,12 @@ public class JestGame {
 	 * @param controller le contrôleur de jeu à utiliser
 	 */
 	private static void launchGUI(GameController controller) {
-
-		// Définir le look and feel du système
-		try {
-			UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		// Charger images, règles et polices en parallèle pendant que le menu
+		// s'affiche
+		ResourceLoader.getInstance();
 
 		SwingUtilities.invokeLater(() -> {
+			setSystemLookAndFeel();
 			MainMenuFrame menu = new MainMenuFrame(controller);
 			menu.setVisible(true);
 		});
@@ -70,18 +70,27 @@ public class JestGame {
 		System.out.println("🎮 Veuillez paramétrer le jeu dans l'interface graphique");
 		System.out.println();
 
-		// Définir le look and feel du système
-		try {
-			UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		// Charger images, règles et polices en parallèle pendant que le menu
+		// s'affiche
+		ResourceLoader.getInstance();
 
 		// Lancer la GUI (qui créera la ConsoleView)
 		SwingUtilities.invokeLater(() -> {
+			setSystemLookAndFeel();
 			MainMenuFrame menu = new MainMenuFrame(controller);
 			menu.setVisible(true);
 		});
+	}
 
+	/**
+	 * Définit le look and feel du système. À appeler dans le thread de
+	 * l'interface, avant la création de la première fenêtre.
+	 */
+	private static void setSystemLookAndFeel() {
+		try {
+			UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
 	}
 }
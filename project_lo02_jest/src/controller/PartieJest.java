@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
-import java.util.concurrent.TimeUnit;
 
 import model.Card;
 import model.ClassicCounter;
@@ -19,6 +18,7 @@ import model.Trophy;
 import model.TrophyManager;
 import model.VirtualPlayerCheater;
 import model.VirtualPlayerRandom;
+import view.ConsoleRenderer;
 
 /**
  * Classe de gestion d'une partie de Jest en mode console pur. Contient toute la
@@ -44,6 +44,8 @@ public class PartieJest {
 
 	private static final Scanner sc = new Scanner(System.in);
 
+	private final ConsoleRenderer console = ConsoleRenderer.getStandard();
+
 	private int mode = 0;
 
 	private boolean extensionActive = false;
@@ -629,26 +631,22 @@ public class PartieJest {
 		waiting();
 	}
 
+	/**
+	 * Efface l'écran (séquence ANSI, voir {@link ConsoleRenderer}).
+	 */
 	public void space() {
-		System.out.println("\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n");
+		console.clear();
+		console.flush();
 	}
 
 	public void waiting(Player next) {
 		space();
 		System.out.println("Au tour de " + next.getName());
-		try {
-			TimeUnit.SECONDS.sleep(1);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
+		console.pause(1000);
 		space();
 	}
 
 	public void waiting() {
-		try {
-			TimeUnit.SECONDS.sleep(2);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
+		console.pause(2000);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.GameReplay;
+import model.Player;
+import model.ReplayStrategy;
+import view.GameObserver;
+
+/**
+ * Moteur de ré-exécution des parties enregistrées sous forme de
+ * {@link GameReplay}. La partie est rejouée par un {@link GameController}
+ * neuf : soit à pleine vitesse sans aucune vue, soit à une vitesse choisie en
+ * alimentant les vues habituelles ({@link GameObserver}).
+ *
+ * @see model.ReplayStrategy
+ */
+public class ReplayEngine {
+
+	/** Vitesse sans aucune pause entre les coups. */
+	public static final double FULL_SPEED = 0;
+
+	private GameReplay replay;
+	private GameController controller;
+	private ReplayStrategy strategy;
+	private List<GameObserver> observers;
+
+	/**
+	 * Construit un moteur pour l'enregistrement fourni.
+	 *
+	 * @param replay l'enregistrement à rejouer
+	 */
+	public ReplayEngine(GameReplay replay) {
+		this.replay = replay;
+		this.observers = new ArrayList<>();
+	}
+
+	/**
+	 * Ajoute une vue qui recevra les événements de la partie rejouée.
+	 *
+	 * @param observer la vue à attacher
+	 */
+	public void addObserver(GameObserver observer) {
+		observers.add(observer);
+	}
+
+	/**
+	 * Rejoue la partie à pleine vitesse, sans pause.
+	 *
+	 * @return le contrôleur de la partie rejouée, dans son état final
+	 */
+	public GameController run() {
+		return run(FULL_SPEED);
+	}
+
+	/**
+	 * Rejoue la partie jusqu'à sa fin. Bloque le thread appelant pendant toute la
+	 * durée de la partie.
+	 *
+	 * @param speed le multiplicateur de vitesse des pauses (0 pour aucune pause)
+	 * @return le contrôleur de la partie rejouée, dans son état final
+	 */
+	public GameController run(double speed) {
+		controller = new GameController();
+		for (GameObserver observer : observers) {
+			controller.addObserver(observer);
+		}
+		controller.setSpeed(speed);
+
+		strategy = new ReplayStrategy(replay);
+		List<Player> players = new ArrayList<>();
+		for (String name : replay.getPlayerNames()) {
+			players.add(new Player(name, strategy));
+		}
+
+		controller.startGame(players, replay.getMode(), replay.isExtensionActive(), replay.getSeed());
+		controller.runGameLoop();
+		return controller;
+	}
+
+	/**
+	 * Indique si la dernière exécution a consommé exactement toutes les décisions
+	 * de l'enregistrement, c'est-à-dire si la partie a été reproduite fidèlement.
+	 *
+	 * @return true si le replay a été rejoué entièrement
+	 */
+	public boolean isComplete() {
+		return strategy != null && strategy.getCursor() == replay.getDecisionCount();
+	}
+
+	/**
+	 * Retourne le contrôleur de la dernière exécution.
+	 *
+	 * @return le contrôleur, ou null si le replay n'a pas encore été lancé
+	 */
+	public GameController getController() {
+		return controller;
+	}
+}
@@ -0,0 +1,119 @@
+package controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.ColumnarResultsWriter;
+import model.CsvResultsWriter;
+import model.ResultsWriter;
+
+/**
+ * Lance des simulations de parties entre bots, en parallèle et sans pause, et
+ * exporte le résultat de chaque partie dans un {@link ResultsWriter}. La
+ * configuration de chaque partie (nombre de joueurs, types de bots, mode,
+ * extension) est tirée de sa graine, comme la donne et les choix des bots
+ * aléatoires : rejouer la graine exportée reproduit la partie à l'identique.
+ */
+public class SimulationRunner {
+
+	/**
+	 * Simule un lot de parties et écrit leurs résultats au fil de l'eau.
+	 *
+	 * @param nbGames  le nombre de parties à simuler
+	 * @param nbThreads le nombre de threads de simulation
+	 * @param baseSeed la graine de la première partie (les suivantes sont
+	 *                 consécutives)
+	 * @param writer   la destination des résultats
+	 * @return le nombre de parties effectivement écrites
+	 * @throws InterruptedException si le thread appelant est interrompu
+	 */
+	public static int run(int nbGames, int nbThreads, long baseSeed, ResultsWriter writer)
+			throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(nbThreads);
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger written = new AtomicInteger();
+
+		for (int t = 0; t < nbThreads; t++) {
+			pool.execute(() -> {
+				int game;
+				while ((game = next.getAndIncrement()) < nbGames) {
+					GameController controller = playGame(baseSeed + game);
+					try {
+						writer.write(controller.getResult());
+						written.incrementAndGet();
+					} catch (IOException e) {
+						System.err.println("Erreur lors de l'écriture des résultats : " + e.getMessage());
+						return;
+					}
+				}
+			});
+		}
+
+		pool.shutdown();
+		pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		return written.get();
+	}
+
+	/**
+	 * Joue une partie complète entre bots, configurée à partir de sa graine.
+	 *
+	 * @param seed la graine de la partie
+	 * @return le contrôleur de la partie terminée
+	 */
+	private static GameController playGame(long seed) {
+		Random config = new Random(seed);
+		int nbBots = 3 + config.nextInt(2);
+		List<Boolean> botTypes = new ArrayList<>();
+		for (int i = 0; i < nbBots; i++) {
+			botTypes.add(config.nextBoolean());
+		}
+
+		GameController controller = new GameController();
+		controller.setSpeed(0);
+		controller.setHistoryEnabled(false);
+		controller.startNewGame(0, nbBots, null, botTypes, config.nextInt(3), config.nextBoolean(), seed);
+		controller.runGameLoop();
+		return controller;
+	}
+
+	/**
+	 * Point d'entrée des simulations en ligne de commande.
+	 * <p>
+	 * Arguments : nombre de parties, fichier de sortie (format CSV si le nom se
+	 * termine par ".csv", format en colonnes sinon), et optionnellement le nombre
+	 * de threads et la graine de départ.
+	 * </p>
+	 *
+	 * @param args les arguments de la simulation
+	 * @throws Exception en cas d'erreur d'écriture ou d'interruption
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.out.println("Usage : SimulationRunner <parties> <fichier> [threads] [graine]");
+			return;
+		}
+
+		int nbGames = Integer.parseInt(args[0]);
+		File file = new File(args[1]);
+		int nbThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		long baseSeed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+		long start = System.nanoTime();
+		int written;
+		try (ResultsWriter writer = file.getName().endsWith(".csv") ? new CsvResultsWriter(file)
+				: new ColumnarResultsWriter(file)) {
+			written = run(nbGames, nbThreads, baseSeed, writer);
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println(written + " parties simulées en " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms ("
+				+ (long) (written * 3.6e12 / elapsed) + " parties/heure)");
+	}
+}
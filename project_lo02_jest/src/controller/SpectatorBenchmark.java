@@ -0,0 +1,304 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import controller.SpectatorHub.OverflowPolicy;
+import controller.SpectatorHub.Subscription;
+import model.Card;
+import model.Offer;
+import model.Player;
+import model.TableSnapshot;
+import model.VirtualPlayerCheater;
+import model.VirtualPlayerRandom;
+import view.GameObserver;
+
+/**
+ * Mesure le coût de la diffusion d'une partie à de nombreux spectateurs par un
+ * {@link SpectatorHub}. Des parties entre bots sont jouées sans pause, d'abord
+ * sans spectateur, puis avec le hub et ses abonnés, dont une partie est lente.
+ * Affiche la durée des parties et, pour chaque politique de débordement, ce
+ * que les spectateurs rapides et lents ont reçu. Un spectateur lent par
+ * politique parcourt en plus le contenu des événements et compte ceux qu'il
+ * trouve incohérents.
+ */
+public class SpectatorBenchmark {
+
+	/**
+	 * Spectateur qui compte les événements reçus, avec un délai optionnel par
+	 * événement.
+	 */
+	private static class CountingSpectator implements GameObserver {
+		private final long delayMillis;
+
+		CountingSpectator(long delayMillis) {
+			this.delayMillis = delayMillis;
+		}
+
+		private void event() {
+			if (delayMillis > 0) {
+				try {
+					Thread.sleep(delayMillis);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		@Override
+		public void onGameStarted(int nbPlayers, int mode, boolean extensionActive) {
+			event();
+		}
+
+		@Override
+		public void onRoundStarted(int roundNumber) {
+			event();
+		}
+
+		@Override
+		public void onCardsDistributed(List<Player> players) {
+			event();
+		}
+
+		@Override
+		public void onPlayerTurnToOffer(Player player) {
+			event();
+		}
+
+		@Override
+		public void onOfferMade(Player player, Offer offer) {
+			event();
+		}
+
+		@Override
+		public void onPlayerTurnToChoose(Player player, List<Offer> availableOffers) {
+			event();
+		}
+
+		@Override
+		public void onCardChosen(Player chooser, Player target, Card card) {
+			event();
+		}
+
+		@Override
+		public void onRoundEnded(List<Player> players) {
+			event();
+		}
+
+		@Override
+		public void onGameEnded(Player winner, List<Player> players, int[] scores) {
+			event();
+		}
+
+		@Override
+		public void onTrophyCardsDisplayed(Card trophy1, Card trophy2) {
+			event();
+		}
+
+		@Override
+		public void onStackDisplayed(List<Card> stack) {
+			event();
+		}
+
+		@Override
+		public void onGameSaved(String saveName) {
+			event();
+		}
+
+		@Override
+		public void onGameLoaded(String saveName) {
+			event();
+		}
+
+		@Override
+		public void onStateRestored(int decisionIndex) {
+			event();
+		}
+
+		@Override
+		public void onSnapshot(TableSnapshot snapshot) {
+			event();
+		}
+
+		@Override
+		public void onError(String errorMessage) {
+			event();
+		}
+	}
+
+	/**
+	 * Spectateur lent qui lit les mains, offres et Jests reçus, comme le ferait
+	 * une vue, et compte les événements incohérents : carte manquante, carte
+	 * prise absente du Jest, ou exception pendant la lecture.
+	 */
+	private static class ReadingSpectator extends CountingSpectator {
+		private final AtomicLong anomalies = new AtomicLong();
+
+		ReadingSpectator(long delayMillis) {
+			super(delayMillis);
+		}
+
+		private void check(boolean consistent) {
+			if (!consistent) {
+				anomalies.incrementAndGet();
+			}
+		}
+
+		private void read(Runnable reading) {
+			try {
+				reading.run();
+			} catch (RuntimeException e) {
+				anomalies.incrementAndGet();
+			}
+		}
+
+		@Override
+		public void onCardsDistributed(List<Player> players) {
+			super.onCardsDistributed(players);
+			read(() -> {
+				for (Player p : players) {
+					check(p.getHand().get(0) != null && p.getHand().get(1) != null);
+				}
+			});
+		}
+
+		@Override
+		public void onOfferMade(Player player, Offer offer) {
+			super.onOfferMade(player, offer);
+			read(() -> check(offer.getVisibleCard() != null && offer.getHiddenCard() != null));
+		}
+
+		@Override
+		public void onPlayerTurnToChoose(Player player, List<Offer> availableOffers) {
+			super.onPlayerTurnToChoose(player, availableOffers);
+			read(() -> {
+				for (Offer o : availableOffers) {
+					check(o.getVisibleCard() != null && o.getHiddenCard() != null);
+				}
+			});
+		}
+
+		@Override
+		public void onCardChosen(Player chooser, Player target, Card card) {
+			super.onCardChosen(chooser, target, card);
+			read(() -> check(chooser.getJest().contains(card)));
+		}
+
+		@Override
+		public void onRoundEnded(List<Player> players) {
+			super.onRoundEnded(players);
+			read(() -> {
+				for (Player p : players) {
+					for (Card c : p.getJest()) {
+						check(c != null);
+					}
+				}
+			});
+		}
+
+		long getAnomalies() {
+			return anomalies.get();
+		}
+	}
+
+	/**
+	 * Joue une série de parties entre 4 bots et retourne leur durée totale.
+	 */
+	private static long playGames(GameController controller, int nbGames) {
+		long start = System.nanoTime();
+		for (int g = 0; g < nbGames; g++) {
+			List<Player> players = new ArrayList<>();
+			players.add(new Player("HAL-9000", new VirtualPlayerCheater()));
+			players.add(new Player("Bender", new VirtualPlayerRandom()));
+			players.add(new Player("Marvin", new VirtualPlayerRandom()));
+			players.add(new Player("Wall-E", new VirtualPlayerRandom()));
+			controller.startGame(players, g % 3, g % 2 == 0, g);
+			controller.runGameLoop();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Point d'entrée de la mesure.
+	 * <p>
+	 * Arguments : nombre de spectateurs, nombre de parties, et optionnellement
+	 * la proportion de spectateurs lents (en %) et leur délai par événement (en
+	 * ms). Les spectateurs sont répartis entre les trois politiques.
+	 * </p>
+	 *
+	 * @param args les arguments de la mesure
+	 * @throws InterruptedException si l'attente finale est interrompue
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		if (args.length < 2) {
+			System.out.println("Usage : SpectatorBenchmark <spectateurs> <parties> [% lents] [délai ms]");
+			return;
+		}
+		int nbSpectators = Integer.parseInt(args[0]);
+		int nbGames = Integer.parseInt(args[1]);
+		int slowPercent = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		long delay = args.length > 3 ? Long.parseLong(args[3]) : 5;
+
+		GameController controller = new GameController();
+		controller.setSpeed(0);
+		controller.setHistoryEnabled(false);
+		playGames(controller, nbGames);
+		long alone = playGames(controller, nbGames);
+
+		SpectatorHub hub = new SpectatorHub();
+		controller.addObserver(hub);
+		OverflowPolicy[] policies = OverflowPolicy.values();
+		for (int i = 0; i < nbSpectators; i++) {
+			boolean slow = i * 100 < nbSpectators * slowPercent;
+			hub.subscribe(new CountingSpectator(slow ? delay : 0), SpectatorHub.DEFAULT_CAPACITY,
+					policies[i % policies.length]);
+		}
+		List<Subscription> subscriptions = new ArrayList<>(hub.getSubscriptions());
+		List<ReadingSpectator> readers = new ArrayList<>();
+		for (OverflowPolicy policy : policies) {
+			ReadingSpectator reader = new ReadingSpectator(Math.max(1, delay));
+			readers.add(reader);
+			hub.subscribe(reader, SpectatorHub.DEFAULT_CAPACITY, policy);
+		}
+		long watched = playGames(controller, nbGames);
+
+		// Laisser les spectateurs rapides rattraper la partie
+		TimeUnit.SECONDS.sleep(1);
+
+		System.out.println(nbGames + " parties : " + TimeUnit.NANOSECONDS.toMillis(alone) + " ms sans spectateur, "
+				+ TimeUnit.NANOSECONDS.toMillis(watched) + " ms avec " + nbSpectators + " spectateurs ("
+				+ slowPercent + " % lents, " + delay + " ms par événement)");
+		for (OverflowPolicy policy : policies) {
+			for (int slow = 1; slow >= 0; slow--) {
+				long count = 0;
+				long delivered = 0;
+				long dropped = 0;
+				long coalesced = 0;
+				long connected = 0;
+				for (int i = 0; i < subscriptions.size(); i++) {
+					Subscription s = subscriptions.get(i);
+					boolean isSlow = i * 100 < nbSpectators * slowPercent;
+					if (s.getPolicy() != policy || isSlow != (slow == 1)) {
+						continue;
+					}
+					count++;
+					delivered += s.getDelivered();
+					dropped += s.getDropped();
+					coalesced += s.getCoalesced();
+					connected += s.isConnected() ? 1 : 0;
+				}
+				if (count > 0) {
+					System.out.println(policy + (slow == 1 ? " lents" : " rapides") + " (" + count + ") : "
+							+ delivered / count + " livrés, " + dropped / count + " perdus, " + coalesced / count
+							+ " fusionnés en moyenne, " + connected + " encore connectés");
+				}
+			}
+		}
+		for (int i = 0; i < policies.length; i++) {
+			System.out.println(policies[i] + " lecteur : " + readers.get(i).getAnomalies() + " événements incohérents");
+		}
+		hub.close();
+	}
+}
@@ -0,0 +1,414 @@
+package controller;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import model.Card;
+import model.Offer;
+import model.Player;
+import model.TableSnapshot;
+import model.ThreadManager;
+import view.GameObserver;
+
+/**
+ * Diffusion d'une partie à de nombreux spectateurs (vues, clients distants,
+ * journaux).
+ * <p>
+ * Le hub s'enregistre comme un seul observateur du contrôleur. Chaque
+ * spectateur abonné dispose d'une file bornée : le hub y dépose les
+ * événements sans jamais attendre, et une tâche de {@link ThreadManager} les
+ * lui délivre tant que la file n'est pas vide. Un spectateur lent ne retarde
+ * donc ni la partie ni les autres spectateurs ; quand sa file est pleine, sa
+ * {@link OverflowPolicy} décide du sort des événements.
+ * </p>
+ * <p>
+ * Les joueurs, offres et listes d'un événement sont copiés une fois à sa
+ * réception, puis ces copies sont partagées par tous les spectateurs : un
+ * spectateur en retard voit la partie telle qu'elle était, jamais des objets
+ * que le jeu est en train de modifier.
+ * </p>
+ */
+public class SpectatorHub implements GameObserver, Closeable {
+
+	/**
+	 * Traitement d'un événement destiné à un spectateur dont la file est pleine.
+	 */
+	public enum OverflowPolicy {
+		/** L'événement est perdu pour ce spectateur. */
+		DROP,
+		/**
+		 * Les événements en attente sont remplacés par le dernier instantané de la
+		 * table : le spectateur saute directement à l'état courant.
+		 */
+		COALESCE,
+		/** Le spectateur est désabonné. */
+		DISCONNECT
+	}
+
+	/** Capacité par défaut de la file d'un spectateur, en événements. */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * Abonnement d'un spectateur : sa file, sa politique et ses compteurs.
+	 */
+	public final class Subscription implements Runnable {
+		private final GameObserver spectator;
+		private final OverflowPolicy policy;
+		private final BlockingQueue<Consumer<GameObserver>> queue;
+		private final AtomicBoolean scheduled;
+		private final AtomicLong delivered;
+		private final AtomicLong dropped;
+		private final AtomicLong coalesced;
+		private volatile boolean connected;
+
+		private Subscription(GameObserver spectator, int capacity, OverflowPolicy policy) {
+			this.spectator = spectator;
+			this.policy = policy;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+			this.scheduled = new AtomicBoolean();
+			this.delivered = new AtomicLong();
+			this.dropped = new AtomicLong();
+			this.coalesced = new AtomicLong();
+			this.connected = true;
+		}
+
+		/**
+		 * Dépose un événement sans attendre, en appliquant la politique si la file
+		 * est pleine.
+		 */
+		private void offer(Consumer<GameObserver> event) {
+			if (!connected) {
+				return;
+			}
+			if (!queue.offer(event)) {
+				overflow(event);
+			}
+			if (scheduled.compareAndSet(false, true)) {
+				ThreadManager.submit(this);
+			}
+		}
+
+		private synchronized void overflow(Consumer<GameObserver> event) {
+			switch (policy) {
+			case DROP:
+				dropped.incrementAndGet();
+				break;
+			case COALESCE:
+				// L'instantané le plus récent remplace tout ce qui attendait ; si
+				// l'événement en trop en est un, il suffit
+				coalesced.addAndGet(queue.size());
+				queue.clear();
+				TableSnapshot latest = snapshot;
+				if (latest != null && !(event instanceof SnapshotEvent)) {
+					queue.offer(new SnapshotEvent(latest));
+				}
+				if (!queue.offer(event)) {
+					dropped.incrementAndGet();
+				}
+				break;
+			default:
+				unsubscribe(this);
+			}
+		}
+
+		/**
+		 * Délivre les événements en attente. Exécutée par une seule tâche à la
+		 * fois.
+		 */
+		@Override
+		public void run() {
+			while (true) {
+				Consumer<GameObserver> event;
+				while (connected && (event = queue.poll()) != null) {
+					try {
+						event.accept(spectator);
+						delivered.incrementAndGet();
+					} catch (RuntimeException e) {
+						System.err.println("Erreur du spectateur " + spectator.getClass().getSimpleName() + " : " + e);
+					}
+				}
+				scheduled.set(false);
+				// Un événement déposé entre la fin de la boucle et la libération
+				if (!connected || queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+					return;
+				}
+			}
+		}
+
+		public GameObserver getSpectator() {
+			return spectator;
+		}
+
+		public OverflowPolicy getPolicy() {
+			return policy;
+		}
+
+		public boolean isConnected() {
+			return connected;
+		}
+
+		/**
+		 * Retourne le nombre d'événements en attente de livraison.
+		 *
+		 * @return la taille de la file
+		 */
+		public int getBacklog() {
+			return queue.size();
+		}
+
+		public long getDelivered() {
+			return delivered.get();
+		}
+
+		public long getDropped() {
+			return dropped.get();
+		}
+
+		/**
+		 * Retourne le nombre d'événements remplacés par un instantané.
+		 *
+		 * @return le nombre d'événements fusionnés
+		 */
+		public long getCoalesced() {
+			return coalesced.get();
+		}
+	}
+
+	/**
+	 * Livraison d'un instantané, reconnaissable dans une file qui déborde.
+	 */
+	private static final class SnapshotEvent implements Consumer<GameObserver> {
+
+		private final TableSnapshot snapshot;
+
+		private SnapshotEvent(TableSnapshot snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		@Override
+		public void accept(GameObserver observer) {
+			observer.onSnapshot(snapshot);
+		}
+	}
+
+	/**
+	 * Copies figées des objets d'un événement. Un joueur présent plusieurs fois
+	 * dans l'événement n'est copié qu'une fois.
+	 */
+	private static final class Detached {
+
+		private final Map<Player, Player> players = new IdentityHashMap<>();
+
+		Player player(Player player) {
+			return player == null ? null : players.computeIfAbsent(player, Player::new);
+		}
+
+		Offer offer(Offer offer) {
+			return offer == null ? null
+					: new Offer(offer.getVisibleCard(), offer.getHiddenCard(), player(offer.getOwner()));
+		}
+
+		List<Player> players(List<Player> source) {
+			List<Player> list = new ArrayList<>(source.size());
+			for (Player p : source) {
+				list.add(player(p));
+			}
+			return Collections.unmodifiableList(list);
+		}
+
+		List<Offer> offers(List<Offer> source) {
+			List<Offer> list = new ArrayList<>(source.size());
+			for (Offer o : source) {
+				list.add(offer(o));
+			}
+			return Collections.unmodifiableList(list);
+		}
+	}
+
+	private final List<Subscription> subscriptions;
+	private volatile TableSnapshot snapshot;
+
+	/**
+	 * Construit un hub sans spectateur.
+	 */
+	public SpectatorHub() {
+		this.subscriptions = new CopyOnWriteArrayList<>();
+	}
+
+	// === ABONNEMENTS ===
+
+	/**
+	 * Abonne un spectateur avec la capacité par défaut.
+	 *
+	 * @param spectator le spectateur
+	 * @param policy    le traitement des événements quand sa file est pleine
+	 * @return l'abonnement
+	 */
+	public Subscription subscribe(GameObserver spectator, OverflowPolicy policy) {
+		return subscribe(spectator, DEFAULT_CAPACITY, policy);
+	}
+
+	/**
+	 * Abonne un spectateur. S'il arrive en cours de partie, il reçoit d'abord le
+	 * dernier instantané de la table.
+	 *
+	 * @param spectator le spectateur
+	 * @param capacity  la capacité de sa file, en événements
+	 * @param policy    le traitement des événements quand sa file est pleine
+	 * @return l'abonnement
+	 */
+	public Subscription subscribe(GameObserver spectator, int capacity, OverflowPolicy policy) {
+		Subscription subscription = new Subscription(spectator, Math.max(2, capacity), policy);
+		subscriptions.add(subscription);
+		TableSnapshot latest = snapshot;
+		if (latest != null) {
+			subscription.offer(new SnapshotEvent(latest));
+		}
+		return subscription;
+	}
+
+	/**
+	 * Désabonne un spectateur. Ses événements en attente sont abandonnés.
+	 *
+	 * @param subscription l'abonnement à arrêter
+	 */
+	public void unsubscribe(Subscription subscription) {
+		subscription.connected = false;
+		subscription.queue.clear();
+		subscriptions.remove(subscription);
+	}
+
+	public List<Subscription> getSubscriptions() {
+		return subscriptions;
+	}
+
+	/**
+	 * Désabonne tous les spectateurs.
+	 */
+	@Override
+	public void close() {
+		for (Subscription s : subscriptions) {
+			unsubscribe(s);
+		}
+	}
+
+	/**
+	 * Dépose un événement dans la file de chaque spectateur. L'événement est
+	 * créé une fois et partagé par tous.
+	 */
+	private void broadcast(Consumer<GameObserver> event) {
+		for (Subscription s : subscriptions) {
+			s.offer(event);
+		}
+	}
+
+	// === ÉVÉNEMENTS ===
+
+	@Override
+	public void onSnapshot(TableSnapshot snapshot) {
+		this.snapshot = snapshot;
+		broadcast(new SnapshotEvent(snapshot));
+	}
+
+	@Override
+	public void onGameStarted(int nbPlayers, int mode, boolean extensionActive) {
+		broadcast(o -> o.onGameStarted(nbPlayers, mode, extensionActive));
+	}
+
+	@Override
+	public void onRoundStarted(int roundNumber) {
+		broadcast(o -> o.onRoundStarted(roundNumber));
+	}
+
+	@Override
+	public void onCardsDistributed(List<Player> players) {
+		List<Player> copies = new Detached().players(players);
+		broadcast(o -> o.onCardsDistributed(copies));
+	}
+
+	@Override
+	public void onPlayerTurnToOffer(Player player) {
+		Player copy = new Detached().player(player);
+		broadcast(o -> o.onPlayerTurnToOffer(copy));
+	}
+
+	@Override
+	public void onOfferMade(Player player, Offer offer) {
+		Detached copies = new Detached();
+		Player playerCopy = copies.player(player);
+		Offer offerCopy = copies.offer(offer);
+		broadcast(o -> o.onOfferMade(playerCopy, offerCopy));
+	}
+
+	@Override
+	public void onPlayerTurnToChoose(Player player, List<Offer> availableOffers) {
+		Detached copies = new Detached();
+		Player playerCopy = copies.player(player);
+		List<Offer> offersCopy = copies.offers(availableOffers);
+		broadcast(o -> o.onPlayerTurnToChoose(playerCopy, offersCopy));
+	}
+
+	@Override
+	public void onCardChosen(Player chooser, Player target, Card card) {
+		Detached copies = new Detached();
+		Player chooserCopy = copies.player(chooser);
+		Player targetCopy = copies.player(target);
+		broadcast(o -> o.onCardChosen(chooserCopy, targetCopy, card));
+	}
+
+	@Override
+	public void onRoundEnded(List<Player> players) {
+		List<Player> copies = new Detached().players(players);
+		broadcast(o -> o.onRoundEnded(copies));
+	}
+
+	@Override
+	public void onGameEnded(Player winner, List<Player> players, int[] scores) {
+		Detached copies = new Detached();
+		List<Player> playersCopy = copies.players(players);
+		Player winnerCopy = copies.player(winner);
+		int[] scoresCopy = scores.clone();
+		broadcast(o -> o.onGameEnded(winnerCopy, playersCopy, scoresCopy));
+	}
+
+	@Override
+	public void onTrophyCardsDisplayed(Card trophy1, Card trophy2) {
+		broadcast(o -> o.onTrophyCardsDisplayed(trophy1, trophy2));
+	}
+
+	@Override
+	public void onStackDisplayed(List<Card> stack) {
+		List<Card> copy = Collections.unmodifiableList(new ArrayList<>(stack));
+		broadcast(o -> o.onStackDisplayed(copy));
+	}
+
+	@Override
+	public void onGameSaved(String saveName) {
+		broadcast(o -> o.onGameSaved(saveName));
+	}
+
+	@Override
+	public void onGameLoaded(String saveName) {
+		broadcast(o -> o.onGameLoaded(saveName));
+	}
+
+	@Override
+	public void onStateRestored(int decisionIndex) {
+		broadcast(o -> o.onStateRestored(decisionIndex));
+	}
+
+	@Override
+	public void onError(String errorMessage) {
+		broadcast(o -> o.onError(errorMessage));
+	}
+}
@@ -0,0 +1,257 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Écriture des résultats de parties dans un format binaire en colonnes.
+ * <p>
+ * Chaque colonne est accumulée dans son propre tampon ; lorsque le bloc est
+ * plein, toutes les colonnes sont écrites d'un seul appel séquentiel. Le
+ * fichier commence par un en-tête ("JRC" + version), suivi de blocs de la
+ * forme : nombre de lignes (int), puis pour chaque colonne sa taille en octets
+ * (int) et son contenu. Les colonnes, de largeur fixe, sont dans l'ordre :
+ * graine (8), mode (1), extension (1), rounds (1), nombre de joueurs (1), code
+ * de stratégie par place (4), score par place (4 × 2), type de chaque trophée
+ * (2) et place de son propriétaire (2). La valeur 0xFF marque une place ou un
+ * trophée absent.
+ * </p>
+ *
+ * @see model.CsvResultsWriter
+ */
+public class ColumnarResultsWriter implements ResultsWriter {
+
+	private static final int MAGIC = 0x4A524301; // "JRC" + version 1
+	private static final int DEFAULT_BLOCK_ROWS = 1 << 16;
+	private static final int NONE = 0xFF;
+
+	/** Largeur en octets de chaque colonne, pour une ligne. */
+	private static final int[] COLUMN_WIDTHS = { 8, 1, 1, 1, 1, GameResult.MAX_PLAYERS, GameResult.MAX_PLAYERS * 2,
+			GameResult.MAX_TROPHIES, GameResult.MAX_TROPHIES };
+
+	private static final int SEED = 0;
+	private static final int MODE = 1;
+	private static final int EXTENSION = 2;
+	private static final int ROUNDS = 3;
+	private static final int PLAYERS = 4;
+	private static final int STRATEGIES = 5;
+	private static final int SCORES = 6;
+	private static final int TROPHY_TYPES = 7;
+	private static final int TROPHY_OWNERS = 8;
+
+	private FileChannel channel;
+	private int blockRows;
+	private int rows;
+
+	// Un tampon par colonne, plus l'en-tête de bloc, écrits ensemble
+	private ByteBuffer[] buffers;
+
+	/**
+	 * Ouvre un fichier de résultats en colonnes, avec des blocs de 65536 lignes.
+	 *
+	 * @param file le fichier à créer (écrasé s'il existe)
+	 * @throws IOException si le fichier ne peut pas être créé
+	 */
+	public ColumnarResultsWriter(File file) throws IOException {
+		this(file, DEFAULT_BLOCK_ROWS);
+	}
+
+	/**
+	 * Ouvre un fichier de résultats en colonnes.
+	 *
+	 * @param file      le fichier à créer (écrasé s'il existe)
+	 * @param blockRows le nombre de lignes par bloc
+	 * @throws IOException si le fichier ne peut pas être créé
+	 */
+	public ColumnarResultsWriter(File file, int blockRows) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.blockRows = blockRows;
+		this.rows = 0;
+
+		// buffers[0] : en-tête du bloc et tailles des colonnes, puis une colonne par
+		// tampon
+		this.buffers = new ByteBuffer[COLUMN_WIDTHS.length + 1];
+		this.buffers[0] = ByteBuffer.allocate(4 + 4 * COLUMN_WIDTHS.length);
+		for (int c = 0; c < COLUMN_WIDTHS.length; c++) {
+			buffers[c + 1] = ByteBuffer.allocateDirect(COLUMN_WIDTHS[c] * blockRows);
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(4).putInt(MAGIC);
+		header.flip();
+		channel.write(header);
+	}
+
+	@Override
+	public synchronized void write(GameResult result) throws IOException {
+		column(SEED).putLong(result.getSeed());
+		column(MODE).put((byte) result.getMode());
+		column(EXTENSION).put((byte) (result.isExtensionActive() ? 1 : 0));
+		column(ROUNDS).put((byte) result.getRounds());
+		column(PLAYERS).put((byte) result.getNbPlayers());
+
+		String[] strategies = result.getStrategyTypes();
+		int[] scores = result.getScores();
+		for (int i = 0; i < GameResult.MAX_PLAYERS; i++) {
+			boolean present = i < scores.length;
+			column(STRATEGIES).put((byte) (present ? GameReplay.strategyCode(strategies[i]) : NONE));
+			column(SCORES).putShort((short) (present ? scores[i] : 0));
+		}
+
+		TrophyType[] types = result.getTrophyTypes();
+		int[] owners = result.getTrophyOwners();
+		for (int i = 0; i < GameResult.MAX_TROPHIES; i++) {
+			boolean present = i < types.length;
+			column(TROPHY_TYPES).put((byte) (present ? types[i].ordinal() : NONE));
+			column(TROPHY_OWNERS).put((byte) (present && owners[i] >= 0 ? owners[i] : NONE));
+		}
+
+		rows++;
+		if (rows == blockRows) {
+			writeBlock();
+		}
+	}
+
+	private ByteBuffer column(int index) {
+		return buffers[index + 1];
+	}
+
+	/**
+	 * Écrit le bloc courant (en-tête puis colonnes) en une seule écriture
+	 * regroupée, puis vide les tampons.
+	 */
+	private void writeBlock() throws IOException {
+		if (rows == 0) {
+			return;
+		}
+		ByteBuffer header = buffers[0];
+		header.clear();
+		header.putInt(rows);
+		for (int c = 0; c < COLUMN_WIDTHS.length; c++) {
+			header.putInt(column(c).position());
+		}
+		for (ByteBuffer buffer : buffers) {
+			buffer.flip();
+		}
+
+		long remaining = 0;
+		for (ByteBuffer buffer : buffers) {
+			remaining += buffer.remaining();
+		}
+		while (remaining > 0) {
+			remaining -= channel.write(buffers);
+		}
+
+		for (ByteBuffer buffer : buffers) {
+			buffer.clear();
+		}
+		rows = 0;
+	}
+
+	@Override
+	public synchronized void flush() throws IOException {
+		writeBlock();
+		channel.force(false);
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (channel.isOpen()) {
+			writeBlock();
+			channel.close();
+		}
+	}
+
+	/**
+	 * Relit un fichier de résultats en colonnes, bloc par bloc, sans charger le
+	 * fichier entier en mémoire.
+	 *
+	 * @param file     le fichier à lire
+	 * @param consumer le traitement appliqué à chaque résultat, dans l'ordre
+	 *                 d'écriture
+	 * @throws IOException si le fichier est illisible ou invalide
+	 */
+	public static void read(File file, Consumer<GameResult> consumer) throws IOException {
+		try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer magic = readFully(in, 4);
+			if (magic == null || magic.getInt() != MAGIC) {
+				throw new IOException("Fichier de résultats invalide");
+			}
+
+			ByteBuffer header;
+			while ((header = readFully(in, 4 + 4 * COLUMN_WIDTHS.length)) != null) {
+				int count = header.getInt();
+				ByteBuffer[] columns = new ByteBuffer[COLUMN_WIDTHS.length];
+				for (int c = 0; c < columns.length; c++) {
+					columns[c] = ByteBuffer.allocate(header.getInt());
+				}
+				for (ByteBuffer column : columns) {
+					while (column.hasRemaining()) {
+						if (in.read(column) < 0) {
+							throw new IOException("Bloc de résultats tronqué");
+						}
+					}
+					column.flip();
+				}
+
+				for (int row = 0; row < count; row++) {
+					consumer.accept(readRow(columns));
+				}
+			}
+		}
+	}
+
+	private static GameResult readRow(ByteBuffer[] columns) {
+		long seed = columns[SEED].getLong();
+		int mode = columns[MODE].get();
+		boolean extension = columns[EXTENSION].get() != 0;
+		int rounds = columns[ROUNDS].get() & 0xFF;
+		int nbPlayers = columns[PLAYERS].get();
+
+		String[] strategies = new String[nbPlayers];
+		int[] scores = new int[nbPlayers];
+		for (int i = 0; i < GameResult.MAX_PLAYERS; i++) {
+			int strategy = columns[STRATEGIES].get() & 0xFF;
+			short score = columns[SCORES].getShort();
+			if (i < nbPlayers) {
+				strategies[i] = GameReplay.strategyType(strategy);
+				scores[i] = score;
+			}
+		}
+
+		int nbTrophies = 0;
+		TrophyType[] types = new TrophyType[GameResult.MAX_TROPHIES];
+		int[] owners = new int[GameResult.MAX_TROPHIES];
+		for (int i = 0; i < GameResult.MAX_TROPHIES; i++) {
+			int type = columns[TROPHY_TYPES].get() & 0xFF;
+			int owner = columns[TROPHY_OWNERS].get() & 0xFF;
+			if (type != NONE) {
+				types[nbTrophies] = TrophyType.values()[type];
+				owners[nbTrophies] = owner == NONE ? -1 : owner;
+				nbTrophies++;
+			}
+		}
+
+		return new GameResult(seed, mode, extension, rounds, strategies, scores, Arrays.copyOf(types, nbTrophies),
+				Arrays.copyOf(owners, nbTrophies));
+	}
+
+	private static ByteBuffer readFully(FileChannel in, int size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		while (buffer.hasRemaining()) {
+			if (in.read(buffer) < 0) {
+				if (buffer.position() == 0) {
+					return null;
+				}
+				throw new IOException("Fichier de résultats tronqué");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+}
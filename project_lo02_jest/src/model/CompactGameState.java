@@ -0,0 +1,528 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import model.GameState.CardState;
+import model.GameState.OfferState;
+import model.GameState.PlayerState;
+import model.GameState.TrophyState;
+
+/**
+ * Représentation binaire compacte d'un état de partie. Les données sont lues
+ * directement dans le tampon d'origine (par exemple un fichier projeté en
+ * mémoire) : aucun objet {@link Player}, {@link Card}, {@link Offer} ou
+ * {@link Trophy} n'est construit pour parcourir l'état. La vue objet
+ * ({@link GameState}) n'est construite qu'à la demande, par
+ * {@link #toGameState()}.
+ * <p>
+ * Format (octets) : en-tête "JB", version, nombre de joueurs, mode, options,
+ * round courant, joueur courant, graine (8), deux cartes trophées ; puis le
+ * deck et le stack (nombre + cartes), chaque joueur (stratégie, a joué, nom
+ * UTF-8 préfixé de sa longueur, main et Jest), les offres (propriétaire, carte
+ * visible, carte cachée) et les trophées (type, carte source, propriétaire).
+ * Une carte tient sur un octet : valeur (3 bits), couleur (3 bits) et
+ * visibilité (1 bit). {@link #NONE} marque une carte ou un joueur absent.
+ * </p>
+ *
+ * @see model.SaveLoadManager#mapGame(String)
+ */
+public class CompactGameState {
+
+	/** Code d'une carte ou d'un joueur absent. */
+	public static final int NONE = 0xFF;
+
+	private static final int MAGIC = 0x4A42; // "JB"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 18;
+
+	private ByteBuffer data;
+
+	// Positions des sections, calculées une seule fois
+	private int deckOffset;
+	private int stackOffset;
+	private int[] playerOffsets;
+	private int offersOffset;
+	private int trophiesOffset;
+
+	// Vue objet construite à la demande
+	private GameState gameState;
+
+	/**
+	 * Construit un état compact au-dessus d'un tampon, sans copier les données.
+	 *
+	 * @param data le tampon contenant l'état encodé (position 0)
+	 * @throws IOException si le tampon ne contient pas un état valide
+	 */
+	private CompactGameState(ByteBuffer data) throws IOException {
+		this.data = data;
+		if (data.limit() < HEADER_SIZE || (data.getShort(0) & 0xFFFF) != MAGIC) {
+			throw new IOException("Sauvegarde binaire invalide");
+		}
+		if (data.get(2) != VERSION) {
+			throw new IOException("Version de sauvegarde non supportée : " + data.get(2));
+		}
+
+		// Chaque longueur est vérifiée avant d'être lue : un fichier tronqué
+		// (écriture interrompue) est refusé proprement
+		deckOffset = HEADER_SIZE;
+		stackOffset = deckOffset + 1 + lengthAt(deckOffset);
+		playerOffsets = new int[nbPlayers()];
+		int offset = stackOffset + 1 + lengthAt(stackOffset);
+		for (int p = 0; p < playerOffsets.length; p++) {
+			playerOffsets[p] = offset;
+			offset += 2;
+			offset += 1 + lengthAt(offset); // nom
+			offset += 1 + lengthAt(offset); // main
+			offset += 1 + lengthAt(offset); // jest
+		}
+		offersOffset = offset;
+		trophiesOffset = offersOffset + 1 + 3 * lengthAt(offersOffset);
+		if (trophiesOffset + 1 + 3 * lengthAt(trophiesOffset) > data.limit()) {
+			throw new IOException("Sauvegarde binaire tronquée");
+		}
+	}
+
+	/**
+	 * Enveloppe un tampon contenant un état encodé, sans copie.
+	 *
+	 * @param data le tampon à lire
+	 * @return l'état compact
+	 * @throws IOException si le tampon ne contient pas un état valide
+	 */
+	public static CompactGameState wrap(ByteBuffer data) throws IOException {
+		return new CompactGameState(data.slice());
+	}
+
+	/**
+	 * Projette un fichier de sauvegarde binaire en mémoire et l'enveloppe, sans
+	 * le lire ni le décoder.
+	 *
+	 * @param file le fichier de sauvegarde
+	 * @return l'état compact, adossé à la projection du fichier
+	 * @throws IOException si le fichier est illisible ou invalide
+	 */
+	public static CompactGameState map(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return new CompactGameState(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	// === EN-TÊTE ===
+
+	public int nbPlayers() {
+		return u8(3);
+	}
+
+	public int mode() {
+		return u8(4);
+	}
+
+	public boolean isExtensionActive() {
+		return (u8(5) & 1) != 0;
+	}
+
+	public int currentRound() {
+		return u8(6);
+	}
+
+	/**
+	 * Retourne l'index du joueur courant.
+	 *
+	 * @return l'index du joueur courant, ou -1 s'il n'y en a pas
+	 */
+	public int currentPlayerIndex() {
+		return data.get(7);
+	}
+
+	public long seed() {
+		return data.getLong(8);
+	}
+
+	/**
+	 * Retourne le code d'une carte trophée.
+	 *
+	 * @param i l'index de la carte trophée (0 ou 1)
+	 * @return le code de la carte, ou {@link #NONE}
+	 */
+	public int trophyCard(int i) {
+		return u8(16 + i);
+	}
+
+	// === DECK ET STACK ===
+
+	public int deckSize() {
+		return u8(deckOffset);
+	}
+
+	public int deckCard(int i) {
+		return u8(deckOffset + 1 + i);
+	}
+
+	public int stackSize() {
+		return u8(stackOffset);
+	}
+
+	public int stackCard(int i) {
+		return u8(stackOffset + 1 + i);
+	}
+
+	// === JOUEURS ===
+
+	/**
+	 * Retourne le type de stratégie d'un joueur.
+	 *
+	 * @param p l'index du joueur
+	 * @return le type ("REAL", "RANDOM", "CHEATER", "EXTERNAL"), ou null
+	 */
+	public String strategyType(int p) {
+		return GameReplay.strategyType(u8(playerOffsets[p]));
+	}
+
+	public boolean hasPlayed(int p) {
+		return u8(playerOffsets[p] + 1) != 0;
+	}
+
+	/**
+	 * Décode le nom d'un joueur.
+	 *
+	 * @param p l'index du joueur
+	 * @return le nom du joueur
+	 */
+	public String playerName(int p) {
+		int offset = playerOffsets[p] + 2;
+		byte[] name = new byte[u8(offset)];
+		data.get(offset + 1, name);
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	public int handSize(int p) {
+		return u8(handOffset(p));
+	}
+
+	public int handCard(int p, int i) {
+		return u8(handOffset(p) + 1 + i);
+	}
+
+	public int jestSize(int p) {
+		return u8(jestOffset(p));
+	}
+
+	public int jestCard(int p, int i) {
+		return u8(jestOffset(p) + 1 + i);
+	}
+
+	private int handOffset(int p) {
+		int offset = playerOffsets[p] + 2;
+		return offset + 1 + u8(offset);
+	}
+
+	private int jestOffset(int p) {
+		return skipCards(handOffset(p));
+	}
+
+	// === OFFRES ET TROPHÉES ===
+
+	public int offerCount() {
+		return u8(offersOffset);
+	}
+
+	public int offerOwner(int i) {
+		return u8(offersOffset + 1 + 3 * i);
+	}
+
+	public int offerVisibleCard(int i) {
+		return u8(offersOffset + 2 + 3 * i);
+	}
+
+	public int offerHiddenCard(int i) {
+		return u8(offersOffset + 3 + 3 * i);
+	}
+
+	public int trophyCount() {
+		return u8(trophiesOffset);
+	}
+
+	public TrophyType trophyType(int i) {
+		return TrophyType.values()[u8(trophiesOffset + 1 + 3 * i)];
+	}
+
+	public int trophySourceCard(int i) {
+		return u8(trophiesOffset + 2 + 3 * i);
+	}
+
+	/**
+	 * Retourne le propriétaire d'un trophée.
+	 *
+	 * @param i l'index du trophée
+	 * @return l'index du joueur propriétaire, ou {@link #NONE} s'il n'est pas
+	 *         attribué
+	 */
+	public int trophyOwner(int i) {
+		return u8(trophiesOffset + 3 + 3 * i);
+	}
+
+	// === CODES DE CARTES ===
+
+	/**
+	 * Encode une carte sur un octet.
+	 *
+	 * @param card la carte à encoder (peut être null)
+	 * @return le code de la carte, ou {@link #NONE} si card est null
+	 */
+	public static int cardCode(Card card) {
+		if (card == null) {
+			return NONE;
+		}
+		return cardCode(card.getFaceValue(), card.getColor(), card.isVisible());
+	}
+
+	private static int cardCode(int value, Color color, boolean visible) {
+		return (visible ? 0x40 : 0) | (color.ordinal() << 3) | value;
+	}
+
+	public static Color cardColor(int code) {
+		return Color.values()[(code >> 3) & 7];
+	}
+
+	public static int cardValue(int code) {
+		return code & 7;
+	}
+
+	public static boolean cardVisible(int code) {
+		return (code & 0x40) != 0;
+	}
+
+	/**
+	 * Construit la carte correspondant à un code.
+	 *
+	 * @param code le code de la carte
+	 * @return la carte, ou null si le code vaut {@link #NONE}
+	 */
+	public static Card toCard(int code) {
+		if (code == NONE) {
+			return null;
+		}
+		Card card = new Card(cardValue(code), cardColor(code));
+		card.setVisible(cardVisible(code));
+		return card;
+	}
+
+	// === CONVERSIONS ===
+
+	/**
+	 * Retourne la vue objet de cet état. Elle est construite au premier appel
+	 * seulement.
+	 *
+	 * @return l'état de jeu sous forme d'objets
+	 */
+	public synchronized GameState toGameState() {
+		if (gameState == null) {
+			gameState = buildGameState();
+		}
+		return gameState;
+	}
+
+	private GameState buildGameState() {
+		GameState gs = new GameState();
+		gs.setNbPlayers(nbPlayers());
+		gs.setMode(mode());
+		gs.setExtensionActive(isExtensionActive());
+		gs.setCurrentRound(currentRound());
+		gs.setCurrentPlayerIndex(currentPlayerIndex());
+		gs.setSeed(seed());
+		gs.setTrophyCard1(toCardState(trophyCard(0)));
+		gs.setTrophyCard2(toCardState(trophyCard(1)));
+
+		for (int i = 0; i < deckSize(); i++) {
+			gs.getDeckCards().add(toCardState(deckCard(i)));
+		}
+		for (int i = 0; i < stackSize(); i++) {
+			gs.getStackCards().add(toCardState(stackCard(i)));
+		}
+
+		for (int p = 0; p < nbPlayers(); p++) {
+			PlayerState ps = new PlayerState();
+			ps.setName(playerName(p));
+			ps.setStrategyType(strategyType(p));
+			ps.setHasPlayed(hasPlayed(p));
+			for (int i = 0; i < handSize(p); i++) {
+				ps.getHand().add(toCardState(handCard(p, i)));
+			}
+			for (int i = 0; i < jestSize(p); i++) {
+				ps.getJest().add(toCardState(jestCard(p, i)));
+			}
+			gs.getPlayerStates().add(ps);
+		}
+
+		for (int i = 0; i < offerCount(); i++) {
+			OfferState os = new OfferState();
+			os.setOwnerIndex(offerOwner(i));
+			os.setVisibleCard(toCardState(offerVisibleCard(i)));
+			os.setHiddenCard(toCardState(offerHiddenCard(i)));
+			gs.getCurrentOffers().add(os);
+		}
+
+		for (int i = 0; i < trophyCount(); i++) {
+			TrophyState ts = new TrophyState();
+			ts.setType(trophyType(i).name());
+			ts.setSourceCard(toCardState(trophySourceCard(i)));
+			ts.setOwnerIndex(trophyOwner(i) == NONE ? null : trophyOwner(i));
+			gs.getTrophies().add(ts);
+		}
+		return gs;
+	}
+
+	private static CardState toCardState(int code) {
+		if (code == NONE) {
+			return null;
+		}
+		return new CardState(cardValue(code), cardColor(code).name(), cardVisible(code));
+	}
+
+	private static int cardCode(CardState cs) {
+		if (cs == null) {
+			return NONE;
+		}
+		return cardCode(cs.getValue(), Color.valueOf(cs.getColor()), cs.isVisible());
+	}
+
+	/**
+	 * Encode un état de jeu dans le format compact.
+	 *
+	 * @param gs l'état de jeu à encoder
+	 * @return les octets de l'état encodé
+	 */
+	public static byte[] encode(GameState gs) {
+		ByteBuffer out = ByteBuffer.allocate(estimateSize(gs));
+		out.putShort((short) MAGIC);
+		out.put((byte) VERSION);
+		out.put((byte) gs.getNbPlayers());
+		out.put((byte) gs.getMode());
+		out.put((byte) (gs.isExtensionActive() ? 1 : 0));
+		out.put((byte) gs.getCurrentRound());
+		out.put((byte) gs.getCurrentPlayerIndex());
+		out.putLong(gs.getSeed());
+		out.put((byte) cardCode(gs.getTrophyCard1()));
+		out.put((byte) cardCode(gs.getTrophyCard2()));
+
+		putCards(out, gs.getDeckCards());
+		putCards(out, gs.getStackCards());
+
+		for (PlayerState ps : gs.getPlayerStates()) {
+			out.put((byte) GameReplay.strategyCode(ps.getStrategyType()));
+			out.put((byte) (ps.isHasPlayed() ? 1 : 0));
+			byte[] name = nameBytes(ps.getName());
+			out.put((byte) name.length);
+			out.put(name);
+			putCards(out, ps.getHand());
+			putCards(out, ps.getJest());
+		}
+
+		out.put((byte) gs.getCurrentOffers().size());
+		for (OfferState os : gs.getCurrentOffers()) {
+			out.put((byte) os.getOwnerIndex());
+			out.put((byte) cardCode(os.getVisibleCard()));
+			out.put((byte) cardCode(os.getHiddenCard()));
+		}
+
+		out.put((byte) gs.getTrophies().size());
+		for (TrophyState ts : gs.getTrophies()) {
+			out.put((byte) TrophyType.valueOf(ts.getType()).ordinal());
+			out.put((byte) cardCode(ts.getSourceCard()));
+			out.put((byte) (ts.getOwnerIndex() == null ? NONE : ts.getOwnerIndex()));
+		}
+
+		byte[] bytes = new byte[out.position()];
+		out.flip();
+		out.get(bytes);
+		return bytes;
+	}
+
+	private static int estimateSize(GameState gs) {
+		int size = HEADER_SIZE + 2 + gs.getDeckCards().size() + gs.getStackCards().size();
+		for (PlayerState ps : gs.getPlayerStates()) {
+			size += 5 + 4 * ps.getName().length() + ps.getHand().size() + ps.getJest().size();
+		}
+		return size + 2 + 3 * gs.getCurrentOffers().size() + 3 * gs.getTrophies().size();
+	}
+
+	/**
+	 * Encode un nom de joueur, tronqué à 255 octets (sa longueur tient sur un
+	 * octet) sans couper de caractère.
+	 */
+	private static byte[] nameBytes(String name) {
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length <= 0xFF) {
+			return bytes;
+		}
+		int length = 0xFF;
+		// Recule jusqu'au début d'un caractère (octet qui n'est pas de continuation)
+		while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+			length--;
+		}
+		return Arrays.copyOf(bytes, length);
+	}
+
+	private static void putCards(ByteBuffer out, List<CardState> cards) {
+		out.put((byte) cards.size());
+		for (CardState cs : cards) {
+			out.put((byte) cardCode(cs));
+		}
+	}
+
+	// === LECTURE ===
+
+	private int u8(int offset) {
+		return data.get(offset) & 0xFF;
+	}
+
+	/**
+	 * Lit un octet de longueur pendant le calcul des sections.
+	 *
+	 * @throws IOException si l'octet est au-delà de la fin des données
+	 */
+	private int lengthAt(int offset) throws IOException {
+		if (offset >= data.limit()) {
+			throw new IOException("Sauvegarde binaire tronquée");
+		}
+		return u8(offset);
+	}
+
+	private int skipCards(int offset) {
+		return offset + 1 + u8(offset);
+	}
+
+	/**
+	 * Retourne les limites des sections de l'état (en-tête, deck, stack, chaque
+	 * joueur, offres et trophées), pour découper une sauvegarde en blocs.
+	 *
+	 * @return les positions de début de chaque section, suivies de la taille
+	 *         totale
+	 */
+	int[] sectionBounds() {
+		int[] bounds = new int[playerOffsets.length + 5];
+		bounds[0] = 0;
+		bounds[1] = deckOffset;
+		bounds[2] = stackOffset;
+		System.arraycopy(playerOffsets, 0, bounds, 3, playerOffsets.length);
+		bounds[bounds.length - 2] = offersOffset;
+		bounds[bounds.length - 1] = data.limit();
+		return bounds;
+	}
+
+	/**
+	 * Retourne la taille de l'état encodé.
+	 *
+	 * @return la taille en octets
+	 */
+	public int size() {
+		return data.limit();
+	}
+}
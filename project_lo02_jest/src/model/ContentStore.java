@@ -0,0 +1,492 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Archive à adressage par contenu pour les sauvegardes et les replays.
+ * <p>
+ * Chaque enregistrement est découpé en blocs par l'appelant (par exemple aux
+ * frontières de décisions pour un {@link GameReplay}). Un bloc est identifié par
+ * son empreinte SHA-256 et n'est stocké qu'une seule fois, quel que soit le
+ * nombre d'enregistrements qui le contiennent ; un enregistrement n'est qu'une
+ * liste de références vers ses blocs.
+ * </p>
+ * <p>
+ * Sur disque, l'archive est un dossier contenant un fichier de blocs (les
+ * octets des blocs, les uns à la suite des autres) et un journal
+ * ("index.log") auquel les opérations sont ajoutées : nouveau bloc (empreinte,
+ * position, taille), enregistrement (nom et numéros de blocs) et suppression.
+ * Le nombre de références de chaque bloc est recalculé à l'ouverture en
+ * relisant le journal. Les blocs qui ne sont plus référencés restent sur
+ * disque jusqu'au prochain {@link #gc()}, qui réécrit le fichier de blocs et un
+ * journal compacté.
+ * </p>
+ *
+ * @see model.SaveLoadManager#archiveReplay(GameReplay, String)
+ */
+public class ContentStore implements Closeable {
+
+	private static final String INDEX_FILE = "index.log";
+	private static final int MAGIC = 0x4A435301; // "JCS" + version 1
+	private static final int HASH_SIZE = 32;
+
+	// Types d'entrées du journal
+	private static final int PACK = 'P';
+	private static final int CHUNK = 'C';
+	private static final int RECORD = 'R';
+	private static final int DELETE = 'D';
+
+	private File dir;
+	private MessageDigest digest;
+
+	// Fichier de blocs courant et journal ouvert en ajout
+	private String packName;
+	private FileChannel pack;
+	private long packEnd;
+	private DataOutputStream log;
+
+	// Blocs connus, indexés par numéro d'ordre dans le journal
+	private Map<ByteBuffer, Integer> ids;
+	private List<byte[]> hashes;
+	private long[] offsets;
+	private int[] lengths;
+	private int[] refCounts;
+	private int chunkCount;
+
+	// Enregistrements : nom -> numéros de blocs
+	private Map<String, int[]> records;
+
+	/**
+	 * Ouvre une archive, ou la crée si le dossier ne contient pas encore de
+	 * journal.
+	 *
+	 * @param dir le dossier de l'archive
+	 * @throws IOException si l'archive est illisible ou ne peut pas être créée
+	 */
+	public ContentStore(File dir) throws IOException {
+		this.dir = dir;
+		try {
+			this.digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 est disponible sur toutes les plateformes Java
+			throw new IllegalStateException(e);
+		}
+		resetIndex();
+
+		dir.mkdirs();
+		File index = new File(dir, INDEX_FILE);
+		if (index.exists()) {
+			long valid = readIndex(Files.readAllBytes(index.toPath()));
+			// Une écriture interrompue peut laisser une entrée incomplète en fin de journal
+			try (FileChannel channel = FileChannel.open(index.toPath(), StandardOpenOption.WRITE)) {
+				channel.truncate(valid);
+			}
+			openPack();
+			log = openLog(index, true);
+		} else {
+			packName = "chunks-0.pack";
+			openPack();
+			log = openLog(index, false);
+			log.writeInt(MAGIC);
+			log.writeByte(PACK);
+			log.writeUTF(packName);
+			log.flush();
+		}
+	}
+
+	// === ENREGISTREMENTS ===
+
+	/**
+	 * Archive un enregistrement sous un nom. Seuls les blocs encore inconnus sont
+	 * écrits ; un enregistrement existant de même nom est remplacé. Les écritures
+	 * restent en tampon jusqu'au prochain {@link #flush()}, ce qui permet
+	 * d'archiver un lot d'enregistrements en une fois.
+	 *
+	 * @param name   le nom de l'enregistrement
+	 * @param chunks les blocs de l'enregistrement, dans l'ordre
+	 * @throws IOException en cas d'erreur d'écriture
+	 */
+	public synchronized void put(String name, List<byte[]> chunks) throws IOException {
+		int[] chunkIds = new int[chunks.size()];
+		for (int i = 0; i < chunkIds.length; i++) {
+			chunkIds[i] = intern(chunks.get(i));
+			refCounts[chunkIds[i]]++;
+		}
+
+		int[] previous = records.put(name, chunkIds);
+		if (previous != null) {
+			release(previous);
+		}
+
+		log.writeByte(RECORD);
+		log.writeUTF(name);
+		writeVarInt(log, chunkIds.length);
+		for (int id : chunkIds) {
+			writeVarInt(log, id);
+		}
+	}
+
+	/**
+	 * Relit les blocs d'un enregistrement.
+	 *
+	 * @param name le nom de l'enregistrement
+	 * @return les blocs, dans l'ordre, ou null si l'enregistrement n'existe pas
+	 * @throws IOException en cas d'erreur de lecture
+	 */
+	public synchronized List<byte[]> get(String name) throws IOException {
+		int[] chunkIds = records.get(name);
+		if (chunkIds == null) {
+			return null;
+		}
+		List<byte[]> chunks = new ArrayList<>(chunkIds.length);
+		for (int id : chunkIds) {
+			chunks.add(readChunk(id));
+		}
+		return chunks;
+	}
+
+	/**
+	 * Supprime un enregistrement. Ses blocs ne sont effacés du disque qu'au
+	 * prochain {@link #gc()}, s'ils ne sont plus référencés.
+	 *
+	 * @param name le nom de l'enregistrement
+	 * @return true si l'enregistrement existait
+	 * @throws IOException en cas d'erreur d'écriture
+	 */
+	public synchronized boolean remove(String name) throws IOException {
+		int[] chunkIds = records.remove(name);
+		if (chunkIds == null) {
+			return false;
+		}
+		release(chunkIds);
+		log.writeByte(DELETE);
+		log.writeUTF(name);
+		return true;
+	}
+
+	public synchronized boolean contains(String name) {
+		return records.containsKey(name);
+	}
+
+	/**
+	 * Liste les enregistrements dont le nom commence par un préfixe.
+	 *
+	 * @param prefix le préfixe des noms (vide pour tous)
+	 * @return les noms, triés
+	 */
+	public synchronized List<String> list(String prefix) {
+		List<String> names = new ArrayList<>();
+		for (String name : records.keySet()) {
+			if (name.startsWith(prefix)) {
+				names.add(name);
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Écrit sur disque les opérations en tampon.
+	 *
+	 * @throws IOException en cas d'erreur d'écriture
+	 */
+	public synchronized void flush() throws IOException {
+		log.flush();
+	}
+
+	// === RAMASSE-MIETTES ===
+
+	/**
+	 * Supprime les blocs qui ne sont plus référencés : les blocs vivants sont
+	 * recopiés dans un nouveau fichier, puis un journal compacté remplace
+	 * l'ancien. Le remplacement du journal est atomique, l'archive reste donc
+	 * lisible si l'opération est interrompue.
+	 *
+	 * @return le nombre d'octets libérés
+	 * @throws IOException en cas d'erreur d'écriture
+	 */
+	public synchronized long gc() throws IOException {
+		log.flush();
+		long before = packEnd;
+
+		String newPackName = "chunks-" + (Integer.parseInt(packName.replaceAll("\\D", "")) + 1) + ".pack";
+		File newPackFile = new File(dir, newPackName);
+		File tmpIndex = new File(dir, INDEX_FILE + ".tmp");
+
+		int[] newIds = new int[chunkCount];
+		Arrays.fill(newIds, -1);
+		long newEnd = 0;
+		try (FileChannel out = FileChannel.open(newPackFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+				DataOutputStream newLog = openLog(tmpIndex, false)) {
+			newLog.writeInt(MAGIC);
+			newLog.writeByte(PACK);
+			newLog.writeUTF(newPackName);
+
+			int next = 0;
+			for (int id = 0; id < chunkCount; id++) {
+				if (refCounts[id] == 0) {
+					continue;
+				}
+				ByteBuffer chunk = ByteBuffer.wrap(readChunk(id));
+				while (chunk.hasRemaining()) {
+					out.write(chunk, newEnd + chunk.position());
+				}
+				newLog.writeByte(CHUNK);
+				newLog.write(hashes.get(id));
+				writeVarLong(newLog, newEnd);
+				writeVarInt(newLog, lengths[id]);
+				newEnd += lengths[id];
+				newIds[id] = next++;
+			}
+
+			for (Map.Entry<String, int[]> record : records.entrySet()) {
+				newLog.writeByte(RECORD);
+				newLog.writeUTF(record.getKey());
+				writeVarInt(newLog, record.getValue().length);
+				for (int id : record.getValue()) {
+					writeVarInt(newLog, newIds[id]);
+				}
+			}
+			out.force(false);
+		}
+
+		log.close();
+		pack.close();
+		File index = new File(dir, INDEX_FILE);
+		Files.move(tmpIndex.toPath(), index.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		Files.deleteIfExists(new File(dir, packName).toPath());
+
+		resetIndex();
+		readIndex(Files.readAllBytes(index.toPath()));
+		openPack();
+		log = openLog(index, true);
+		return before - newEnd;
+	}
+
+	// === STATISTIQUES ===
+
+	/**
+	 * Retourne la taille des blocs stockés, référencés ou non.
+	 *
+	 * @return la taille du fichier de blocs, en octets
+	 */
+	public synchronized long storedBytes() {
+		return packEnd;
+	}
+
+	/**
+	 * Retourne la taille cumulée des enregistrements, comme s'ils étaient stockés
+	 * séparément.
+	 *
+	 * @return la somme des tailles des blocs de chaque enregistrement, en octets
+	 */
+	public synchronized long logicalBytes() {
+		long size = 0;
+		for (int[] chunkIds : records.values()) {
+			for (int id : chunkIds) {
+				size += lengths[id];
+			}
+		}
+		return size;
+	}
+
+	public synchronized int chunkCount() {
+		return chunkCount;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		log.close();
+		pack.close();
+	}
+
+	// === BLOCS ===
+
+	/**
+	 * Retourne le numéro d'un bloc, en l'ajoutant à l'archive s'il est inconnu.
+	 */
+	private int intern(byte[] chunk) throws IOException {
+		byte[] hash = digest.digest(chunk);
+		Integer id = ids.get(ByteBuffer.wrap(hash));
+		if (id != null) {
+			return id;
+		}
+
+		ByteBuffer data = ByteBuffer.wrap(chunk);
+		while (data.hasRemaining()) {
+			pack.write(data, packEnd + data.position());
+		}
+		log.writeByte(CHUNK);
+		log.write(hash);
+		writeVarLong(log, packEnd);
+		writeVarInt(log, chunk.length);
+
+		int newId = addChunk(hash, packEnd, chunk.length);
+		packEnd += chunk.length;
+		return newId;
+	}
+
+	private byte[] readChunk(int id) throws IOException {
+		ByteBuffer chunk = ByteBuffer.allocate(lengths[id]);
+		while (chunk.hasRemaining()) {
+			if (pack.read(chunk, offsets[id] + chunk.position()) < 0) {
+				throw new IOException("Archive tronquée");
+			}
+		}
+		return chunk.array();
+	}
+
+	private int addChunk(byte[] hash, long offset, int length) {
+		if (chunkCount == offsets.length) {
+			int capacity = offsets.length * 2;
+			offsets = Arrays.copyOf(offsets, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			refCounts = Arrays.copyOf(refCounts, capacity);
+		}
+		offsets[chunkCount] = offset;
+		lengths[chunkCount] = length;
+		refCounts[chunkCount] = 0;
+		hashes.add(hash);
+		ids.put(ByteBuffer.wrap(hash), chunkCount);
+		return chunkCount++;
+	}
+
+	private void release(int[] chunkIds) {
+		for (int id : chunkIds) {
+			refCounts[id]--;
+		}
+	}
+
+	// === JOURNAL ===
+
+	private void resetIndex() {
+		ids = new HashMap<>();
+		hashes = new ArrayList<>();
+		offsets = new long[256];
+		lengths = new int[256];
+		refCounts = new int[256];
+		chunkCount = 0;
+		records = new TreeMap<>();
+	}
+
+	/**
+	 * Rejoue le journal pour reconstruire l'index en mémoire.
+	 *
+	 * @return la taille de la partie valide du journal
+	 */
+	private long readIndex(byte[] data) throws IOException {
+		ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+		DataInputStream in = new DataInputStream(bytes);
+		if (data.length < 4 || in.readInt() != MAGIC) {
+			throw new IOException("Archive invalide");
+		}
+
+		long valid = 4;
+		try {
+			int type;
+			while ((type = in.read()) >= 0) {
+				switch (type) {
+				case PACK:
+					packName = in.readUTF();
+					break;
+				case CHUNK:
+					byte[] hash = new byte[HASH_SIZE];
+					in.readFully(hash);
+					long offset = readVarLong(in);
+					addChunk(hash, offset, readVarInt(in));
+					break;
+				case RECORD:
+					String name = in.readUTF();
+					int[] chunkIds = new int[readVarInt(in)];
+					for (int i = 0; i < chunkIds.length; i++) {
+						chunkIds[i] = readVarInt(in);
+						refCounts[chunkIds[i]]++;
+					}
+					int[] previous = records.put(name, chunkIds);
+					if (previous != null) {
+						release(previous);
+					}
+					break;
+				case DELETE:
+					int[] removed = records.remove(in.readUTF());
+					if (removed != null) {
+						release(removed);
+					}
+					break;
+				default:
+					throw new IOException("Archive invalide : entrée de type " + type);
+				}
+				valid = data.length - bytes.available();
+			}
+		} catch (EOFException e) {
+			// Entrée incomplète en fin de journal : ignorée
+		}
+
+		if (packName == null) {
+			throw new IOException("Archive invalide : fichier de blocs inconnu");
+		}
+		packEnd = chunkCount == 0 ? 0 : offsets[chunkCount - 1] + lengths[chunkCount - 1];
+		return valid;
+	}
+
+	private void openPack() throws IOException {
+		pack = FileChannel.open(new File(dir, packName).toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+	}
+
+	private static DataOutputStream openLog(File file, boolean append) throws IOException {
+		OutputStream out = new FileOutputStream(file, append);
+		return new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		writeVarLong(out, value & 0xFFFFFFFFL);
+	}
+
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		return (int) readVarLong(in);
+	}
+
+	private static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
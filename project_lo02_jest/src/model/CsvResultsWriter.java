@@ -0,0 +1,99 @@
+package model;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Écriture des résultats de parties au format CSV, une ligne par partie. Les
+ * colonnes par place (stratégie, score) et par trophée (type, propriétaire)
+ * sont toujours présentes ; elles restent vides lorsque la place ou le trophée
+ * n'existe pas. Les lignes sont accumulées dans un grand tampon et écrites par
+ * blocs.
+ *
+ * @see model.ColumnarResultsWriter
+ */
+public class CsvResultsWriter implements ResultsWriter {
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private Writer out;
+	private StringBuilder line;
+
+	/**
+	 * Ouvre un fichier CSV de résultats et écrit la ligne d'en-tête.
+	 *
+	 * @param file le fichier à créer (écrasé s'il existe)
+	 * @throws IOException si le fichier ne peut pas être créé
+	 */
+	public CsvResultsWriter(File file) throws IOException {
+		this.out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8),
+				BUFFER_SIZE);
+		this.line = new StringBuilder(128);
+
+		line.append("seed,mode,extension,rounds,players");
+		for (int i = 1; i <= GameResult.MAX_PLAYERS; i++) {
+			line.append(",strategy").append(i);
+		}
+		for (int i = 1; i <= GameResult.MAX_PLAYERS; i++) {
+			line.append(",score").append(i);
+		}
+		for (int i = 1; i <= GameResult.MAX_TROPHIES; i++) {
+			line.append(",trophy").append(i).append(",trophy").append(i).append("_owner");
+		}
+		line.append('\n');
+		out.append(line);
+	}
+
+	@Override
+	public synchronized void write(GameResult result) throws IOException {
+		line.setLength(0);
+		line.append(result.getSeed()).append(',').append(result.getMode()).append(',')
+				.append(result.isExtensionActive() ? 1 : 0).append(',').append(result.getRounds()).append(',')
+				.append(result.getNbPlayers());
+
+		String[] strategies = result.getStrategyTypes();
+		int[] scores = result.getScores();
+		for (int i = 0; i < GameResult.MAX_PLAYERS; i++) {
+			line.append(',');
+			if (i < strategies.length && strategies[i] != null) {
+				line.append(strategies[i]);
+			}
+		}
+		for (int i = 0; i < GameResult.MAX_PLAYERS; i++) {
+			line.append(',');
+			if (i < scores.length) {
+				line.append(scores[i]);
+			}
+		}
+
+		TrophyType[] types = result.getTrophyTypes();
+		int[] owners = result.getTrophyOwners();
+		for (int i = 0; i < GameResult.MAX_TROPHIES; i++) {
+			line.append(',');
+			if (i < types.length) {
+				line.append(types[i]);
+			}
+			line.append(',');
+			if (i < types.length && owners[i] >= 0) {
+				line.append(owners[i]);
+			}
+		}
+		line.append('\n');
+		out.append(line);
+	}
+
+	@Override
+	public synchronized void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		out.close();
+	}
+}
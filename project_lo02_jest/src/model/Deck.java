@@ -3,6 +3,7 @@ package model;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Représente le paquet de cartes du jeu Jest. Gère la création, le mélange et
@@ -29,6 +30,18 @@ public class Deck {
 	 * @param extensionActive true pour inclure les cartes d'extension, false sinon
 	 */
 	public void initStandardDeck(boolean extensionActive) {
+		initStandardDeck(extensionActive, new Random());
+	}
+
+	/**
+	 * Initialise le paquet standard en le mélangeant avec le générateur fourni.
+	 * Un générateur initialisé avec une graine connue produit toujours le même
+	 * ordre de cartes, ce qui permet de rejouer une partie à l'identique.
+	 * 
+	 * @param extensionActive true pour inclure les cartes d'extension, false sinon
+	 * @param random          le générateur utilisé pour le mélange
+	 */
+	public void initStandardDeck(boolean extensionActive, Random random) {
 		cards.clear();
 		// génération des 16 cartes normales : 4 couleurs x valeurs de 1 à 4
 		for (int v = 1; v <= 4; v++) {
@@ -51,14 +64,16 @@ public class Deck {
 
 		// mélange du paquet
 
-		shuffle();
+		shuffle(random);
 	}
 
 	/**
 	 * Mélange aléatoirement les cartes du paquet.
+	 * 
+	 * @param random le générateur utilisé pour le mélange
 	 */
-	private void shuffle() {
-		Collections.shuffle(cards);
+	private void shuffle(Random random) {
+		Collections.shuffle(cards, random);
 	}
 
 	/**
@@ -0,0 +1,126 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Stratégie d'un joueur dont les décisions arrivent de l'extérieur (humain
+ * distant, bot hors processus), pour une partie menée pas à pas par
+ * {@code GameController.step()}.
+ * <p>
+ * Les décisions sont déposées par {@code GameController.submitDecision} puis
+ * consommées dans l'ordre. Quand le contrôleur demande une décision qui n'est
+ * pas encore arrivée, la stratégie lève {@link DecisionPending} au lieu
+ * d'attendre : le contrôleur rend alors la main, sans qu'aucun thread ne reste
+ * bloqué pour cette partie.
+ * </p>
+ * <p>
+ * Les codes de décision sont ceux de {@link GameReplay} : 1 ou 2 pour la carte
+ * à cacher, l'index (à partir de 1) de l'offre visée, 1 pour la carte visible
+ * et 2 pour la carte cachée.
+ * </p>
+ */
+public class ExternalStrategy implements Strategy {
+
+	/**
+	 * Signale qu'une décision est attendue. Sans pile d'appels : elle ne sert
+	 * qu'à remonter jusqu'au contrôleur.
+	 */
+	public static final class DecisionPending extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private DecisionPending() {
+			super("Décision attendue", null, false, false);
+		}
+	}
+
+	private static final DecisionPending PENDING = new DecisionPending();
+
+	private final Queue<Integer> moves;
+
+	/**
+	 * Construit une stratégie sans décision en attente.
+	 */
+	public ExternalStrategy() {
+		this.moves = new ArrayDeque<>();
+	}
+
+	/**
+	 * Dépose une décision, consommée à la prochaine demande du contrôleur.
+	 *
+	 * @param move le code de décision
+	 */
+	public void submit(int move) {
+		moves.add(move);
+	}
+
+	/**
+	 * Indique si une décision déposée n'a pas encore été consommée.
+	 *
+	 * @return true si une décision est disponible
+	 */
+	public boolean hasMove() {
+		return !moves.isEmpty();
+	}
+
+	/**
+	 * Retourne les décisions déposées et pas encore consommées, dans l'ordre.
+	 *
+	 * @return une copie des décisions en attente
+	 */
+	public List<Integer> getPendingMoves() {
+		return new ArrayList<>(moves);
+	}
+
+	private int nextMove() {
+		Integer move = moves.poll();
+		if (move == null) {
+			throw PENDING;
+		}
+		return move;
+	}
+
+	@Override
+	public Offer performOffer(int i, Player p) {
+		if (i == 2) {
+			return new Offer(p.getHand().get(0), p.getHand().get(1), p);
+		}
+		return new Offer(p.getHand().get(1), p.getHand().get(0), p);
+	}
+
+	@Override
+	public Offer offer(Player p) {
+		return performOffer(nextMove(), p);
+	}
+
+	@Override
+	public Player chooseTarget(Player p, List<Offer> available) {
+		int index = nextMove();
+		if (index < 1 || index > available.size()) {
+			return null;
+		}
+		return available.get(index - 1).getOwner();
+	}
+
+	@Override
+	public Card choose(Player current, Offer o, List<Card> stack) {
+		int choice = nextMove();
+
+		// Une décision invalide prend la carte restante plutôt que rien
+		if ((choice == 2 && o.getHiddenCard() != null) || o.getVisibleCard() == null) {
+			Card c = o.getHiddenCard();
+			o.removeHiddenCard();
+			return c;
+		}
+		Card c = o.getVisibleCard();
+		o.removeVisibleCard();
+		return c;
+	}
+
+	@Override
+	public void displayHand(Player p) {
+		// Le joueur reçoit l'état par les observateurs du contrôleur
+	}
+}
@@ -0,0 +1,137 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pendule d'une partie, à la manière des échecs : chaque joueur dispose d'une
+ * réserve de temps pour toute la partie, et chaque coup est en outre limité.
+ * Le temps passé sur un coup est décompté de la réserve du joueur.
+ * <p>
+ * Les échéances sont confiées à une {@link TimingWheel} partagée : une partie
+ * en attente d'une décision n'occupe aucun thread pour son délai. À
+ * l'échéance, l'action de repli fournie au démarrage du coup est exécutée
+ * (réponse par défaut, coup d'un bot).
+ * </p>
+ */
+public class GameClock {
+
+	private final TimingWheel wheel;
+	private final long turnNanos;
+	private final long[] remaining;
+
+	// Coup en cours : joueur, début et échéance
+	private int running;
+	private long startedAt;
+	private TimingWheel.Timeout timeout;
+
+	/**
+	 * Construit une pendule arrêtée.
+	 *
+	 * @param wheel     la roue qui gère les échéances
+	 * @param nbPlayers le nombre de joueurs
+	 * @param turnLimit le délai d'un coup (0 pour aucune limite)
+	 * @param gameLimit la réserve de chaque joueur pour la partie (0 pour
+	 *                  aucune limite)
+	 * @param unit      l'unité des délais
+	 */
+	public GameClock(TimingWheel wheel, int nbPlayers, long turnLimit, long gameLimit, TimeUnit unit) {
+		this.wheel = wheel;
+		this.turnNanos = turnLimit > 0 ? unit.toNanos(turnLimit) : Long.MAX_VALUE;
+		this.remaining = new long[nbPlayers];
+		Arrays.fill(remaining, gameLimit > 0 ? unit.toNanos(gameLimit) : Long.MAX_VALUE);
+		this.running = -1;
+	}
+
+	/**
+	 * Démarre le coup d'un joueur. Un coup précédent encore en cours est arrêté.
+	 * <p>
+	 * L'action de repli s'exécute dans le thread de la roue, sous le verrou de
+	 * la pendule : {@link #stop()} attend donc qu'elle soit terminée, et aucune
+	 * action d'un coup arrêté ne peut s'exécuter après lui. Elle doit être
+	 * brève.
+	 * </p>
+	 *
+	 * @param player   la place du joueur
+	 * @param onExpire l'action de repli si le joueur dépasse son délai
+	 */
+	public synchronized void start(int player, Runnable onExpire) {
+		stop();
+		running = player;
+		startedAt = System.nanoTime();
+		long delay = Math.max(0, Math.min(turnNanos, remaining[player]));
+		if (delay == Long.MAX_VALUE) {
+			return;
+		}
+		timeout = wheel.schedule(() -> expire(player, onExpire), delay, TimeUnit.NANOSECONDS);
+	}
+
+	private synchronized void expire(int player, Runnable onExpire) {
+		if (running != player || timeout == null || !timeout.isExpired()) {
+			return;
+		}
+		stop();
+		onExpire.run();
+	}
+
+	/**
+	 * Arrête le coup en cours et décompte le temps passé de la réserve du
+	 * joueur.
+	 *
+	 * @return le temps passé sur le coup, en nanosecondes (0 si aucun coup
+	 *         n'était en cours)
+	 */
+	public synchronized long stop() {
+		if (running < 0) {
+			return 0;
+		}
+		if (timeout != null) {
+			timeout.cancel();
+			timeout = null;
+		}
+		long elapsed = System.nanoTime() - startedAt;
+		if (remaining[running] != Long.MAX_VALUE) {
+			remaining[running] = Math.max(0, remaining[running] - elapsed);
+		}
+		running = -1;
+		return elapsed;
+	}
+
+	/**
+	 * Retourne la réserve d'un joueur, coup en cours compris.
+	 *
+	 * @param player la place du joueur
+	 * @param unit   l'unité du résultat
+	 * @return le temps restant, ou {@code Long.MAX_VALUE} sans limite
+	 */
+	public synchronized long getRemaining(int player, TimeUnit unit) {
+		long left = remaining[player];
+		if (left == Long.MAX_VALUE) {
+			return left;
+		}
+		if (running == player) {
+			left = Math.max(0, left - (System.nanoTime() - startedAt));
+		}
+		return unit.convert(left, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Indique si un joueur a épuisé sa réserve : ses coups suivants sont joués
+	 * par l'action de repli dès le prochain top.
+	 *
+	 * @param player la place du joueur
+	 * @return true si la réserve est vide
+	 */
+	public synchronized boolean isFlagged(int player) {
+		return remaining[player] == 0;
+	}
+
+	/**
+	 * Retourne le joueur dont le coup est en cours.
+	 *
+	 * @return la place du joueur, ou -1
+	 */
+	public synchronized int getRunningPlayer() {
+		return running;
+	}
+}
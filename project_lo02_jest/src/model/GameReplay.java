@@ -0,0 +1,341 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Enregistrement déterministe d'une partie de Jest. Contient la graine du
+ * mélange, la configuration des joueurs et la liste ordonnée des codes de
+ * décision. Ces informations suffisent à rejouer la partie à l'identique, pour
+ * un coût de quelques dizaines d'octets contre plusieurs kilo-octets pour un
+ * {@link GameState} complet.
+ * <p>
+ * Les codes de décision sont ceux des stratégies : 1 ou 2 pour une offre ou un
+ * choix de carte, l'index (1-based) de l'offre visée pour un choix de cible, 0
+ * lorsque la stratégie n'a rien retourné. Chaque code tient sur 2 bits.
+ * </p>
+ *
+ * @see model.ReplayStrategy
+ * @see controller.ReplayEngine
+ */
+public class GameReplay {
+
+	private static final int MAGIC = 0x4A52; // "JR"
+	private static final int VERSION = 1;
+
+	/** Nombre de décisions par bloc archivé (16 octets). */
+	public static final int CHUNK_DECISIONS = 64;
+
+	/** Types de stratégie, dans l'ordre de leur code binaire. */
+	private static final String[] STRATEGY_TYPES = { "REAL", "RANDOM", "CHEATER", "EXTERNAL" };
+
+	private long seed;
+	private int mode;
+	private boolean extensionActive;
+	private List<String> playerNames;
+	private List<String> strategyTypes;
+
+	// Codes de décision (2 bits chacun, 4 par octet)
+	private byte[] decisions;
+	private int decisionCount;
+
+	/**
+	 * Construit un enregistrement vide pour une configuration de partie.
+	 *
+	 * @param seed            la graine utilisée pour les mélanges
+	 * @param mode            le mode de jeu
+	 * @param extensionActive true si l'extension est activée
+	 */
+	public GameReplay(long seed, int mode, boolean extensionActive) {
+		this.seed = seed;
+		this.mode = mode;
+		this.extensionActive = extensionActive;
+		this.playerNames = new ArrayList<>();
+		this.strategyTypes = new ArrayList<>();
+		this.decisions = new byte[16];
+		this.decisionCount = 0;
+	}
+
+	/**
+	 * Ajoute un joueur à la configuration, dans l'ordre des places.
+	 *
+	 * @param name         le nom du joueur
+	 * @param strategyType le type de stratégie ("REAL", "RANDOM", "CHEATER" ou
+	 *                     "EXTERNAL")
+	 */
+	public void addPlayer(String name, String strategyType) {
+		playerNames.add(name);
+		strategyTypes.add(strategyType);
+	}
+
+	/**
+	 * Ajoute un code de décision à la fin de l'enregistrement.
+	 *
+	 * @param code le code de décision (0 à 3)
+	 */
+	public void addDecision(int code) {
+		if (code < 0 || code > 3) {
+			throw new IllegalArgumentException("Code de décision invalide : " + code);
+		}
+		if ((decisionCount >> 2) >= decisions.length) {
+			decisions = Arrays.copyOf(decisions, decisions.length * 2);
+		}
+		int shift = (decisionCount & 3) * 2;
+		decisions[decisionCount >> 2] |= (byte) (code << shift);
+		decisionCount++;
+	}
+
+	/**
+	 * Retourne le code de la décision d'index donné.
+	 *
+	 * @param index l'index de la décision (0-based)
+	 * @return le code de décision
+	 */
+	public int getDecision(int index) {
+		if (index < 0 || index >= decisionCount) {
+			throw new IndexOutOfBoundsException("Décision " + index + " absente (" + decisionCount + " décisions)");
+		}
+		int shift = (index & 3) * 2;
+		return (decisions[index >> 2] >> shift) & 3;
+	}
+
+	/**
+	 * Retire les décisions au-delà d'un index, par exemple après une annulation.
+	 *
+	 * @param count le nombre de décisions à conserver
+	 */
+	public void truncate(int count) {
+		if (count < 0 || count > decisionCount) {
+			return;
+		}
+		for (int i = count; i < decisionCount; i++) {
+			int shift = (i & 3) * 2;
+			decisions[i >> 2] &= (byte) ~(3 << shift);
+		}
+		decisionCount = count;
+	}
+
+	public int getDecisionCount() {
+		return decisionCount;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getMode() {
+		return mode;
+	}
+
+	public boolean isExtensionActive() {
+		return extensionActive;
+	}
+
+	public List<String> getPlayerNames() {
+		return playerNames;
+	}
+
+	public List<String> getStrategyTypes() {
+		return strategyTypes;
+	}
+
+	// === FORMAT BINAIRE ===
+
+	/**
+	 * Encode l'enregistrement dans son format binaire compact.
+	 *
+	 * @return les octets de l'enregistrement
+	 */
+	public byte[] toBytes() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			writeHeader(out);
+			writeVarInt(out, decisionCount);
+			out.write(decisions, 0, (decisionCount + 3) >> 2);
+		} catch (IOException e) {
+			// Impossible avec un ByteArrayOutputStream
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Décode un enregistrement depuis son format binaire.
+	 *
+	 * @param data les octets de l'enregistrement
+	 * @return l'enregistrement décodé
+	 * @throws IOException si les données ne sont pas un enregistrement valide
+	 */
+	public static GameReplay fromBytes(byte[] data) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+			GameReplay replay = readHeader(in);
+			int count = readVarInt(in);
+			// Un compte corrompu ne doit pas faire allouer un tableau démesuré
+			if (count < 0 || ((long) count + 3) >> 2 > in.available()) {
+				throw new IOException("Replay tronqué ou invalide : " + count + " décisions annoncées");
+			}
+			byte[] packed = new byte[Math.max(16, (count + 3) >> 2)];
+			in.readFully(packed, 0, (count + 3) >> 2);
+			replay.decisions = packed;
+			replay.decisionCount = count;
+			return replay;
+		}
+	}
+
+	/**
+	 * Découpe l'enregistrement en blocs alignés sur les décisions, pour
+	 * l'archivage dans un {@link ContentStore} : la configuration, puis des blocs
+	 * de {@link #CHUNK_DECISIONS} décisions, puis un dernier bloc contenant le
+	 * nombre total de décisions et le reste. Deux parties de même configuration
+	 * qui ne divergent que tardivement partagent ainsi leurs premiers blocs.
+	 *
+	 * @return les blocs de l'enregistrement
+	 */
+	public List<byte[]> toChunks() {
+		List<byte[]> chunks = new ArrayList<>();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			writeHeader(out);
+			out.flush();
+			chunks.add(bytes.toByteArray());
+
+			int chunkBytes = CHUNK_DECISIONS >> 2;
+			int fullChunks = decisionCount / CHUNK_DECISIONS;
+			for (int i = 0; i < fullChunks; i++) {
+				chunks.add(Arrays.copyOfRange(decisions, i * chunkBytes, (i + 1) * chunkBytes));
+			}
+
+			bytes.reset();
+			writeVarInt(out, decisionCount);
+			out.write(decisions, fullChunks * chunkBytes, ((decisionCount + 3) >> 2) - fullChunks * chunkBytes);
+			out.flush();
+			chunks.add(bytes.toByteArray());
+		} catch (IOException e) {
+			// Impossible avec un ByteArrayOutputStream
+			throw new IllegalStateException(e);
+		}
+		return chunks;
+	}
+
+	/**
+	 * Reconstruit un enregistrement depuis les blocs produits par
+	 * {@link #toChunks()}.
+	 *
+	 * @param chunks les blocs de l'enregistrement, dans l'ordre
+	 * @return l'enregistrement reconstruit
+	 * @throws IOException si les blocs ne forment pas un enregistrement valide
+	 */
+	public static GameReplay fromChunks(List<byte[]> chunks) throws IOException {
+		if (chunks.size() < 2) {
+			throw new IOException("Replay archivé incomplet");
+		}
+		GameReplay replay;
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(chunks.get(0)))) {
+			replay = readHeader(in);
+		}
+
+		ByteArrayOutputStream packed = new ByteArrayOutputStream();
+		for (int i = 1; i < chunks.size() - 1; i++) {
+			packed.write(chunks.get(i));
+		}
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(chunks.get(chunks.size() - 1)))) {
+			int count = readVarInt(in);
+			in.transferTo(packed);
+			if (count < 0 || packed.size() != ((long) count + 3) >> 2) {
+				throw new IOException("Replay archivé invalide");
+			}
+			replay.decisions = Arrays.copyOf(packed.toByteArray(), Math.max(16, packed.size()));
+			replay.decisionCount = count;
+		}
+		return replay;
+	}
+
+	private void writeHeader(DataOutputStream out) throws IOException {
+		out.writeShort(MAGIC);
+		out.writeByte(VERSION);
+		out.writeLong(seed);
+		out.writeByte(mode);
+		out.writeByte(extensionActive ? 1 : 0);
+		out.writeByte(playerNames.size());
+		for (int i = 0; i < playerNames.size(); i++) {
+			out.writeByte(strategyCode(strategyTypes.get(i)));
+			out.writeUTF(playerNames.get(i));
+		}
+	}
+
+	private static GameReplay readHeader(DataInputStream in) throws IOException {
+		if (in.readUnsignedShort() != MAGIC) {
+			throw new IOException("Fichier de replay invalide");
+		}
+		int version = in.readUnsignedByte();
+		if (version != VERSION) {
+			throw new IOException("Version de replay non supportée : " + version);
+		}
+		GameReplay replay = new GameReplay(in.readLong(), in.readUnsignedByte(), in.readUnsignedByte() != 0);
+		int nbPlayers = in.readUnsignedByte();
+		for (int i = 0; i < nbPlayers; i++) {
+			String type = strategyType(in.readUnsignedByte());
+			replay.addPlayer(in.readUTF(), type);
+		}
+		return replay;
+	}
+
+	/**
+	 * Retourne le code binaire d'un type de stratégie.
+	 *
+	 * @param type le type de stratégie ("REAL", "RANDOM", "CHEATER" ou "EXTERNAL")
+	 * @return le code du type, ou 4 s'il n'est pas reconnu
+	 */
+	static int strategyCode(String type) {
+		for (int i = 0; i < STRATEGY_TYPES.length; i++) {
+			if (STRATEGY_TYPES[i].equals(type)) {
+				return i;
+			}
+		}
+		return STRATEGY_TYPES.length;
+	}
+
+	/**
+	 * Retourne le type de stratégie correspondant à un code binaire.
+	 *
+	 * @param code le code du type
+	 * @return le type de stratégie, ou null si le code n'est pas reconnu
+	 */
+	static String strategyType(int code) {
+		return code < STRATEGY_TYPES.length ? STRATEGY_TYPES[code] : null;
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			if (shift > 28) {
+				throw new IOException("Entier variable trop long");
+			}
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return "Replay [seed=" + seed + ", joueurs=" + playerNames + ", décisions=" + decisionCount + "]";
+	}
+}
@@ -0,0 +1,96 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Résultat d'une partie terminée, destiné à l'export des simulations. Contient
+ * la graine, la configuration (stratégie de chaque place, mode, extension), le
+ * score de chaque joueur, les propriétaires des trophées et le nombre de rounds
+ * joués. Les joueurs sont identifiés par leur place (index 0-based).
+ *
+ * @see model.ResultsWriter
+ */
+public class GameResult {
+
+	/** Nombre maximum de joueurs dans une partie. */
+	public static final int MAX_PLAYERS = 4;
+
+	/** Nombre maximum de trophées dans une partie. */
+	public static final int MAX_TROPHIES = 2;
+
+	private long seed;
+	private int mode;
+	private boolean extensionActive;
+	private int rounds;
+	private String[] strategyTypes;
+	private int[] scores;
+	private TrophyType[] trophyTypes;
+	private int[] trophyOwners;
+
+	/**
+	 * Construit le résultat d'une partie.
+	 *
+	 * @param seed            la graine de la partie
+	 * @param mode            le mode de jeu
+	 * @param extensionActive true si l'extension était activée
+	 * @param rounds          le nombre de rounds joués
+	 * @param strategyTypes   le type de stratégie de chaque place
+	 * @param scores          le score de chaque place
+	 * @param trophyTypes     le type de chaque trophée
+	 * @param trophyOwners    la place du propriétaire de chaque trophée (-1 si non
+	 *                        attribué)
+	 */
+	public GameResult(long seed, int mode, boolean extensionActive, int rounds, String[] strategyTypes, int[] scores,
+			TrophyType[] trophyTypes, int[] trophyOwners) {
+		this.seed = seed;
+		this.mode = mode;
+		this.extensionActive = extensionActive;
+		this.rounds = rounds;
+		this.strategyTypes = strategyTypes;
+		this.scores = scores;
+		this.trophyTypes = trophyTypes;
+		this.trophyOwners = trophyOwners;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getMode() {
+		return mode;
+	}
+
+	public boolean isExtensionActive() {
+		return extensionActive;
+	}
+
+	public int getRounds() {
+		return rounds;
+	}
+
+	public int getNbPlayers() {
+		return scores.length;
+	}
+
+	public String[] getStrategyTypes() {
+		return strategyTypes;
+	}
+
+	public int[] getScores() {
+		return scores;
+	}
+
+	public TrophyType[] getTrophyTypes() {
+		return trophyTypes;
+	}
+
+	public int[] getTrophyOwners() {
+		return trophyOwners;
+	}
+
+	@Override
+	public String toString() {
+		return "GameResult [seed=" + seed + ", stratégies=" + Arrays.toString(strategyTypes) + ", scores="
+				+ Arrays.toString(scores) + ", rounds=" + rounds + "]";
+	}
+}
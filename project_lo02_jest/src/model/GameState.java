@@ -20,6 +20,8 @@ public class GameState implements Serializable {
 	// Index du joueur courant (pour UI)
 	private int currentPlayerIndex = -1;
 	private int currentRound = 0;
+	// Graine des mélanges (0 pour les sauvegardes antérieures)
+	private long seed;
 
 	// État des joueurs
 	private List<PlayerState> playerStates;
@@ -170,6 +172,14 @@ public class GameState implements Serializable {
 		this.currentRound = currentRound;
 	}
 
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
 	/**
 	 * Représente l'état d'un joueur pour la sérialisation. Contient le nom, le type
 	 * de stratégie, la main, le Jest et l'état de jeu.
@@ -0,0 +1,293 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Source unique des saisies des joueurs humains en mode console
+ * ({@link RealPlayer}, et {@link InteractivePlayerStrategy} au travers de la
+ * vue console) : clavier, fichier de script, tube, ou file en mémoire
+ * alimentée par un programme.
+ * <p>
+ * Un flux est lu par un seul {@link BufferedReader}, dans une tâche de
+ * {@link ThreadManager} qui dépose les lignes dans une file bornée. Les
+ * lecteurs prennent les lignes dans cette file : une demande annulée pendant
+ * son attente ne consomme aucune ligne, et plusieurs vues ou joueurs peuvent
+ * se partager la même entrée sans se voler de saisies.
+ * </p>
+ * <p>
+ * Une ligne mal formée (pas un nombre, ou hors des bornes attendues) est
+ * signalée puis ignorée, et la lecture passe à la suivante : une erreur dans
+ * un script ne bloque jamais la partie. À la fin de l'entrée, les lectures
+ * rendent immédiatement la valeur par défaut demandée.
+ * </p>
+ */
+public class InputDriver {
+
+	/** Nombre de lignes lues d'avance dans un flux. */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	// Marqueur de fin d'entrée dans la file (comparé par identité)
+	private static final String END = new String("<fin>");
+
+	private static InputDriver standard;
+
+	private final BlockingQueue<String> lines;
+	private final BufferedReader reader;
+	private final boolean interactive;
+	private final AtomicBoolean pumping;
+	private final AtomicLong malformed;
+	private volatile boolean ended;
+	private volatile Consumer<String> errorHandler;
+
+	private InputDriver(BufferedReader reader, boolean interactive, int capacity) {
+		this.reader = reader;
+		this.interactive = interactive;
+		this.lines = new LinkedBlockingQueue<>(capacity);
+		this.pumping = new AtomicBoolean();
+		this.malformed = new AtomicLong();
+		this.errorHandler = message -> System.err.println("⚠️ " + message);
+	}
+
+	// === SOURCES ===
+
+	/**
+	 * Retourne la source partagée de l'entrée standard, créée au premier appel.
+	 * Elle est considérée comme un clavier si la JVM est attachée à un
+	 * terminal, et comme un script sinon (tube ou fichier redirigé) : voir
+	 * {@link Terminal#isTerminal()}, que la propriété {@value Terminal#PROPERTY}
+	 * peut forcer.
+	 *
+	 * @return la source de l'entrée standard
+	 */
+	public static synchronized InputDriver getStandard() {
+		if (standard == null) {
+			standard = new InputDriver(new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset())),
+					Terminal.isTerminal(), DEFAULT_CAPACITY);
+		}
+		return standard;
+	}
+
+	/**
+	 * Crée une source qui lit un flux (tube, socket, ressource...).
+	 *
+	 * @param in le flux, lu jusqu'à sa fin
+	 * @return la source, non interactive
+	 */
+	public static InputDriver fromStream(InputStream in) {
+		return fromReader(new InputStreamReader(in, Charset.defaultCharset()));
+	}
+
+	/**
+	 * Crée une source qui lit un texte.
+	 *
+	 * @param in le texte, lu jusqu'à sa fin
+	 * @return la source, non interactive
+	 */
+	public static InputDriver fromReader(Reader in) {
+		BufferedReader reader = in instanceof BufferedReader b ? b : new BufferedReader(in);
+		return new InputDriver(reader, false, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Crée une source qui lit un fichier de script, une saisie par ligne.
+	 *
+	 * @param script le fichier
+	 * @return la source, non interactive
+	 * @throws IOException si le fichier ne peut pas être ouvert
+	 */
+	public static InputDriver fromFile(Path script) throws IOException {
+		return new InputDriver(Files.newBufferedReader(script, Charset.defaultCharset()), false, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Crée une source en mémoire, alimentée par {@link #offer(String)} et
+	 * terminée par {@link #end()}.
+	 *
+	 * @return la source, vide et non interactive
+	 */
+	public static InputDriver inMemory() {
+		return new InputDriver(null, false, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Ajoute une ligne à une source en mémoire.
+	 *
+	 * @param line la ligne saisie
+	 * @throws IllegalStateException si la source lit un flux, ou est terminée
+	 */
+	public void offer(String line) {
+		if (reader != null || ended) {
+			throw new IllegalStateException("Source fermée ou alimentée par un flux");
+		}
+		lines.offer(line);
+	}
+
+	/**
+	 * Termine une source en mémoire : une fois les lignes en attente lues, les
+	 * lectures rendent leur valeur par défaut sans attendre.
+	 */
+	public void end() {
+		if (reader == null && !ended) {
+			ended = true;
+			lines.offer(END);
+		}
+	}
+
+	/**
+	 * Redirige les signalements d'entrées mal formées (par défaut vers la sortie
+	 * d'erreur).
+	 *
+	 * @param handler reçoit le message de chaque signalement
+	 */
+	public void setErrorHandler(Consumer<String> handler) {
+		this.errorHandler = handler;
+	}
+
+	// === LECTURE ===
+
+	/**
+	 * Attend la prochaine ligne.
+	 *
+	 * @return la ligne, ou null à la fin de l'entrée
+	 * @throws InterruptedException si l'attente est interrompue ; aucune ligne
+	 *                              n'est alors consommée
+	 */
+	public String nextLine() throws InterruptedException {
+		if (reader != null && !ended && pumping.compareAndSet(false, true)) {
+			ThreadManager.submit(this::pump);
+		}
+		String line = lines.take();
+		if (line == END) {
+			// Laissé en place pour les lecteurs suivants
+			lines.offer(END);
+			return null;
+		}
+		return line;
+	}
+
+	/**
+	 * Lit un entier, en ignorant les lignes vides et en signalant les lignes
+	 * mal formées.
+	 *
+	 * @param defaultValue la valeur rendue à la fin de l'entrée
+	 * @return l'entier lu
+	 * @throws InterruptedException si l'attente est interrompue
+	 */
+	public int nextInt(int defaultValue) throws InterruptedException {
+		return nextChoice(Integer.MIN_VALUE, Integer.MAX_VALUE, defaultValue);
+	}
+
+	/**
+	 * Lit un choix entre deux bornes, en ignorant les lignes vides et en
+	 * signalant les lignes mal formées ou hors bornes.
+	 *
+	 * @param min          le plus petit choix accepté
+	 * @param max          le plus grand choix accepté
+	 * @param defaultValue la valeur rendue à la fin de l'entrée
+	 * @return le choix lu
+	 * @throws InterruptedException si l'attente est interrompue
+	 */
+	public int nextChoice(int min, int max, int defaultValue) throws InterruptedException {
+		while (true) {
+			String line = nextLine();
+			if (line == null) {
+				return defaultValue;
+			}
+			line = line.trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+			try {
+				int value = Integer.parseInt(line);
+				if (value >= min && value <= max) {
+					return value;
+				}
+			} catch (NumberFormatException e) {
+				// Signalé ci-dessous
+			}
+			reportMalformed(line, min == Integer.MIN_VALUE ? "un nombre" : "un nombre entre " + min + " et " + max);
+		}
+	}
+
+	/**
+	 * Signale une saisie refusée par l'appelant, puis passe à la suivante.
+	 *
+	 * @param line     la saisie refusée
+	 * @param expected la description de la saisie attendue
+	 */
+	public void reportMalformed(String line, String expected) {
+		malformed.incrementAndGet();
+		report("Saisie ignorée « " + line + " » : " + expected + " attendu");
+	}
+
+	/**
+	 * Oublie les lignes tapées au clavier avant une question, pour qu'une
+	 * frappe en avance ne réponde pas à sa place. Sans effet sur un script,
+	 * dont les lignes sont les réponses.
+	 */
+	public void discardPending() {
+		if (interactive) {
+			lines.removeIf(line -> line != END);
+		}
+	}
+
+	/**
+	 * Lit le flux jusqu'à sa fin. La file bornée retient la lecture quand les
+	 * joueurs ne suivent pas.
+	 */
+	private void pump() {
+		try {
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					lines.put(line);
+				}
+			} catch (IOException e) {
+				report("Lecture des saisies interrompue : " + e.getMessage());
+			}
+			lines.put(END);
+			ended = true;
+		} catch (InterruptedException e) {
+			// Exécuteur arrêté : la lecture reprendra à la prochaine demande
+			Thread.currentThread().interrupt();
+			pumping.set(false);
+		}
+	}
+
+	private void report(String message) {
+		Consumer<String> handler = errorHandler;
+		if (handler != null) {
+			handler.accept(message);
+		}
+	}
+
+	/**
+	 * Indique si la source est un clavier plutôt qu'un script.
+	 *
+	 * @return true pour une saisie au clavier
+	 */
+	public boolean isInteractive() {
+		return interactive;
+	}
+
+	/**
+	 * Retourne le nombre de saisies mal formées signalées.
+	 *
+	 * @return le nombre de lignes ignorées
+	 */
+	public long getMalformedCount() {
+		return malformed.get();
+	}
+}
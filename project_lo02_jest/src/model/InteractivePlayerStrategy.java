@@ -1,22 +1,22 @@
 package model;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import view.GameViewInterface;
 
 /**
  * Stratégie pour un joueur humain interactif avec support multi-vues. Permet de
- * gérer simultanément une vue console et une vue GUI. Utilise une file
- * d'attente bloquante pour recevoir les réponses des vues.
+ * gérer simultanément une vue console et une vue GUI. Les demandes sont posées
+ * aux vues par un {@link PromptDispatcher} : la première réponse l'emporte, et
+ * les réponses tardives d'une autre vue sont ignorées.
  */
 public class InteractivePlayerStrategy implements Strategy {
 
 	private GameViewInterface primaryView;
 	private GameViewInterface secondaryView;
-	private BlockingQueue<Integer> responseQueue;
+	private final PromptDispatcher dispatcher;
 
 	/**
 	 * Construit une stratégie interactive avec une vue principale.
@@ -25,7 +25,7 @@ public class InteractivePlayerStrategy implements Strategy {
 	 */
 	public InteractivePlayerStrategy(GameViewInterface primaryView) {
 		this.primaryView = primaryView;
-		this.responseQueue = new LinkedBlockingQueue<>();
+		this.dispatcher = new PromptDispatcher();
 	}
 
 	/**
@@ -48,13 +48,24 @@ public class InteractivePlayerStrategy implements Strategy {
 	}
 
 	/**
-	 * Reçoit une réponse depuis n'importe quelle vue active. Place la réponse dans
-	 * la file d'attente pour traitement.
+	 * Reçoit une réponse à la demande en cours depuis n'importe quelle vue active.
 	 * 
 	 * @param response la réponse fournie par une vue
 	 */
 	public void provideResponse(int response) {
-		responseQueue.offer(response);
+		dispatcher.answer(response);
+	}
+
+	/**
+	 * Reçoit la réponse d'une vue à une demande précise. Elle est ignorée si la
+	 * demande a déjà reçu une réponse ou a été abandonnée.
+	 * 
+	 * @param request  l'identifiant de la demande, lu par la vue avec
+	 *                 {@link PromptDispatcher#currentRequest()}
+	 * @param response la réponse fournie par la vue
+	 */
+	public void provideResponse(long request, int response) {
+		dispatcher.answer(request, response);
 	}
 
 	@Override
@@ -70,37 +81,13 @@ public class InteractivePlayerStrategy implements Strategy {
 	@Override
 	public Offer offer(Player p) {
 		displayHand(p);
-		responseQueue.clear();
-
-// Lancer les demandes dans les deux vues en parallèle
-		Thread t1 = new Thread(() -> primaryView.askForOffer(p));
-		t1.start();
-
-		if (secondaryView != null) {
-			Thread t2 = new Thread(() -> secondaryView.askForOffer(p));
-			t2.start();
-		}
-
-// Attendre la première réponse
-		int choice = waitForResponse();
+		int choice = askViews(view -> view.askForOffer(p));
 		return performOffer(choice, p);
 	}
 
 	@Override
 	public Player chooseTarget(Player p, List<Offer> available) {
-		responseQueue.clear();
-
-// Lancer les demandes dans les deux vues en parallèle
-		Thread t1 = new Thread(() -> primaryView.askForTarget(p, available));
-		t1.start();
-
-		if (secondaryView != null) {
-			Thread t2 = new Thread(() -> secondaryView.askForTarget(p, available));
-			t2.start();
-		}
-
-// Attendre la première réponse
-		int index = waitForResponse();
+		int index = askViews(view -> view.askForTarget(p, available));
 		if (index < 1 || index > available.size()) {
 			return null;
 		}
@@ -109,19 +96,7 @@ public class InteractivePlayerStrategy implements Strategy {
 
 	@Override
 	public Card choose(Player current, Offer o, List<Card> stack) {
-		responseQueue.clear();
-
-// Lancer les demandes dans les deux vues en parallèle
-		Thread t1 = new Thread(() -> primaryView.askForCard(current, o));
-		t1.start();
-
-		if (secondaryView != null) {
-			Thread t2 = new Thread(() -> secondaryView.askForCard(current, o));
-			t2.start();
-		}
-
-// Attendre la première réponse
-		int choice = waitForResponse();
+		int choice = askViews(view -> view.askForCard(current, o));
 
 		if (choice == 1 && o.getVisibleCard() != null) {
 			Card c = o.getVisibleCard();
@@ -136,14 +111,20 @@ public class InteractivePlayerStrategy implements Strategy {
 		return null;
 	}
 
-	private int waitForResponse() {
-		try {
-			Integer response = responseQueue.poll(60, TimeUnit.SECONDS);
-			return response != null ? response : 1;
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-			return 1;
+	/**
+	 * Pose une demande aux vues actives et attend la première réponse.
+	 *
+	 * @param prompt la demande à adresser à chaque vue
+	 * @return la première réponse reçue, ou 1 par défaut
+	 */
+	private int askViews(Consumer<GameViewInterface> prompt) {
+		List<GameViewInterface> views = new ArrayList<>(2);
+		views.add(primaryView);
+		GameViewInterface secondary = secondaryView;
+		if (secondary != null) {
+			views.add(secondary);
 		}
+		return dispatcher.ask(views, prompt, 1);
 	}
 
 	@Override
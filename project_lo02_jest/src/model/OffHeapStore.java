@@ -0,0 +1,214 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Stockage d'enregistrements binaires hors du tas Java, par exemple des
+ * parties mises en sommeil. Les enregistrements sont rangés les uns à la suite
+ * des autres dans des pages de {@link #PAGE_SIZE} octets, allouées en mémoire
+ * directe ou projetées depuis un fichier. Le ramasse-miettes ne voit que les
+ * pages, jamais les enregistrements.
+ * <p>
+ * Un enregistrement est désigné par un identifiant (sa position dans le
+ * stockage). Chaque enregistrement est précédé de sa longueur ; une page dont
+ * tous les enregistrements ont été libérés est réutilisée.
+ * </p>
+ */
+public class OffHeapStore implements Closeable {
+
+	/** Taille d'une page, et donc taille maximale d'un enregistrement. */
+	public static final int PAGE_SIZE = 1 << 20;
+
+	// Fichier projeté, ou null en mémoire directe
+	private final FileChannel channel;
+
+	private final List<ByteBuffer> pages;
+	private int[] liveRecords;
+	private final Deque<Integer> freePages;
+
+	// Page en cours de remplissage et position d'écriture
+	private int current;
+	private int top;
+
+	private int recordCount;
+	private long usedBytes;
+
+	/**
+	 * Construit un stockage en mémoire directe.
+	 */
+	public OffHeapStore() {
+		this.channel = null;
+		this.pages = new ArrayList<>();
+		this.liveRecords = new int[8];
+		this.freePages = new ArrayDeque<>();
+		this.current = -1;
+	}
+
+	/**
+	 * Construit un stockage projeté depuis un fichier, qui grandit d'une page à
+	 * la fois. Son contenu précédent est écrasé.
+	 *
+	 * @param file le fichier du stockage
+	 * @throws IOException si le fichier ne peut pas être ouvert
+	 */
+	public OffHeapStore(Path file) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.pages = new ArrayList<>();
+		this.liveRecords = new int[8];
+		this.freePages = new ArrayDeque<>();
+		this.current = -1;
+	}
+
+	/**
+	 * Copie un enregistrement dans le stockage.
+	 *
+	 * @param data les octets de l'enregistrement
+	 * @return l'identifiant de l'enregistrement
+	 * @throws IllegalArgumentException si l'enregistrement dépasse une page
+	 */
+	public synchronized long put(byte[] data) {
+		int need = Integer.BYTES + data.length;
+		if (need > PAGE_SIZE) {
+			throw new IllegalArgumentException("Enregistrement trop grand : " + data.length + " octets");
+		}
+		if (current < 0 || top + need > PAGE_SIZE) {
+			nextPage();
+		}
+		ByteBuffer page = pages.get(current);
+		page.putInt(top, data.length);
+		page.put(top + Integer.BYTES, data);
+
+		long handle = (long) current * PAGE_SIZE + top;
+		top += need;
+		liveRecords[current]++;
+		recordCount++;
+		usedBytes += need;
+		return handle;
+	}
+
+	/**
+	 * Relit un enregistrement.
+	 *
+	 * @param handle l'identifiant de l'enregistrement
+	 * @return une copie de ses octets
+	 * @throws IllegalArgumentException si l'enregistrement a été libéré
+	 */
+	public synchronized byte[] get(long handle) {
+		ByteBuffer page = pages.get((int) (handle / PAGE_SIZE));
+		int offset = (int) (handle % PAGE_SIZE);
+		int length = page.getInt(offset);
+		if (length < 0) {
+			throw new IllegalArgumentException("Enregistrement libéré : " + handle);
+		}
+		byte[] data = new byte[length];
+		page.get(offset + Integer.BYTES, data);
+		return data;
+	}
+
+	/**
+	 * Libère un enregistrement. Sa place est récupérée quand toute sa page est
+	 * libre.
+	 *
+	 * @param handle l'identifiant de l'enregistrement
+	 * @throws IllegalArgumentException si l'enregistrement a déjà été libéré
+	 */
+	public synchronized void free(long handle) {
+		int index = (int) (handle / PAGE_SIZE);
+		ByteBuffer page = pages.get(index);
+		int offset = (int) (handle % PAGE_SIZE);
+		int length = page.getInt(offset);
+		if (length < 0) {
+			throw new IllegalArgumentException("Enregistrement déjà libéré : " + handle);
+		}
+		page.putInt(offset, ~length);
+		recordCount--;
+		usedBytes -= Integer.BYTES + length;
+
+		if (--liveRecords[index] == 0) {
+			if (index == current) {
+				top = 0;
+			} else {
+				freePages.add(index);
+			}
+		}
+	}
+
+	/**
+	 * Passe à une page libre, ou en ajoute une.
+	 */
+	private void nextPage() {
+		if (current >= 0 && liveRecords[current] == 0) {
+			top = 0;
+			return;
+		}
+		Integer free = freePages.poll();
+		if (free != null) {
+			current = free;
+		} else {
+			pages.add(allocatePage(pages.size()));
+			current = pages.size() - 1;
+			if (current == liveRecords.length) {
+				liveRecords = Arrays.copyOf(liveRecords, current * 2);
+			}
+		}
+		top = 0;
+	}
+
+	private ByteBuffer allocatePage(int index) {
+		if (channel == null) {
+			return ByteBuffer.allocateDirect(PAGE_SIZE);
+		}
+		try {
+			return channel.map(FileChannel.MapMode.READ_WRITE, (long) index * PAGE_SIZE, PAGE_SIZE);
+		} catch (IOException e) {
+			throw new IllegalStateException("Impossible d'agrandir le stockage : " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Ferme le fichier projeté. Les pages restent lisibles jusqu'à ce que le
+	 * stockage ne soit plus référencé.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+		}
+	}
+
+	// === STATISTIQUES ===
+
+	public synchronized int getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Retourne la place occupée par les enregistrements, longueurs comprises.
+	 *
+	 * @return le nombre d'octets utilisés
+	 */
+	public synchronized long getUsedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 * Retourne la place réservée hors du tas, pages partiellement libres
+	 * comprises.
+	 *
+	 * @return le nombre d'octets réservés
+	 */
+	public synchronized long getReservedBytes() {
+		return (long) pages.size() * PAGE_SIZE;
+	}
+}
@@ -52,6 +52,19 @@ public class Offer {
 		return owner;
 	}
 
+	/**
+	 * Remplace le contenu de l'offre.
+	 * 
+	 * @param visible la carte face visible
+	 * @param hidden  la carte face cachée
+	 * @param owner   le joueur qui propose l'offre
+	 */
+	public void set(Card visible, Card hidden, Player owner) {
+		this.visible = visible;
+		this.hidden = hidden;
+		this.owner = owner;
+	}
+
 	/**
 	 * Retire la carte visible de l'offre (lorsqu'elle est choisie par un joueur).
 	 */
@@ -27,6 +27,37 @@ public class Player implements Visitable {
 		this.strategy = s;
 	}
 
+	/**
+	 * Crée une copie d'un joueur : même nom et même stratégie, avec ses propres
+	 * listes de cartes (les cartes elles-mêmes sont partagées).
+	 * 
+	 * @param player le joueur à copier
+	 */
+	public Player(Player player) {
+		copyFrom(player);
+	}
+
+	/**
+	 * Remplace l'état de ce joueur par celui d'un autre (nom, stratégie, main,
+	 * Jest et tour), en réutilisant les listes de ce joueur.
+	 * 
+	 * @param player le joueur à recopier
+	 */
+	public void copyFrom(Player player) {
+		this.name = player.name;
+		this.strategy = player.strategy;
+		this.hasPlayed = player.hasPlayed;
+		// Copie élément par élément : addAll passerait par un tableau temporaire
+		hand.clear();
+		for (int i = 0; i < player.hand.size(); i++) {
+			hand.add(player.hand.get(i));
+		}
+		jest.clear();
+		for (int i = 0; i < player.jest.size(); i++) {
+			jest.add(player.jest.get(i));
+		}
+	}
+
 	/**
 	 * Retourne ce joueur (utilisé pour compatibilité).
 	 * 
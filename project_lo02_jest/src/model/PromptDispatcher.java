@@ -0,0 +1,157 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import view.GameViewInterface;
+
+/**
+ * Répartiteur des demandes adressées aux vues pour un joueur interactif.
+ * <p>
+ * Chaque demande reçoit un identifiant. Elle est posée à toutes les vues en
+ * parallèle, dans des tâches de {@link ThreadManager}. Une vue lit
+ * l'identifiant de la demande qu'elle traite avec {@link #currentRequest()} et
+ * le joint à sa réponse. La première réponse portant l'identifiant de la
+ * demande en cours est retenue. Les demandes encore en cours sont alors
+ * annulées, et les réponses à une demande passée sont ignorées : une vue en
+ * retard ne peut plus répondre à la demande suivante.
+ * </p>
+ */
+public class PromptDispatcher {
+
+	/** Délai accordé à une demande, en secondes. */
+	public static final long TIMEOUT_SECONDS = 60;
+
+	// Identifiant de la demande traitée par la tâche courante
+	private static final ThreadLocal<Long> CURRENT_REQUEST = new ThreadLocal<>();
+
+	private final AtomicLong nextRequest;
+	private final BlockingQueue<long[]> answers;
+	private volatile long activeRequest;
+	private final AtomicLong staleAnswers;
+
+	/**
+	 * Construit un répartiteur sans demande en cours.
+	 */
+	public PromptDispatcher() {
+		this.nextRequest = new AtomicLong();
+		this.answers = new LinkedBlockingQueue<>();
+		this.staleAnswers = new AtomicLong();
+	}
+
+	/**
+	 * Retourne l'identifiant de la demande traitée par le thread appelant. À
+	 * lire au début d'une méthode askForX de vue, avant toute attente.
+	 *
+	 * @return l'identifiant de la demande, ou 0 hors d'une demande
+	 */
+	public static long currentRequest() {
+		Long request = CURRENT_REQUEST.get();
+		return request != null ? request : 0;
+	}
+
+	/**
+	 * Pose une demande à plusieurs vues et attend la première réponse valide.
+	 *
+	 * @param views         les vues à interroger
+	 * @param prompt        la demande à adresser à chaque vue
+	 * @param defaultAnswer la réponse retenue en cas de délai dépassé ou
+	 *                      d'interruption
+	 * @return la réponse retenue
+	 */
+	public int ask(List<GameViewInterface> views, Consumer<GameViewInterface> prompt, int defaultAnswer) {
+		long request = nextRequest.incrementAndGet();
+		answers.clear();
+		activeRequest = request;
+
+		List<Future<?>> prompts = new ArrayList<>(views.size());
+		for (GameViewInterface view : views) {
+			prompts.add(ThreadManager.submit(() -> {
+				CURRENT_REQUEST.set(request);
+				try {
+					prompt.accept(view);
+				} finally {
+					CURRENT_REQUEST.remove();
+				}
+			}));
+		}
+
+		try {
+			return awaitAnswer(request, defaultAnswer);
+		} finally {
+			activeRequest = 0;
+			for (Future<?> f : prompts) {
+				f.cancel(true);
+			}
+		}
+	}
+
+	private int awaitAnswer(long request, int defaultAnswer) {
+		// Le délai est tenu par la roue partagée, qui dépose la réponse par défaut
+		TimingWheel.Timeout timeout = TimingWheel.shared().schedule(() -> expire(request, defaultAnswer),
+				TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		try {
+			while (true) {
+				long[] answer = answers.take();
+				if (answer[0] == request) {
+					return (int) answer[1];
+				}
+				staleAnswers.incrementAndGet();
+			}
+		} catch (InterruptedException e) {
+			// Interruption par le contrôleur (retour arrière) : il abandonne ce coup
+			Thread.currentThread().interrupt();
+			return defaultAnswer;
+		} finally {
+			timeout.cancel();
+		}
+	}
+
+	private void expire(long request, int defaultAnswer) {
+		if (request == activeRequest) {
+			answers.offer(new long[] { request, defaultAnswer });
+		}
+	}
+
+	/**
+	 * Transmet la réponse d'une vue. Une réponse à une demande qui n'est plus en
+	 * cours est ignorée.
+	 *
+	 * @param request  l'identifiant de la demande, lu par
+	 *                 {@link #currentRequest()}
+	 * @param response la réponse
+	 */
+	public void answer(long request, int response) {
+		if (request != activeRequest || request == 0) {
+			staleAnswers.incrementAndGet();
+			return;
+		}
+		answers.offer(new long[] { request, response });
+	}
+
+	/**
+	 * Transmet une réponse à la demande en cours, quelle qu'elle soit. Réservée
+	 * aux vues qui ne suivent pas les identifiants.
+	 *
+	 * @param response la réponse
+	 */
+	public void answer(int response) {
+		answer(activeRequest, response);
+	}
+
+	/**
+	 * Retourne le nombre de réponses ignorées car arrivées après la fin de leur
+	 * demande.
+	 *
+	 * @return le nombre de réponses périmées
+	 */
+	public long getStaleAnswers() {
+		return staleAnswers.get();
+	}
+}
@@ -1,14 +1,31 @@
 package model;
 
 import java.util.List;
-import java.util.Scanner;
 
 /**
- * Stratégie pour un joueur humain en mode console. Utilise Scanner pour lire
- * les entrées utilisateur dans la console.
+ * Stratégie pour un joueur humain en mode console. Les choix sont lus dans un
+ * {@link InputDriver} : l'entrée standard par défaut, ou un script.
  */
 public class RealPlayer implements Strategy {
 
+	private final InputDriver input;
+
+	/**
+	 * Construit un joueur qui répond depuis l'entrée standard.
+	 */
+	public RealPlayer() {
+		this(InputDriver.getStandard());
+	}
+
+	/**
+	 * Construit un joueur qui répond depuis une source de saisies donnée.
+	 *
+	 * @param input la source des choix du joueur
+	 */
+	public RealPlayer(InputDriver input) {
+		this.input = input;
+	}
+
 	/**
 	 * Crée une offre en fonction du choix du joueur. i=1: carte 2 visible, carte 1
 	 * cachée i=2: carte 1 visible, carte 2 cachée
@@ -44,9 +61,8 @@ public class RealPlayer implements Strategy {
 	 */
 	@Override
 	public Player chooseTarget(Player p, List<Offer> available) {
-		Scanner sc = new Scanner(System.in);
 		System.out.println(p.getName() + " - Choisissez votre cible:");
-		int index = sc.nextInt();
+		int index = read(available.size());
 		return available.get(index - 1).getOwner();
 	}
 
@@ -61,9 +77,8 @@ public class RealPlayer implements Strategy {
 	 */
 	@Override
 	public Card choose(Player current, Offer o, List<Card> stack) {
-		Scanner sc = new Scanner(System.in);
 		System.out.println(current.getName() + " - Choisissez la carte visible (1) ou cachée (2)");
-		int index = sc.nextInt();
+		int index = read(2);
 
 		if (index == 1) {
 			Card c = o.getVisibleCard();
@@ -90,9 +105,21 @@ public class RealPlayer implements Strategy {
 	@Override
 	public Offer offer(Player p) {
 		System.out.println("Choisissez une carte à cacher (1) ou (2) :");
-		java.util.Scanner sc = new java.util.Scanner(System.in);
-		int index = sc.nextInt();
+		int index = read(2);
 		return p.getStrategy().performOffer(index, p);
 	}
 
+	/**
+	 * Lit un choix entre 1 et max. Les saisies invalides sont signalées et
+	 * redemandées ; à la fin de l'entrée ou sur interruption, le choix vaut 1.
+	 */
+	private int read(int max) {
+		try {
+			return input.nextChoice(1, max, 1);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return 1;
+		}
+	}
+
 }
@@ -0,0 +1,96 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Stratégie qui rejoue les décisions d'un {@link GameReplay}. Une seule
+ * instance est partagée par tous les joueurs de la partie rejouée : les
+ * décisions sont consommées dans l'ordre où le contrôleur les demande, quel que
+ * soit le joueur concerné.
+ */
+public class ReplayStrategy implements Strategy {
+
+	private GameReplay replay;
+	private int cursor;
+
+	/**
+	 * Construit une stratégie qui rejoue l'enregistrement fourni depuis le début.
+	 *
+	 * @param replay l'enregistrement à rejouer
+	 */
+	public ReplayStrategy(GameReplay replay) {
+		this.replay = replay;
+		this.cursor = 0;
+	}
+
+	/**
+	 * Retourne le nombre de décisions déjà rejouées.
+	 *
+	 * @return la position courante dans l'enregistrement
+	 */
+	public int getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Indique si toutes les décisions de l'enregistrement ont été consommées.
+	 *
+	 * @return true si l'enregistrement a été rejoué entièrement
+	 */
+	public boolean isFinished() {
+		return cursor >= replay.getDecisionCount();
+	}
+
+	private int nextDecision() {
+		return replay.getDecision(cursor++);
+	}
+
+	@Override
+	public Offer performOffer(int i, Player p) {
+		if (i == 1) {
+			return new Offer(p.getHand().get(1), p.getHand().get(0), p);
+		} else if (i == 2) {
+			return new Offer(p.getHand().get(0), p.getHand().get(1), p);
+		}
+		return null;
+	}
+
+	@Override
+	public Offer offer(Player p) {
+		return performOffer(nextDecision(), p);
+	}
+
+	@Override
+	public Player chooseTarget(Player p, List<Offer> available) {
+		int index = nextDecision();
+		if (index < 1 || index > available.size()) {
+			return null;
+		}
+		return available.get(index - 1).getOwner();
+	}
+
+	@Override
+	public Card choose(Player current, Offer o, List<Card> stack) {
+		int choice = nextDecision();
+
+		if (choice == 1) {
+			Card c = o.getVisibleCard();
+			o.removeVisibleCard();
+			return c;
+		} else if (choice == 2) {
+			Card c = o.getHiddenCard();
+			o.removeHiddenCard();
+			return c;
+		}
+		return null;
+	}
+
+	/**
+	 * Méthode vide - un replay n'affiche pas de main.
+	 *
+	 * @param p le joueur (non utilisé)
+	 */
+	@Override
+	public void displayHand(Player p) {
+	}
+}
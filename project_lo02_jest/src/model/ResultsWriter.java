@@ -0,0 +1,32 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface d'écriture en flux des résultats de parties. Les implémentations
+ * n'accumulent jamais l'ensemble des résultats en mémoire : elles écrivent par
+ * blocs au fil de l'eau. Elles peuvent être partagées entre plusieurs threads de
+ * simulation.
+ *
+ * @see model.ColumnarResultsWriter
+ * @see model.CsvResultsWriter
+ */
+public interface ResultsWriter extends Closeable {
+
+	/**
+	 * Ajoute le résultat d'une partie au flux.
+	 *
+	 * @param result le résultat à écrire
+	 * @throws IOException en cas d'erreur d'écriture
+	 */
+	public void write(GameResult result) throws IOException;
+
+	/**
+	 * Force l'écriture sur disque des résultats en attente.
+	 *
+	 * @throws IOException en cas d'erreur d'écriture
+	 */
+	public void flush() throws IOException;
+
+}
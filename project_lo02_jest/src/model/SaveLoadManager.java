@@ -1,13 +1,22 @@
 package model;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import model.GameState.CardState;
 import model.GameState.OfferState;
@@ -18,12 +27,23 @@ import model.GameState.TrophyState;
  * Gestionnaire de sauvegarde et de chargement des parties. Gère la
  * sérialisation/désérialisation des états de jeu et la conversion entre les
  * objets du jeu et leurs représentations sérialisables. Les sauvegardes sont
- * stockées dans le dossier 'saves/' avec l'extension '.jest'.
+ * stockées dans le dossier 'saves/', avec l'extension '.jestb' pour le format
+ * binaire compact ({@link CompactGameState}) et '.jest' pour l'ancien format
+ * par sérialisation Java, toujours lisible.
  */
 public class SaveLoadManager {
 
 	private static final String SAVE_DIR = "saves/";
 	private static final String SAVE_EXTENSION = ".jest";
+	private static final String COMPACT_EXTENSION = ".jestb";
+	private static final String REPLAY_DIR = "replays/";
+	private static final String REPLAY_EXTENSION = ".jrp";
+	private static final String ARCHIVE_DIR = "archive/";
+	private static final String ARCHIVED_REPLAY = "replay/";
+	private static final String ARCHIVED_SAVE = "save/";
+
+	// Archive partagée, ouverte au premier accès
+	private static ContentStore archive;
 
 	/**
 	 * Sauvegarde l'état complet d'une partie sur disque. Crée le dossier de
@@ -54,12 +74,99 @@ public class SaveLoadManager {
 	}
 
 	/**
-	 * Charge une partie depuis un fichier de sauvegarde.
+	 * Sauvegarde une partie dans le format binaire compact. Crée le dossier de
+	 * sauvegarde si nécessaire.
+	 * 
+	 * @param gameState l'état de jeu à sauvegarder
+	 * @param saveName  le nom de la sauvegarde (sans extension)
+	 * @return true si la sauvegarde a réussi, false sinon
+	 */
+	public static boolean saveCompactGame(GameState gameState, String saveName) {
+		File saveDir = new File(SAVE_DIR);
+		if (!saveDir.exists()) {
+			saveDir.mkdirs();
+		}
+
+		File file = new File(SAVE_DIR + saveName + COMPACT_EXTENSION);
+		try {
+			writeAtomically(file, CompactGameState.encode(gameState));
+			System.out.println("Partie sauvegardée avec succès : " + file.getPath());
+			return true;
+		} catch (IOException e) {
+			System.err.println("Erreur lors de la sauvegarde : " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Écrit un fichier d'un bloc : les données vont d'abord dans un fichier
+	 * temporaire du même dossier, qui remplace ensuite la cible. Un arrêt en
+	 * cours d'écriture laisse l'ancienne version intacte, jamais un fichier
+	 * tronqué.
+	 */
+	private static void writeAtomically(File file, byte[] data) throws IOException {
+		Path target = file.toPath();
+		Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), file.getName(), ".tmp");
+		try {
+			Files.write(temp, data);
+			try {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Projette une sauvegarde binaire en mémoire, sans construire d'objets du jeu.
+	 * Destiné aux traitements en masse sur les sauvegardes archivées ; le
+	 * chargement d'une partie passe par {@link #loadGame(String)}, qui ne garde
+	 * pas le fichier ouvert.
+	 * 
+	 * @param saveName le nom de la sauvegarde (sans extension)
+	 * @return l'état compact, ou null si la sauvegarde binaire n'existe pas ou est
+	 *         invalide
+	 */
+	public static CompactGameState mapGame(String saveName) {
+		File file = new File(SAVE_DIR + saveName + COMPACT_EXTENSION);
+		if (!file.exists()) {
+			return null;
+		}
+		try {
+			return CompactGameState.map(file);
+		} catch (IOException e) {
+			System.err.println("Erreur lors du chargement : " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Charge une partie depuis un fichier de sauvegarde. La sauvegarde binaire est
+	 * utilisée si elle existe, sinon l'ancien format sérialisé.
+	 * <p>
+	 * La sauvegarde binaire est lue en mémoire plutôt que projetée : une
+	 * projection garde le fichier ouvert jusqu'au passage du ramasse-miettes, et
+	 * sous Windows la sauvegarde ne pourrait alors être ni remplacée ni
+	 * supprimée.
+	 * </p>
 	 * 
 	 * @param saveName le nom de la sauvegarde (sans extension)
 	 * @return l'état de jeu chargé, ou null en cas d'erreur
 	 */
 	public static GameState loadGame(String saveName) {
+		File compactFile = new File(SAVE_DIR + saveName + COMPACT_EXTENSION);
+		if (compactFile.exists()) {
+			try {
+				byte[] data = Files.readAllBytes(compactFile.toPath());
+				return CompactGameState.wrap(ByteBuffer.wrap(data)).toGameState();
+			} catch (IOException e) {
+				System.err.println("Erreur lors du chargement : " + e.getMessage());
+				return null;
+			}
+		}
+
 		String filePath = SAVE_DIR + saveName + SAVE_EXTENSION;
 
 		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filePath))) {
@@ -79,40 +186,304 @@ public class SaveLoadManager {
 	 * @return la liste des noms de sauvegardes (sans extension)
 	 */
 	public static List<String> listSaves() {
-		List<String> saves = new ArrayList<>();
+		Set<String> saves = new LinkedHashSet<>();
 		File saveDir = new File(SAVE_DIR);
 
 		if (saveDir.exists() && saveDir.isDirectory()) {
-			File[] files = saveDir.listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
+			File[] files = saveDir
+					.listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION) || name.endsWith(COMPACT_EXTENSION));
 			if (files != null) {
 				for (File file : files) {
-					String name = file.getName().replace(SAVE_EXTENSION, "");
-					saves.add(name);
+					String name = file.getName();
+					saves.add(name.substring(0, name.lastIndexOf('.')));
 				}
 			}
 		}
 
-		return saves;
+		return new ArrayList<>(saves);
 	}
 
 	/**
-	 * Supprime une sauvegarde du disque.
+	 * Supprime une sauvegarde du disque, ainsi que sa copie archivée ; les blocs
+	 * de l'archive qui ne servent plus sont libérés.
 	 * 
 	 * @param saveName le nom de la sauvegarde à supprimer (sans extension)
 	 * @return true si la suppression a réussi, false sinon
 	 */
 	public static boolean deleteSave(String saveName) {
-		String filePath = SAVE_DIR + saveName + SAVE_EXTENSION;
-		File file = new File(filePath);
+		boolean deleted = false;
+		for (String extension : new String[] { SAVE_EXTENSION, COMPACT_EXTENSION }) {
+			File file = new File(SAVE_DIR + saveName + extension);
+			if (file.exists() && file.delete()) {
+				deleted = true;
+			}
+		}
+		if (deleteArchivedGame(saveName)) {
+			collectArchive();
+		}
+		if (deleted) {
+			System.out.println("Sauvegarde supprimée : " + saveName);
+		}
+		return deleted;
+	}
+
+	/**
+	 * Enregistre un replay de partie sur disque, dans le dossier 'replays/'.
+	 * 
+	 * @param replay     le replay à enregistrer
+	 * @param replayName le nom du replay (sans extension)
+	 * @return true si l'enregistrement a réussi, false sinon
+	 */
+	public static boolean saveReplay(GameReplay replay, String replayName) {
+		File replayDir = new File(REPLAY_DIR);
+		if (!replayDir.exists()) {
+			replayDir.mkdirs();
+		}
+
+		File file = new File(REPLAY_DIR + replayName + REPLAY_EXTENSION);
+		try {
+			writeAtomically(file, replay.toBytes());
+			return true;
+		} catch (IOException e) {
+			System.err.println("Erreur lors de l'enregistrement du replay : " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Charge un replay depuis le dossier 'replays/'.
+	 * 
+	 * @param replayName le nom du replay (sans extension)
+	 * @return le replay chargé, ou null en cas d'erreur
+	 */
+	public static GameReplay loadReplay(String replayName) {
+		File file = new File(REPLAY_DIR + replayName + REPLAY_EXTENSION);
+		try {
+			return GameReplay.fromBytes(Files.readAllBytes(file.toPath()));
+		} catch (IOException e) {
+			System.err.println("Erreur lors du chargement du replay : " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Liste tous les replays disponibles dans le dossier 'replays/'.
+	 * 
+	 * @return la liste des noms de replays (sans extension)
+	 */
+	public static List<String> listReplays() {
+		List<String> replays = new ArrayList<>();
+		File[] files = new File(REPLAY_DIR).listFiles((dir, name) -> name.endsWith(REPLAY_EXTENSION));
+		if (files != null) {
+			for (File file : files) {
+				replays.add(file.getName().replace(REPLAY_EXTENSION, ""));
+			}
+		}
+		return replays;
+	}
+
+	// === ARCHIVE ===
+
+	/**
+	 * Retourne l'archive du dossier 'archive/', en l'ouvrant au premier appel.
+	 * 
+	 * @return l'archive partagée
+	 * @throws IOException si l'archive ne peut pas être ouverte
+	 */
+	public static synchronized ContentStore getArchive() throws IOException {
+		if (archive == null) {
+			archive = new ContentStore(new File(ARCHIVE_DIR));
+		}
+		return archive;
+	}
 
-		if (file.exists()) {
-			boolean deleted = file.delete();
-			if (deleted) {
-				System.out.println("Sauvegarde supprimée : " + saveName);
+	/**
+	 * Archive un replay, découpé aux frontières de décisions : les blocs déjà
+	 * présents dans l'archive (même configuration, même début de partie) ne sont
+	 * pas réécrits.
+	 * 
+	 * @param replay     le replay à archiver
+	 * @param replayName le nom du replay
+	 * @return true si l'archivage a réussi, false sinon
+	 */
+	public static boolean archiveReplay(GameReplay replay, String replayName) {
+		try {
+			ContentStore store = getArchive();
+			store.put(ARCHIVED_REPLAY + replayName, replay.toChunks());
+			store.flush();
+			return true;
+		} catch (IOException e) {
+			System.err.println("Erreur lors de l'archivage du replay : " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Relit un replay archivé.
+	 * 
+	 * @param replayName le nom du replay
+	 * @return le replay, ou null s'il n'existe pas ou en cas d'erreur
+	 */
+	public static GameReplay loadArchivedReplay(String replayName) {
+		try {
+			List<byte[]> chunks = getArchive().get(ARCHIVED_REPLAY + replayName);
+			return chunks == null ? null : GameReplay.fromChunks(chunks);
+		} catch (IOException e) {
+			System.err.println("Erreur lors du chargement du replay archivé : " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Archive une partie au format binaire compact, découpée par sections (deck,
+	 * stack, chaque joueur, offres et trophées) : les sections inchangées d'une
+	 * sauvegarde à l'autre ne sont stockées qu'une fois.
+	 * 
+	 * @param gameState l'état de jeu à archiver
+	 * @param saveName  le nom de la sauvegarde
+	 * @return true si l'archivage a réussi, false sinon
+	 */
+	public static boolean archiveGame(GameState gameState, String saveName) {
+		try {
+			byte[] encoded = CompactGameState.encode(gameState);
+			int[] bounds = CompactGameState.wrap(ByteBuffer.wrap(encoded)).sectionBounds();
+			List<byte[]> chunks = new ArrayList<>();
+			for (int i = 0; i + 1 < bounds.length; i++) {
+				chunks.add(Arrays.copyOfRange(encoded, bounds[i], bounds[i + 1]));
+			}
+
+			ContentStore store = getArchive();
+			store.put(ARCHIVED_SAVE + saveName, chunks);
+			store.flush();
+			return true;
+		} catch (IOException e) {
+			System.err.println("Erreur lors de l'archivage : " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Relit une partie archivée.
+	 * 
+	 * @param saveName le nom de la sauvegarde
+	 * @return l'état de jeu, ou null s'il n'existe pas ou en cas d'erreur
+	 */
+	public static GameState loadArchivedGame(String saveName) {
+		try {
+			List<byte[]> chunks = getArchive().get(ARCHIVED_SAVE + saveName);
+			if (chunks == null) {
+				return null;
+			}
+			ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+			for (byte[] chunk : chunks) {
+				encoded.write(chunk);
+			}
+			return CompactGameState.wrap(ByteBuffer.wrap(encoded.toByteArray())).toGameState();
+		} catch (IOException e) {
+			System.err.println("Erreur lors du chargement de l'archive : " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Liste les replays archivés.
+	 * 
+	 * @return les noms des replays
+	 */
+	public static List<String> listArchivedReplays() {
+		return listArchived(ARCHIVED_REPLAY);
+	}
+
+	/**
+	 * Liste les parties archivées.
+	 * 
+	 * @return les noms des sauvegardes
+	 */
+	public static List<String> listArchivedGames() {
+		return listArchived(ARCHIVED_SAVE);
+	}
+
+	private static List<String> listArchived(String prefix) {
+		List<String> names = new ArrayList<>();
+		try {
+			for (String name : getArchive().list(prefix)) {
+				names.add(name.substring(prefix.length()));
 			}
-			return deleted;
+		} catch (IOException e) {
+			System.err.println("Erreur lors de l'ouverture de l'archive : " + e.getMessage());
+		}
+		return names;
+	}
+
+	/**
+	 * Retire un replay de l'archive. La place n'est récupérée qu'au prochain
+	 * {@link #collectArchive()}.
+	 * 
+	 * @param replayName le nom du replay
+	 * @return true si le replay existait
+	 */
+	public static boolean deleteArchivedReplay(String replayName) {
+		return deleteArchived(ARCHIVED_REPLAY + replayName);
+	}
+
+	/**
+	 * Retire une partie de l'archive. La place n'est récupérée qu'au prochain
+	 * {@link #collectArchive()}.
+	 * 
+	 * @param saveName le nom de la sauvegarde
+	 * @return true si la sauvegarde existait
+	 */
+	public static boolean deleteArchivedGame(String saveName) {
+		return deleteArchived(ARCHIVED_SAVE + saveName);
+	}
+
+	private static boolean deleteArchived(String name) {
+		try {
+			ContentStore store = getArchive();
+			boolean removed = store.remove(name);
+			store.flush();
+			return removed;
+		} catch (IOException e) {
+			System.err.println("Erreur lors de la suppression : " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Supprime de l'archive les blocs qui ne sont plus utilisés par aucun replay
+	 * ni aucune sauvegarde.
+	 * 
+	 * @return le nombre d'octets libérés, ou -1 en cas d'erreur
+	 */
+	public static long collectArchive() {
+		try {
+			return getArchive().gc();
+		} catch (IOException e) {
+			System.err.println("Erreur lors du nettoyage de l'archive : " + e.getMessage());
+			return -1;
+		}
+	}
+
+	/**
+	 * Retourne le type sérialisable d'une stratégie ("REAL", "RANDOM", "CHEATER"
+	 * ou "EXTERNAL"). Les stratégies humaines (console ou interactives) sont
+	 * toutes enregistrées comme "REAL". Un joueur "EXTERNAL" rechargé par
+	 * {@link #toPlayer(PlayerState)} devient un joueur console.
+	 * 
+	 * @param strategy la stratégie à identifier
+	 * @return le type de stratégie, ou null si elle n'est pas reconnue
+	 */
+	public static String strategyTypeOf(Strategy strategy) {
+		if (strategy instanceof RealPlayer || strategy instanceof InteractivePlayerStrategy) {
+			return "REAL";
+		} else if (strategy instanceof VirtualPlayerRandom) {
+			return "RANDOM";
+		} else if (strategy instanceof VirtualPlayerCheater) {
+			return "CHEATER";
+		} else if (strategy instanceof ExternalStrategy) {
+			return "EXTERNAL";
 		}
-		return false;
+		return null;
 	}
 
 	/**
@@ -148,13 +519,7 @@ public class SaveLoadManager {
 		ps.setHasPlayed(player.hasPlayed());
 
 		// Déterminer le type de stratégie
-		if (player.getStrategy() instanceof RealPlayer) {
-			ps.setStrategyType("REAL");
-		} else if (player.getStrategy() instanceof VirtualPlayerRandom) {
-			ps.setStrategyType("RANDOM");
-		} else if (player.getStrategy() instanceof VirtualPlayerCheater) {
-			ps.setStrategyType("CHEATER");
-		}
+		ps.setStrategyType(strategyTypeOf(player.getStrategy()));
 
 		// Convertir la main
 		for (Card card : player.getHand()) {
@@ -187,6 +552,12 @@ public class SaveLoadManager {
 			strategy = new RealPlayer();
 		}
 
+		return toPlayer(ps, strategy);
+	}
+
+	// Convertit un PlayerState en Player, avec une stratégie imposée (joueur humain
+	// ou place reprise après un retour arrière)
+	public static Player toPlayer(PlayerState ps, Strategy strategy) {
 		Player player = new Player(ps.getName(), strategy);
 
 		// Restaurer hasPlayed
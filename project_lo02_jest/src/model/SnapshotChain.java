@@ -0,0 +1,210 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Historique compact des états successifs d'une partie, pour l'annulation et le
+ * retour à n'importe quelle décision.
+ * <p>
+ * Les états sont des tableaux d'octets (en pratique l'encodage de
+ * {@link CompactGameState}). Un état complet (image clé) est conservé toutes
+ * les N entrées ; entre deux images clés, seule la différence (XOR) avec l'état
+ * précédent est stockée, sous forme de plages d'octets modifiés. Reconstruire
+ * un état coûte donc au plus N applications de différences.
+ * </p>
+ * <p>
+ * Chaque entrée porte en plus un marqueur entier libre, par exemple le nombre de
+ * décisions enregistrées dans le {@link GameReplay} au moment de l'état.
+ * </p>
+ */
+public class SnapshotChain {
+
+	/** Intervalle par défaut entre deux images clés. */
+	public static final int DEFAULT_KEYFRAME_INTERVAL = 16;
+
+	private int keyframeInterval;
+	private List<byte[]> entries;
+	private List<Integer> tags;
+
+	// Dernier état ajouté, pour calculer la différence suivante sans reconstruction
+	private byte[] last;
+
+	/**
+	 * Construit un historique vide avec l'intervalle d'images clés par défaut.
+	 */
+	public SnapshotChain() {
+		this(DEFAULT_KEYFRAME_INTERVAL);
+	}
+
+	/**
+	 * Construit un historique vide.
+	 *
+	 * @param keyframeInterval le nombre d'entrées entre deux images clés
+	 */
+	public SnapshotChain(int keyframeInterval) {
+		this.keyframeInterval = Math.max(1, keyframeInterval);
+		this.entries = new ArrayList<>();
+		this.tags = new ArrayList<>();
+	}
+
+	/**
+	 * Ajoute un état à la fin de l'historique.
+	 *
+	 * @param state l'état encodé
+	 * @param tag   le marqueur associé à l'état
+	 */
+	public void append(byte[] state, int tag) {
+		if (entries.size() % keyframeInterval == 0) {
+			entries.add(state.clone());
+		} else {
+			entries.add(delta(last, state));
+		}
+		tags.add(tag);
+		last = state.clone();
+	}
+
+	/**
+	 * Reconstruit l'état d'index donné, à partir de l'image clé qui le précède.
+	 *
+	 * @param index l'index de l'état (0-based)
+	 * @return l'état encodé
+	 */
+	public byte[] get(int index) {
+		if (index < 0 || index >= entries.size()) {
+			throw new IndexOutOfBoundsException("État " + index + " absent (" + entries.size() + " états)");
+		}
+		int keyframe = index - index % keyframeInterval;
+		byte[] state = entries.get(keyframe).clone();
+		for (int i = keyframe + 1; i <= index; i++) {
+			state = applyDelta(state, entries.get(i));
+		}
+		return state;
+	}
+
+	/**
+	 * Retourne le marqueur associé à un état.
+	 *
+	 * @param index l'index de l'état
+	 * @return le marqueur fourni lors de l'ajout
+	 */
+	public int getTag(int index) {
+		return tags.get(index);
+	}
+
+	/**
+	 * Supprime les états à partir d'un index, par exemple quand une nouvelle
+	 * décision est prise après une annulation.
+	 *
+	 * @param size le nombre d'états à conserver
+	 */
+	public void truncate(int size) {
+		if (size >= entries.size()) {
+			return;
+		}
+		entries.subList(size, entries.size()).clear();
+		tags.subList(size, tags.size()).clear();
+		last = size > 0 ? get(size - 1) : null;
+	}
+
+	/**
+	 * Vide l'historique.
+	 */
+	public void clear() {
+		truncate(0);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public int getKeyframeInterval() {
+		return keyframeInterval;
+	}
+
+	/**
+	 * Retourne la place occupée par les états stockés.
+	 *
+	 * @return le nombre total d'octets des images clés et des différences
+	 */
+	public long byteSize() {
+		long size = 0;
+		for (byte[] entry : entries) {
+			size += entry.length;
+		}
+		return size;
+	}
+
+	// === DIFFÉRENCES ===
+
+	/**
+	 * Encode la différence entre deux états : taille du nouvel état, puis une suite
+	 * de plages (décalage depuis la plage précédente, longueur, octets XOR).
+	 */
+	private static byte[] delta(byte[] from, byte[] to) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+		writeVarInt(out, to.length);
+
+		int previousEnd = 0;
+		int i = 0;
+		while (i < to.length) {
+			if (at(from, i) == to[i]) {
+				i++;
+				continue;
+			}
+			int start = i;
+			while (i < to.length && at(from, i) != to[i]) {
+				i++;
+			}
+			writeVarInt(out, start - previousEnd);
+			writeVarInt(out, i - start);
+			for (int j = start; j < i; j++) {
+				out.write(at(from, j) ^ to[j]);
+			}
+			previousEnd = i;
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] applyDelta(byte[] from, byte[] delta) {
+		int[] pos = { 0 };
+		byte[] to = new byte[readVarInt(delta, pos)];
+		System.arraycopy(from, 0, to, 0, Math.min(from.length, to.length));
+
+		int offset = 0;
+		while (pos[0] < delta.length) {
+			offset += readVarInt(delta, pos);
+			int length = readVarInt(delta, pos);
+			for (int j = 0; j < length; j++) {
+				to[offset + j] = (byte) (at(from, offset + j) ^ delta[pos[0]++]);
+			}
+			offset += length;
+		}
+		return to;
+	}
+
+	private static byte at(byte[] state, int index) {
+		return index < state.length ? state[index] : 0;
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream out, int value) {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarInt(byte[] data, int[] pos) {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = data[pos[0]++] & 0xFF;
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
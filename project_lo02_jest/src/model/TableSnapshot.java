@@ -0,0 +1,232 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Instantané immuable de l'état visible d'une partie : round, trophées,
+ * joueurs avec leur main, leur offre et leur Jest, et joueur actif.
+ * <p>
+ * Le contrôleur en publie un nouveau après chaque changement d'état. Les vues
+ * peuvent le lire depuis n'importe quel thread sans verrou : rien dans un
+ * instantané ne change après sa création. Deux instantanés successifs partagent
+ * tout ce qui n'a pas changé (listes de cartes, joueurs entiers), ce qui rend
+ * la publication peu coûteuse. Les cartes elles-mêmes sont partagées avec le
+ * jeu : elles ne sont plus modifiées une fois créées.
+ * </p>
+ */
+public final class TableSnapshot {
+
+	/**
+	 * État visible d'un joueur dans un instantané.
+	 */
+	public static final class PlayerSnapshot {
+		private final String name;
+		private final boolean human;
+		private final List<Card> hand;
+		private final List<Card> jest;
+		private final boolean hasOffer;
+		private final Card offerVisible;
+		private final Card offerHidden;
+		private final boolean hasPlayed;
+
+		private PlayerSnapshot(String name, boolean human, List<Card> hand, List<Card> jest, boolean hasOffer,
+				Card offerVisible, Card offerHidden, boolean hasPlayed) {
+			this.name = name;
+			this.human = human;
+			this.hand = hand;
+			this.jest = jest;
+			this.hasOffer = hasOffer;
+			this.offerVisible = offerVisible;
+			this.offerHidden = offerHidden;
+			this.hasPlayed = hasPlayed;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Indique si le joueur est un humain interactif.
+		 *
+		 * @return true pour un joueur humain
+		 */
+		public boolean isHuman() {
+			return human;
+		}
+
+		public List<Card> getHand() {
+			return hand;
+		}
+
+		public List<Card> getJest() {
+			return jest;
+		}
+
+		/**
+		 * Indique si le joueur a une offre sur la table pour ce round.
+		 *
+		 * @return true si une offre existe, même vidée
+		 */
+		public boolean hasOffer() {
+			return hasOffer;
+		}
+
+		public Card getOfferVisibleCard() {
+			return offerVisible;
+		}
+
+		public Card getOfferHiddenCard() {
+			return offerHidden;
+		}
+
+		public boolean hasPlayed() {
+			return hasPlayed;
+		}
+	}
+
+	private final long version;
+	private final int round;
+	private final int mode;
+	private final boolean extensionActive;
+	private final Card trophy1;
+	private final Card trophy2;
+	private final List<PlayerSnapshot> players;
+	private final int activePlayer;
+	private final boolean choosingPhase;
+
+	private TableSnapshot(long version, int round, int mode, boolean extensionActive, Card trophy1, Card trophy2,
+			List<PlayerSnapshot> players, int activePlayer, boolean choosingPhase) {
+		this.version = version;
+		this.round = round;
+		this.mode = mode;
+		this.extensionActive = extensionActive;
+		this.trophy1 = trophy1;
+		this.trophy2 = trophy2;
+		this.players = players;
+		this.activePlayer = activePlayer;
+		this.choosingPhase = choosingPhase;
+	}
+
+	/**
+	 * Construit l'instantané de l'état courant en réutilisant les parties
+	 * inchangées de l'instantané précédent. À appeler depuis le thread qui
+	 * modifie la partie.
+	 *
+	 * @param previous        l'instantané précédent, ou null
+	 * @param round           le numéro du round en cours
+	 * @param mode            le mode de jeu
+	 * @param extensionActive si l'extension est active
+	 * @param trophy1         la première carte trophée
+	 * @param trophy2         la deuxième carte trophée (peut être null)
+	 * @param players         les joueurs, dans l'ordre des places
+	 * @param offers          les offres du round
+	 * @param active          le joueur dont c'est le tour (peut être null)
+	 * @param choosingPhase   true pendant la phase de choix
+	 * @return le nouvel instantané
+	 */
+	public static TableSnapshot capture(TableSnapshot previous, int round, int mode, boolean extensionActive,
+			Card trophy1, Card trophy2, List<Player> players, List<Offer> offers, Player active,
+			boolean choosingPhase) {
+		List<PlayerSnapshot> before = previous != null ? previous.players : Collections.emptyList();
+		boolean samePlayers = before.size() == players.size();
+
+		List<PlayerSnapshot> list = new ArrayList<>(players.size());
+		for (int i = 0; i < players.size(); i++) {
+			PlayerSnapshot old = i < before.size() ? before.get(i) : null;
+			PlayerSnapshot ps = capture(old, players.get(i), offers);
+			samePlayers &= ps == old;
+			list.add(ps);
+		}
+
+		return new TableSnapshot(previous != null ? previous.version + 1 : 1, round, mode, extensionActive, trophy1,
+				trophy2, samePlayers ? before : Collections.unmodifiableList(list), players.indexOf(active),
+				choosingPhase);
+	}
+
+	private static PlayerSnapshot capture(PlayerSnapshot old, Player p, List<Offer> offers) {
+		Offer offer = p.getOffer(offers);
+		Card visible = offer != null ? offer.getVisibleCard() : null;
+		Card hidden = offer != null ? offer.getHiddenCard() : null;
+
+		if (old == null || !old.name.equals(p.getName())) {
+			return new PlayerSnapshot(p.getName(), p.getStrategy() instanceof InteractivePlayerStrategy,
+					copy(p.getHand()), copy(p.getJest()), offer != null, visible, hidden,
+					p.hasPlayed());
+		}
+
+		List<Card> hand = sameCards(old.hand, p.getHand()) ? old.hand : copy(p.getHand());
+		List<Card> jest = sameCards(old.jest, p.getJest()) ? old.jest : copy(p.getJest());
+		if (hand == old.hand && jest == old.jest && old.hasOffer == (offer != null) && old.offerVisible == visible
+				&& old.offerHidden == hidden && old.hasPlayed == p.hasPlayed()) {
+			return old;
+		}
+		return new PlayerSnapshot(old.name, old.human, hand, jest, offer != null, visible, hidden, p.hasPlayed());
+	}
+
+	// Les listes du jeu peuvent contenir null (carte non prise) : pas de List.copyOf
+	private static List<Card> copy(List<Card> cards) {
+		return cards.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(cards));
+	}
+
+	private static boolean sameCards(List<Card> snapshot, List<Card> live) {
+		if (snapshot.size() != live.size()) {
+			return false;
+		}
+		for (int i = 0; i < live.size(); i++) {
+			if (snapshot.get(i) != live.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// === ACCESSEURS ===
+
+	/**
+	 * Retourne le numéro de version, croissant d'un instantané au suivant.
+	 *
+	 * @return la version de l'instantané
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public int getRound() {
+		return round;
+	}
+
+	public int getMode() {
+		return mode;
+	}
+
+	public boolean isExtensionActive() {
+		return extensionActive;
+	}
+
+	public Card getTrophyCard1() {
+		return trophy1;
+	}
+
+	public Card getTrophyCard2() {
+		return trophy2;
+	}
+
+	public List<PlayerSnapshot> getPlayers() {
+		return players;
+	}
+
+	/**
+	 * Retourne la place du joueur dont c'est le tour.
+	 *
+	 * @return l'index du joueur actif, ou -1
+	 */
+	public int getActivePlayer() {
+		return activePlayer;
+	}
+
+	public boolean isChoosingPhase() {
+		return choosingPhase;
+	}
+}
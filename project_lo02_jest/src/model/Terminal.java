@@ -0,0 +1,51 @@
+package model;
+
+import java.io.Console;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Détection du terminal attaché à la JVM, pour les vues et les saisies en mode
+ * console.
+ * <p>
+ * Depuis Java 22, {@link System#console()} rend une console même quand l'entrée
+ * ou la sortie est redirigée : seul {@code Console.isTerminal()} dit alors si
+ * un utilisateur est au clavier. La méthode est appelée par réflexion pour que
+ * le projet compile aussi en Java 21, où une console non nulle suffit.
+ * </p>
+ * <p>
+ * La propriété système {@value #PROPERTY} ({@code true} ou {@code false})
+ * impose le résultat, par exemple en intégration continue.
+ * </p>
+ */
+public class Terminal {
+
+	/** Propriété système qui force la détection. */
+	public static final String PROPERTY = "jest.terminal";
+
+	private Terminal() {
+	}
+
+	/**
+	 * Indique si l'entrée et la sortie standard sont un terminal.
+	 *
+	 * @return true si un utilisateur est au clavier
+	 */
+	public static boolean isTerminal() {
+		String forced = System.getProperty(PROPERTY);
+		if (forced != null) {
+			return Boolean.parseBoolean(forced.trim());
+		}
+		Console console = System.console();
+		if (console == null) {
+			return false;
+		}
+		try {
+			return (Boolean) Console.class.getMethod("isTerminal").invoke(console);
+		} catch (NoSuchMethodException e) {
+			// Java 21 : la console n'existe que sur un terminal
+			return true;
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package model;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exécuteur partagé de l'application. Les boucles de jeu et les demandes
+ * adressées aux vues s'exécutent dans des threads virtuels : un thread bloqué
+ * en attente d'une saisie ne mobilise aucun thread système, et des milliers de
+ * parties interactives peuvent se partager quelques threads porteurs.
+ * <p>
+ * Les tâches sont soumises sous forme de {@link Future}, ce qui permet à leur
+ * propriétaire de les annuler (par interruption) lorsqu'elles deviennent
+ * inutiles.
+ * </p>
+ */
+public class ThreadManager {
+
+	private static ExecutorService executor;
+
+	private ThreadManager() {
+	}
+
+	/**
+	 * Retourne l'exécuteur de l'application, créé au premier appel.
+	 *
+	 * @return l'exécuteur à threads virtuels
+	 */
+	public static synchronized ExecutorService getExecutor() {
+		if (executor == null || executor.isShutdown()) {
+			executor = Executors.newVirtualThreadPerTaskExecutor();
+		}
+		return executor;
+	}
+
+	/**
+	 * Exécute une tâche dans un nouveau thread virtuel.
+	 *
+	 * @param task la tâche à exécuter
+	 * @return le résultat futur, annulable par {@code cancel(true)}
+	 */
+	public static Future<?> submit(Runnable task) {
+		return getExecutor().submit(task);
+	}
+
+	/**
+	 * Interrompt toutes les tâches en cours. Un appel ultérieur à
+	 * {@link #submit(Runnable)} crée un nouvel exécuteur.
+	 */
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+}
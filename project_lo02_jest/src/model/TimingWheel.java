@@ -0,0 +1,246 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Roue temporelle hachée : un seul thread gère les délais de toutes les
+ * parties (délai d'un coup, pendule d'un joueur).
+ * <p>
+ * Le temps est découpé en tops de durée fixe. Chaque délai est rangé dans la
+ * case de la roue correspondant à son top d'échéance (modulo la taille de la
+ * roue), dans une liste doublement chaînée : la programmation et l'annulation
+ * se font en temps constant, quel que soit le nombre de délais en cours. À
+ * chaque top, le thread de la roue parcourt une seule case et exécute les
+ * délais échus. La précision est d'un top.
+ * </p>
+ * <p>
+ * Les tâches échues s'exécutent dans le thread de la roue : elles doivent être
+ * brèves (déposer une réponse par défaut, réveiller une partie) et ne jamais
+ * attendre.
+ * </p>
+ */
+public class TimingWheel {
+
+	/** Durée d'un top de la roue partagée, en millisecondes. */
+	public static final long DEFAULT_TICK_MILLIS = 100;
+
+	/** Nombre de cases de la roue partagée (un tour en 51,2 secondes). */
+	public static final int DEFAULT_WHEEL_SIZE = 512;
+
+	private static final int PENDING = 0;
+	private static final int CANCELLED = 1;
+	private static final int EXPIRED = 2;
+
+	private static TimingWheel shared;
+
+	/**
+	 * Délai programmé dans la roue.
+	 */
+	public final class Timeout {
+		private final Runnable task;
+		private final long deadline;
+		private int state;
+		private Timeout prev;
+		private Timeout next;
+
+		private Timeout(Runnable task, long deadline) {
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Annule le délai s'il n'est pas encore échu.
+		 *
+		 * @return true si le délai a été annulé, false s'il était déjà échu ou
+		 *         annulé
+		 */
+		public boolean cancel() {
+			synchronized (TimingWheel.this) {
+				if (state != PENDING) {
+					return false;
+				}
+				unlink(this);
+				state = CANCELLED;
+				return true;
+			}
+		}
+
+		public boolean isExpired() {
+			synchronized (TimingWheel.this) {
+				return state == EXPIRED;
+			}
+		}
+
+		public boolean isCancelled() {
+			synchronized (TimingWheel.this) {
+				return state == CANCELLED;
+			}
+		}
+	}
+
+	private final long tickNanos;
+	private final Timeout[] wheel;
+	private final int mask;
+	private final long startTime;
+	private final Thread worker;
+
+	// Dernier top traité
+	private long tick;
+	private int pending;
+	private volatile boolean running;
+
+	/**
+	 * Construit une roue et démarre son thread.
+	 *
+	 * @param tickDuration la durée d'un top
+	 * @param unit         l'unité de cette durée
+	 * @param wheelSize    le nombre de cases, arrondi à la puissance de 2
+	 *                     supérieure
+	 */
+	public TimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+		this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+		int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+		this.wheel = new Timeout[size];
+		this.mask = size - 1;
+		this.startTime = System.nanoTime();
+		this.running = true;
+		this.worker = new Thread(this::run, "timing-wheel");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Retourne la roue partagée de l'application, créée au premier appel.
+	 *
+	 * @return la roue partagée
+	 */
+	public static synchronized TimingWheel shared() {
+		if (shared == null || !shared.running) {
+			shared = new TimingWheel(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+		}
+		return shared;
+	}
+
+	/**
+	 * Programme une tâche après un délai.
+	 *
+	 * @param task  la tâche à exécuter à l'échéance
+	 * @param delay le délai (0 pour le prochain top)
+	 * @param unit  l'unité du délai
+	 * @return le délai programmé, annulable
+	 */
+	public synchronized Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+		if (!running) {
+			throw new IllegalStateException("Roue temporelle arrêtée");
+		}
+		long elapsed = System.nanoTime() - startTime;
+		if (pending == 0) {
+			// Roue vide : le thread dort, le top courant est recalé sur l'horloge
+			tick = Math.max(tick, elapsed / tickNanos);
+		}
+		long due = elapsed + Math.max(0, unit.toNanos(delay));
+		long deadline = Math.max(tick + 1, (due + tickNanos - 1) / tickNanos);
+
+		Timeout t = new Timeout(task, deadline);
+		int slot = (int) (deadline & mask);
+		t.next = wheel[slot];
+		if (t.next != null) {
+			t.next.prev = t;
+		}
+		wheel[slot] = t;
+		if (pending++ == 0) {
+			notifyAll();
+		}
+		return t;
+	}
+
+	private void unlink(Timeout t) {
+		if (t.prev != null) {
+			t.prev.next = t.next;
+		} else {
+			wheel[(int) (t.deadline & mask)] = t.next;
+		}
+		if (t.next != null) {
+			t.next.prev = t.prev;
+		}
+		t.prev = null;
+		t.next = null;
+		pending--;
+	}
+
+	/**
+	 * Boucle du thread de la roue : attend chaque top, puis exécute les délais
+	 * échus de la case correspondante.
+	 */
+	private void run() {
+		List<Timeout> expired = new ArrayList<>();
+		while (running) {
+			long next;
+			synchronized (this) {
+				while (running && pending == 0) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				next = startTime + (tick + 1) * tickNanos;
+			}
+
+			long wait = next - System.nanoTime();
+			if (wait > 0) {
+				try {
+					TimeUnit.NANOSECONDS.sleep(wait);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+
+			synchronized (this) {
+				tick++;
+				int slot = (int) (tick & mask);
+				Timeout t = wheel[slot];
+				while (t != null) {
+					Timeout following = t.next;
+					if (t.deadline <= tick) {
+						unlink(t);
+						t.state = EXPIRED;
+						expired.add(t);
+					}
+					t = following;
+				}
+			}
+
+			for (Timeout t : expired) {
+				try {
+					t.task.run();
+				} catch (RuntimeException e) {
+					System.err.println("Erreur d'une tâche différée : " + e);
+				}
+			}
+			expired.clear();
+		}
+	}
+
+	/**
+	 * Arrête la roue. Les délais en cours n'échoient jamais.
+	 *
+	 * @return le nombre de délais abandonnés
+	 */
+	public synchronized int stop() {
+		running = false;
+		worker.interrupt();
+		return pending;
+	}
+
+	/**
+	 * Retourne le nombre de délais en cours.
+	 *
+	 * @return le nombre de délais programmés et non échus
+	 */
+	public synchronized int getPendingCount() {
+		return pending;
+	}
+}
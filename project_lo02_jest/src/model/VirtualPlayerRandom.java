@@ -5,10 +5,33 @@ import java.util.Random;
 
 /**
  * Stratégie pour un joueur virtuel qui fait des choix aléatoires. Utilise un
- * générateur de nombres aléatoires pour toutes ses décisions.
+ * générateur de nombres aléatoires pour toutes ses décisions ; avec une graine,
+ * le bot refait les mêmes choix d'une partie à l'autre.
  */
 public class VirtualPlayerRandom implements Strategy {
 
+	private final Random random;
+
+	/**
+	 * Construit un bot aux choix imprévisibles.
+	 */
+	public VirtualPlayerRandom() {
+		this(new Random());
+	}
+
+	/**
+	 * Construit un bot dont les choix dérivent d'une graine.
+	 *
+	 * @param seed la graine des choix du bot
+	 */
+	public VirtualPlayerRandom(long seed) {
+		this(new Random(seed));
+	}
+
+	private VirtualPlayerRandom(Random random) {
+		this.random = random;
+	}
+
 	/**
 	 * Crée une offre en fonction de l'index donné. i=1: carte 2 visible, carte 1
 	 * cachée i=2: carte 1 visible, carte 2 cachée
@@ -57,8 +80,7 @@ public class VirtualPlayerRandom implements Strategy {
 	 */
 	@Override
 	public Card choose(Player current, Offer o, List<Card> stack) {
-		Random randomNumbers = new Random();
-		int index = randomNumbers.nextInt(2) + 1;
+		int index = random.nextInt(2) + 1;
 
 		if (index == 1) {
 			Card c = o.getVisibleCard();
@@ -88,8 +110,7 @@ public class VirtualPlayerRandom implements Strategy {
 	 */
 	@Override
 	public Offer offer(Player p) {
-		Random randomNumbers = new Random();
-		return performOffer(randomNumbers.nextInt(2) + 1, p);
+		return performOffer(random.nextInt(2) + 1, p);
 	}
 
 }
@@ -0,0 +1,211 @@
+package server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connexion d'un client au serveur. Les trames reçues sont accumulées dans un
+ * tampon de lecture par le thread du sélecteur ; les trames à envoyer peuvent
+ * être déposées depuis n'importe quel thread (tables de jeu) et sont écrites
+ * par le sélecteur, plusieurs à la fois.
+ */
+class Connection {
+
+	private static final int READ_BUFFER_SIZE = 512;
+	private static final int MAX_GATHER = 64;
+
+	private final GameServer server;
+	private final SocketChannel channel;
+	private SelectionKey key;
+	private ByteBuffer readBuffer;
+
+	private final Queue<ByteBuffer> outbound;
+	private final AtomicBoolean flushScheduled;
+	private final ByteBuffer[] gather;
+	private volatile boolean closed;
+
+	// Table et place du joueur, fixées par le sélecteur puis libérées par la table
+	private volatile Table table;
+	private volatile RemoteStrategy strategy;
+	private String name;
+
+	Connection(GameServer server, SocketChannel channel) {
+		this.server = server;
+		this.channel = channel;
+		this.readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		this.outbound = new ConcurrentLinkedQueue<>();
+		this.flushScheduled = new AtomicBoolean();
+		this.gather = new ByteBuffer[MAX_GATHER];
+	}
+
+	// === ENVOI ===
+
+	/**
+	 * Dépose une trame à envoyer. Peut être appelée depuis n'importe quel thread.
+	 *
+	 * @param frame la trame, prête à être lue
+	 */
+	void send(ByteBuffer frame) {
+		if (closed) {
+			return;
+		}
+		outbound.add(frame);
+		if (flushScheduled.compareAndSet(false, true)) {
+			server.scheduleFlush(this);
+		}
+	}
+
+	/**
+	 * Écrit autant de trames que possible sans bloquer, en une écriture
+	 * regroupée. Appelée par le thread du sélecteur.
+	 *
+	 * @throws IOException en cas d'erreur d'écriture
+	 */
+	void flush() throws IOException {
+		flushScheduled.set(false);
+		while (!outbound.isEmpty()) {
+			int count = 0;
+			for (ByteBuffer frame : outbound) {
+				gather[count++] = frame;
+				if (count == MAX_GATHER) {
+					break;
+				}
+			}
+			channel.write(gather, 0, count);
+
+			for (int i = 0; i < count; i++) {
+				if (gather[i].hasRemaining()) {
+					// Tampon d'envoi plein : reprendre quand le canal sera prêt
+					clearGather(count);
+					key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+					return;
+				}
+				outbound.poll();
+			}
+			clearGather(count);
+		}
+		key.interestOps(SelectionKey.OP_READ);
+	}
+
+	private void clearGather(int count) {
+		for (int i = 0; i < count; i++) {
+			gather[i] = null;
+		}
+	}
+
+	// === RÉCEPTION ===
+
+	/**
+	 * Lit les octets disponibles et retourne les trames complètes une à une.
+	 *
+	 * @return false si le client a fermé la connexion
+	 * @throws IOException en cas d'erreur de lecture ou de trame mal formée
+	 */
+	boolean read() throws IOException {
+		if (channel.read(readBuffer) < 0) {
+			return false;
+		}
+		readBuffer.flip();
+		while (readBuffer.remaining() >= 2) {
+			int length = readBuffer.getShort(readBuffer.position()) & 0xFFFF;
+			if (length == 0) {
+				throw new IOException("Trame vide");
+			}
+			if (readBuffer.remaining() < 2 + length) {
+				if (2 + length > readBuffer.capacity()) {
+					// Trame plus grande que le tampon : l'agrandir
+					ByteBuffer larger = ByteBuffer.allocate(2 + length);
+					larger.put(readBuffer);
+					readBuffer = larger;
+					return true;
+				}
+				break;
+			}
+			readBuffer.position(readBuffer.position() + 2);
+			byte type = readBuffer.get();
+			int end = readBuffer.position() + length - 1;
+			ByteBuffer payload = readBuffer.slice(readBuffer.position(), length - 1);
+			try {
+				server.handle(this, type, payload);
+			} catch (RuntimeException e) {
+				// Trame mal formée : seul ce client est déconnecté, pas le sélecteur
+				throw new IOException("Trame invalide : " + e, e);
+			}
+			readBuffer.position(end);
+		}
+		readBuffer.compact();
+		return true;
+	}
+
+	void close() {
+		closed = true;
+		outbound.clear();
+		RemoteStrategy s = strategy;
+		if (s != null) {
+			s.disconnect();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// Déjà fermée
+		}
+	}
+
+	// === ACCESSEURS ===
+
+	SocketChannel getChannel() {
+		return channel;
+	}
+
+	void setKey(SelectionKey key) {
+		this.key = key;
+	}
+
+	SelectionKey getKey() {
+		return key;
+	}
+
+	boolean isClosed() {
+		return closed;
+	}
+
+	Table getTable() {
+		return table;
+	}
+
+	RemoteStrategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * Place le client à une table.
+	 */
+	synchronized void seat(Table table, RemoteStrategy strategy) {
+		this.table = table;
+		this.strategy = strategy;
+	}
+
+	/**
+	 * Libère le client s'il est encore assis à cette table : il a pu en rejoindre
+	 * une autre entre-temps.
+	 */
+	synchronized void release(Table table) {
+		if (this.table == table) {
+			this.table = null;
+			this.strategy = null;
+		}
+	}
+
+	String getName() {
+		return name;
+	}
+
+	void setName(String name) {
+		this.name = name;
+	}
+}
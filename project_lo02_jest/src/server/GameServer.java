@@ -0,0 +1,343 @@
+package server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serveur hébergeant de nombreuses tables de Jest dans une seule JVM.
+ * <p>
+ * Un unique thread gère toutes les connexions par un sélecteur NIO non
+ * bloquant : acceptation, lecture des trames, et écriture regroupée des trames
+ * déposées par les tables. Chaque table joue sa partie dans un thread virtuel :
+ * une table qui attend la décision d'un client ne mobilise aucun thread
+ * système, ce qui permet d'en héberger des milliers.
+ * </p>
+ * <p>
+ * Un client rejoint une table en indiquant sa configuration (nombre de joueurs,
+ * nombre de bots, mode, extension) ; il est placé à une table en attente de
+ * même configuration, et la partie démarre dès que toutes les places humaines
+ * sont occupées.
+ * </p>
+ *
+ * @see server.Protocol
+ * @see server.LoadGenerator
+ */
+public class GameServer implements Runnable, Closeable {
+
+	/** Port d'écoute par défaut. */
+	public static final int DEFAULT_PORT = 7431;
+
+	private final ServerSocketChannel serverChannel;
+	private final Selector selector;
+	private final ExecutorService tables;
+	private volatile boolean running;
+	private volatile boolean looping;
+
+	// Connexions dont des trames attendent d'être écrites
+	private final Queue<Connection> pendingFlushes;
+	private final AtomicBoolean wakeupPending;
+
+	// Tables en attente de joueurs, par configuration (sélecteur uniquement)
+	private final Map<Integer, Table> waitingTables;
+	private final AtomicInteger nextTableId;
+
+	// Statistiques
+	private final AtomicInteger activeTables;
+	private final AtomicLong finishedGames;
+	private final AtomicInteger connections;
+
+	/**
+	 * Ouvre le serveur sur un port.
+	 *
+	 * @param port le port d'écoute (0 pour un port libre quelconque)
+	 * @throws IOException si le port ne peut pas être ouvert
+	 */
+	public GameServer(int port) throws IOException {
+		this.selector = Selector.open();
+		this.serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(new InetSocketAddress(port), 1024);
+		serverChannel.configureBlocking(false);
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+		this.tables = Executors.newVirtualThreadPerTaskExecutor();
+		this.pendingFlushes = new ConcurrentLinkedQueue<>();
+		this.wakeupPending = new AtomicBoolean();
+		this.waitingTables = new HashMap<>();
+		this.nextTableId = new AtomicInteger();
+		this.activeTables = new AtomicInteger();
+		this.finishedGames = new AtomicLong();
+		this.connections = new AtomicInteger();
+	}
+
+	/**
+	 * Démarre la boucle du sélecteur dans un thread dédié.
+	 *
+	 * @return le thread du sélecteur
+	 */
+	public Thread start() {
+		running = true;
+		Thread thread = new Thread(this, "jest-server");
+		thread.start();
+		return thread;
+	}
+
+	/**
+	 * Boucle du sélecteur : traite les connexions jusqu'à {@link #close()}.
+	 */
+	@Override
+	public void run() {
+		running = true;
+		looping = true;
+		try {
+			while (running) {
+				selector.select();
+				wakeupPending.set(false);
+				flushPending();
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+					if (key.isAcceptable()) {
+						accept();
+					} else {
+						Connection connection = (Connection) key.attachment();
+						try {
+							if (key.isReadable() && !connection.read()) {
+								disconnect(connection);
+								continue;
+							}
+							if (key.isValid() && key.isWritable()) {
+								connection.flush();
+							}
+						} catch (IOException e) {
+							disconnect(connection);
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			if (running) {
+				System.err.println("Erreur du serveur : " + e.getMessage());
+			}
+		} finally {
+			looping = false;
+			closeChannels();
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel;
+		while ((channel = serverChannel.accept()) != null) {
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			Connection connection = new Connection(this, channel);
+			connection.setKey(channel.register(selector, SelectionKey.OP_READ, connection));
+			connections.incrementAndGet();
+		}
+	}
+
+	private void disconnect(Connection connection) {
+		if (connection.isClosed()) {
+			return;
+		}
+		connection.getKey().cancel();
+		connection.close();
+		connections.decrementAndGet();
+		// Un client parti avant le début de la partie libère sa place
+		Table table = connection.getTable();
+		if (table != null && waitingTables.containsValue(table)) {
+			waitingTables.values().remove(table);
+			for (Connection other : table.seatsSnapshot()) {
+				if (other != connection) {
+					other.release(table);
+					other.send(Table.errorFrame("Table annulée"));
+				}
+			}
+		}
+	}
+
+	// === ÉCRITURES ===
+
+	/**
+	 * Signale qu'une connexion a des trames à écrire. Peut être appelée depuis
+	 * n'importe quel thread ; le sélecteur n'est réveillé qu'une fois pour un lot
+	 * de connexions.
+	 */
+	void scheduleFlush(Connection connection) {
+		pendingFlushes.add(connection);
+		if (wakeupPending.compareAndSet(false, true)) {
+			selector.wakeup();
+		}
+	}
+
+	private void flushPending() {
+		Connection connection;
+		while ((connection = pendingFlushes.poll()) != null) {
+			if (connection.isClosed()) {
+				continue;
+			}
+			try {
+				connection.flush();
+			} catch (IOException e) {
+				disconnect(connection);
+			}
+		}
+	}
+
+	// === MESSAGES ===
+
+	/**
+	 * Traite une trame reçue d'un client. Appelée par le thread du sélecteur.
+	 */
+	void handle(Connection connection, byte type, ByteBuffer payload) {
+		switch (type) {
+		case Protocol.JOIN:
+			join(connection, payload);
+			break;
+		case Protocol.DECISION:
+			RemoteStrategy strategy = connection.getStrategy();
+			if (strategy != null && payload.hasRemaining()) {
+				strategy.provideDecision(payload.get() & 0xFF);
+			}
+			break;
+		case Protocol.LEAVE:
+			disconnect(connection);
+			break;
+		default:
+			connection.send(Table.errorFrame("Message inconnu : " + type));
+		}
+	}
+
+	private void join(Connection connection, ByteBuffer payload) {
+		if (connection.getTable() != null) {
+			connection.send(Table.errorFrame("Déjà assis à une table"));
+			return;
+		}
+		if (payload.remaining() < 5) {
+			connection.send(Table.errorFrame("Demande invalide"));
+			return;
+		}
+		int nbPlayers = payload.get();
+		int nbBots = payload.get();
+		int mode = payload.get();
+		boolean extensionActive = payload.get() != 0;
+		String name;
+		try {
+			name = Protocol.getString(payload);
+		} catch (IllegalArgumentException e) {
+			connection.send(Table.errorFrame("Demande invalide"));
+			return;
+		}
+		if (nbPlayers < 3 || nbPlayers > 4 || nbBots < 0 || nbBots >= nbPlayers || mode < 0 || mode > 2) {
+			connection.send(Table.errorFrame("Configuration de table invalide"));
+			return;
+		}
+		connection.setName(name.isEmpty() ? "Joueur" : name);
+
+		int config = ((nbPlayers * 8 + nbBots) * 4 + mode) * 2 + (extensionActive ? 1 : 0);
+		Table table = waitingTables.get(config);
+		if (table == null) {
+			table = new Table(this, nextTableId.incrementAndGet(), nbPlayers, nbBots, mode, extensionActive);
+			waitingTables.put(config, table);
+		}
+		table.join(connection);
+		if (table.isFull()) {
+			waitingTables.remove(config);
+			activeTables.incrementAndGet();
+			tables.execute(table);
+		}
+	}
+
+	/**
+	 * Signale la fin d'une partie. Appelée par la table.
+	 */
+	void tableFinished(Table table) {
+		activeTables.decrementAndGet();
+		finishedGames.incrementAndGet();
+	}
+
+	// === STATISTIQUES ===
+
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	public int getActiveTables() {
+		return activeTables.get();
+	}
+
+	public long getFinishedGames() {
+		return finishedGames.get();
+	}
+
+	public int getConnections() {
+		return connections.get();
+	}
+
+	/**
+	 * Arrête le serveur : ferme les connexions et interrompt les tables en
+	 * cours.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		tables.shutdownNow();
+		if (looping) {
+			// La boucle du sélecteur ferme les connexions en se terminant
+			selector.wakeup();
+		} else {
+			closeChannels();
+		}
+	}
+
+	private synchronized void closeChannels() {
+		if (!selector.isOpen()) {
+			return;
+		}
+		for (SelectionKey key : selector.keys()) {
+			if (key.attachment() instanceof Connection connection) {
+				connection.close();
+			}
+		}
+		try {
+			serverChannel.close();
+			selector.close();
+		} catch (IOException e) {
+			System.err.println("Erreur à la fermeture du serveur : " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Lance un serveur en ligne de commande.
+	 *
+	 * @param args optionnellement, le port d'écoute
+	 * @throws IOException si le port ne peut pas être ouvert
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		GameServer server = new GameServer(port);
+		System.out.println("Serveur Jest à l'écoute sur le port " + server.getPort());
+		server.run();
+	}
+}
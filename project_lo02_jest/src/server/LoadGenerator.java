@@ -0,0 +1,209 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client de charge pour le {@link GameServer}. Ouvre de nombreuses connexions
+ * depuis un seul thread (sélecteur NIO), chacune jouant des parties à une table
+ * de 3 joueurs (1 client et 2 bots) en répondant immédiatement et au hasard à
+ * chaque demande. Affiche le débit de parties et de décisions.
+ */
+public class LoadGenerator {
+
+	private static final byte[] JOIN_PAYLOAD = { 3, 2, 0, 0 };
+
+	private final Selector selector;
+	private final Random random;
+	private final int gamesPerClient;
+
+	private int clientsDone;
+	private long games;
+	private long decisions;
+
+	/**
+	 * État d'un client simulé.
+	 */
+	private static class Client {
+		final SocketChannel channel;
+		final ByteBuffer in = ByteBuffer.allocate(4096);
+		final ByteBuffer out = ByteBuffer.allocate(4096);
+		int gamesPlayed;
+
+		Client(SocketChannel channel) {
+			this.channel = channel;
+			out.flip();
+		}
+	}
+
+	private LoadGenerator(int gamesPerClient, long seed) throws IOException {
+		this.selector = Selector.open();
+		this.random = new Random(seed);
+		this.gamesPerClient = gamesPerClient;
+	}
+
+	/**
+	 * Lance la charge et attend que chaque client ait joué ses parties.
+	 */
+	private void run(InetSocketAddress address, int nbClients) throws IOException {
+		for (int i = 0; i < nbClients; i++) {
+			SocketChannel channel = SocketChannel.open(address);
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			Client client = new Client(channel);
+			channel.register(selector, SelectionKey.OP_READ, client);
+			join(client);
+			flush(client);
+		}
+
+		while (clientsDone < nbClients) {
+			selector.select();
+			Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+			while (keys.hasNext()) {
+				SelectionKey key = keys.next();
+				keys.remove();
+				Client client = (Client) key.attachment();
+				if (key.isValid() && key.isReadable()) {
+					read(client);
+				}
+				if (key.isValid() && key.isWritable()) {
+					flush(client);
+				}
+			}
+		}
+
+		for (SelectionKey key : selector.keys()) {
+			key.channel().close();
+		}
+		selector.close();
+	}
+
+	private void read(Client client) throws IOException {
+		if (client.channel.read(client.in) < 0) {
+			throw new IOException("Connexion fermée par le serveur");
+		}
+		client.in.flip();
+		while (client.in.remaining() >= 2) {
+			int length = client.in.getShort(client.in.position()) & 0xFFFF;
+			if (client.in.remaining() < 2 + length) {
+				break;
+			}
+			client.in.position(client.in.position() + 2);
+			byte type = client.in.get();
+			int end = client.in.position() + length - 1;
+			handle(client, type, client.in);
+			client.in.position(end);
+		}
+		client.in.compact();
+		flush(client);
+	}
+
+	private void handle(Client client, byte type, ByteBuffer payload) {
+		switch (type) {
+		case Protocol.PROMPT_OFFER:
+			decide(client, 1 + random.nextInt(2));
+			break;
+		case Protocol.PROMPT_TARGET:
+			decide(client, 1 + random.nextInt(payload.get(payload.position())));
+			break;
+		case Protocol.PROMPT_CARD:
+			boolean hidden = payload.get(payload.position() + 2) != 0;
+			decide(client, hidden ? 1 + random.nextInt(2) : 1);
+			break;
+		case Protocol.GAME_ENDED:
+			games++;
+			client.gamesPlayed++;
+			if (client.gamesPlayed < gamesPerClient) {
+				join(client);
+			} else {
+				clientsDone++;
+			}
+			break;
+		case Protocol.ERROR:
+			System.err.println("Erreur du serveur : " + Protocol.getString(payload));
+			break;
+		default:
+			// Événements de la partie : ignorés
+		}
+	}
+
+	private void decide(Client client, int code) {
+		decisions++;
+		enqueue(client, Protocol.frame(Protocol.DECISION, code));
+	}
+
+	private void join(Client client) {
+		ByteBuffer frame = Protocol.start(Protocol.JOIN, JOIN_PAYLOAD.length + Protocol.stringSize("bot"));
+		frame.put(JOIN_PAYLOAD);
+		Protocol.putString(frame, "bot");
+		enqueue(client, Protocol.finish(frame));
+	}
+
+	private void enqueue(Client client, ByteBuffer frame) {
+		client.out.compact();
+		client.out.put(frame);
+		client.out.flip();
+	}
+
+	private void flush(Client client) throws IOException {
+		if (client.out.hasRemaining()) {
+			client.channel.write(client.out);
+		}
+		SelectionKey key = client.channel.keyFor(selector);
+		key.interestOps(client.out.hasRemaining() ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+				: SelectionKey.OP_READ);
+	}
+
+	/**
+	 * Point d'entrée du générateur de charge.
+	 * <p>
+	 * Arguments : nombre de clients (une table chacun), nombre de parties par
+	 * client, et optionnellement l'hôte et le port du serveur. Sans hôte, un
+	 * serveur est démarré dans la même JVM.
+	 * </p>
+	 *
+	 * @param args les arguments de la charge
+	 * @throws Exception en cas d'erreur réseau
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.out.println("Usage : LoadGenerator <clients> <parties par client> [hôte] [port]");
+			return;
+		}
+		int nbClients = Integer.parseInt(args[0]);
+		int gamesPerClient = Integer.parseInt(args[1]);
+
+		GameServer server = null;
+		InetSocketAddress address;
+		if (args.length > 2) {
+			int port = args.length > 3 ? Integer.parseInt(args[3]) : GameServer.DEFAULT_PORT;
+			address = new InetSocketAddress(args[2], port);
+		} else {
+			server = new GameServer(0);
+			server.start();
+			address = new InetSocketAddress("localhost", server.getPort());
+		}
+
+		LoadGenerator generator = new LoadGenerator(gamesPerClient, 42);
+		long start = System.nanoTime();
+		generator.run(address, nbClients);
+		long elapsed = System.nanoTime() - start;
+
+		double seconds = elapsed / 1e9;
+		System.out.println(generator.games + " parties sur " + nbClients + " tables en "
+				+ TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms : " + (long) (generator.games / seconds)
+				+ " parties/s, " + (long) (generator.decisions / seconds) + " décisions/s");
+
+		if (server != null) {
+			server.close();
+		}
+	}
+}
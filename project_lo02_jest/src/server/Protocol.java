@@ -0,0 +1,180 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protocole binaire entre le serveur de tables et ses clients.
+ * <p>
+ * Chaque message est une trame : longueur (2 octets, type compris), type (1
+ * octet), puis le contenu. Les cartes sont codées sur un octet comme dans
+ * {@link model.CompactGameState} (0xFF pour une carte absente) et les joueurs
+ * par leur place à la table (0-based). Les décisions utilisent les codes des
+ * replays : 1 ou 2 pour cacher la première ou la seconde carte de la main, ou
+ * pour prendre la carte visible ou cachée d'une offre, et l'index (1-based)
+ * d'une offre proposée pour choisir une cible.
+ * </p>
+ * <p>
+ * Client vers serveur :
+ * </p>
+ * <ul>
+ * <li>{@link #JOIN} : nombre de joueurs, nombre de bots, mode, extension (0/1),
+ * nom (chaîne)</li>
+ * <li>{@link #DECISION} : code de décision</li>
+ * <li>{@link #LEAVE} : aucun contenu</li>
+ * </ul>
+ * <p>
+ * Serveur vers client :
+ * </p>
+ * <ul>
+ * <li>{@link #JOINED} : numéro de table (4 octets), place</li>
+ * <li>{@link #GAME_STARTED} : nombre de joueurs, mode, extension</li>
+ * <li>{@link #ROUND_STARTED} : numéro du round</li>
+ * <li>{@link #HAND} : les deux cartes de la main du joueur</li>
+ * <li>{@link #TROPHIES} : les deux cartes trophées</li>
+ * <li>{@link #STACK} : nombre de cartes, puis les cartes</li>
+ * <li>{@link #OFFER_MADE} : place, carte visible</li>
+ * <li>{@link #CARD_CHOSEN} : place du joueur, place de la cible, carte</li>
+ * <li>{@link #PROMPT_OFFER} : les deux cartes de la main</li>
+ * <li>{@link #PROMPT_TARGET} : nombre d'offres, puis pour chacune la place du
+ * propriétaire et la carte visible</li>
+ * <li>{@link #PROMPT_CARD} : place du propriétaire, carte visible, 1 si la
+ * carte cachée est présente</li>
+ * <li>{@link #GAME_ENDED} : place du gagnant, nombre de joueurs, puis le score
+ * de chacun (2 octets signés)</li>
+ * <li>{@link #ERROR} : message (chaîne)</li>
+ * </ul>
+ * <p>
+ * Une chaîne est codée par sa longueur en octets (1 octet) suivie de son
+ * contenu UTF-8.
+ * </p>
+ */
+public final class Protocol {
+
+	/** Taille de l'en-tête d'une trame (longueur et type). */
+	public static final int HEADER_SIZE = 3;
+
+	/** Taille maximale du contenu d'une trame. */
+	public static final int MAX_PAYLOAD = 0xFFFF - 1;
+
+	// === CLIENT VERS SERVEUR ===
+
+	public static final byte JOIN = 0x01;
+	public static final byte DECISION = 0x02;
+	public static final byte LEAVE = 0x03;
+
+	// === SERVEUR VERS CLIENT ===
+
+	public static final byte JOINED = (byte) 0x81;
+	public static final byte GAME_STARTED = (byte) 0x82;
+	public static final byte ROUND_STARTED = (byte) 0x83;
+	public static final byte HAND = (byte) 0x84;
+	public static final byte TROPHIES = (byte) 0x85;
+	public static final byte STACK = (byte) 0x86;
+	public static final byte OFFER_MADE = (byte) 0x87;
+	public static final byte CARD_CHOSEN = (byte) 0x88;
+	public static final byte PROMPT_OFFER = (byte) 0x89;
+	public static final byte PROMPT_TARGET = (byte) 0x8A;
+	public static final byte PROMPT_CARD = (byte) 0x8B;
+	public static final byte GAME_ENDED = (byte) 0x8C;
+	public static final byte ERROR = (byte) 0x8F;
+
+	private Protocol() {
+	}
+
+	/**
+	 * Prépare une trame vide d'un type donné, prête à recevoir son contenu.
+	 * L'appelant termine la trame avec {@link #finish(ByteBuffer)}.
+	 *
+	 * @param type        le type de la trame
+	 * @param payloadSize la taille maximale du contenu
+	 * @return le tampon de la trame, positionné après l'en-tête
+	 */
+	public static ByteBuffer start(byte type, int payloadSize) {
+		ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+		frame.position(2);
+		frame.put(type);
+		return frame;
+	}
+
+	/**
+	 * Écrit la longueur d'une trame préparée par {@link #start(byte, int)} et la
+	 * prépare à l'envoi.
+	 *
+	 * @param frame la trame remplie
+	 * @return la même trame, prête à être lue
+	 */
+	public static ByteBuffer finish(ByteBuffer frame) {
+		frame.putShort(0, (short) (frame.position() - 2));
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Construit une trame dont le contenu est une suite d'octets.
+	 *
+	 * @param type   le type de la trame
+	 * @param values les octets du contenu (0 à 255)
+	 * @return la trame, prête à être envoyée
+	 */
+	public static ByteBuffer frame(byte type, int... values) {
+		ByteBuffer frame = start(type, values.length);
+		for (int value : values) {
+			frame.put((byte) value);
+		}
+		return finish(frame);
+	}
+
+	/**
+	 * Écrit une chaîne (longueur sur un octet puis UTF-8, tronquée à 255
+	 * octets sans couper de caractère).
+	 *
+	 * @param out   le tampon de destination
+	 * @param value la chaîne à écrire
+	 */
+	public static void putString(ByteBuffer out, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		int length = bytes.length;
+		if (length > 0xFF) {
+			length = 0xFF;
+			// Recule jusqu'au début d'un caractère (octet qui n'est pas de continuation)
+			while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+				length--;
+			}
+		}
+		out.put((byte) length);
+		out.put(bytes, 0, length);
+	}
+
+	/**
+	 * Lit une chaîne écrite par {@link #putString(ByteBuffer, String)}.
+	 *
+	 * @param in le tampon source
+	 * @return la chaîne lue
+	 * @throws IllegalArgumentException si la longueur annoncée dépasse les
+	 *                                  octets restants de la trame
+	 */
+	public static String getString(ByteBuffer in) {
+		if (!in.hasRemaining()) {
+			throw new IllegalArgumentException("Chaîne absente");
+		}
+		int length = in.get() & 0xFF;
+		if (length > in.remaining()) {
+			throw new IllegalArgumentException("Chaîne tronquée : " + length + " octets annoncés, " + in.remaining()
+					+ " reçus");
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Retourne la taille maximale d'une chaîne encodée.
+	 *
+	 * @param value la chaîne
+	 * @return la taille en octets, longueur comprise
+	 */
+	public static int stringSize(String value) {
+		return 1 + Math.min(value.length() * 3, 0xFF);
+	}
+}
@@ -0,0 +1,141 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import model.Card;
+import model.CompactGameState;
+import model.GameClock;
+import model.Offer;
+import model.Player;
+import model.Strategy;
+
+/**
+ * Stratégie d'un joueur distant. Chaque décision est demandée au client par une
+ * trame de type PROMPT, puis la boucle de la table attend le code de décision
+ * reçu par le sélecteur. Un joueur déconnecté, ou qui ne répond pas à temps,
+ * joue le premier choix possible. Les délais sont tenus par la pendule de la
+ * table : un délai par coup et une réserve pour toute la partie.
+ */
+public class RemoteStrategy implements Strategy {
+
+	/** Délai accordé au client pour chaque décision, en secondes. */
+	public static final long DECISION_TIMEOUT_SECONDS = 60;
+
+	/** Réserve de temps de chaque client pour toute la partie, en secondes. */
+	public static final long GAME_TIME_SECONDS = 600;
+
+	// Code déposé par la pendule quand le délai est dépassé
+	private static final int TIMED_OUT = -1;
+
+	private final Connection connection;
+	private final Table table;
+	private final BlockingQueue<Integer> decisions;
+	private volatile boolean disconnected;
+
+	RemoteStrategy(Connection connection, Table table) {
+		this.connection = connection;
+		this.table = table;
+		this.decisions = new LinkedBlockingQueue<>();
+	}
+
+	/**
+	 * Transmet un code de décision reçu du client. Appelée par le sélecteur.
+	 *
+	 * @param code le code de décision
+	 */
+	void provideDecision(int code) {
+		decisions.offer(code);
+	}
+
+	/**
+	 * Marque le joueur comme déconnecté : la décision en attente et les suivantes
+	 * prennent leur valeur par défaut.
+	 */
+	void disconnect() {
+		disconnected = true;
+		decisions.offer(0);
+	}
+
+	@Override
+	public Offer performOffer(int i, Player p) {
+		if (i == 2) {
+			return new Offer(p.getHand().get(0), p.getHand().get(1), p);
+		}
+		// 1 ou réponse invalide : cacher la première carte
+		return new Offer(p.getHand().get(1), p.getHand().get(0), p);
+	}
+
+	@Override
+	public Offer offer(Player p) {
+		ByteBuffer prompt = Protocol.frame(Protocol.PROMPT_OFFER, CompactGameState.cardCode(p.getHand().get(0)),
+				CompactGameState.cardCode(p.getHand().get(1)));
+		return performOffer(ask(p, prompt), p);
+	}
+
+	@Override
+	public Player chooseTarget(Player p, List<Offer> available) {
+		ByteBuffer prompt = Protocol.start(Protocol.PROMPT_TARGET, 1 + 2 * available.size());
+		prompt.put((byte) available.size());
+		for (Offer o : available) {
+			prompt.put((byte) table.seatOf(o.getOwner()));
+			prompt.put((byte) CompactGameState.cardCode(o.getVisibleCard()));
+		}
+
+		int index = ask(p, Protocol.finish(prompt));
+		if (index < 1 || index > available.size()) {
+			return null;
+		}
+		return available.get(index - 1).getOwner();
+	}
+
+	@Override
+	public Card choose(Player current, Offer o, List<Card> stack) {
+		int choice = ask(current, Protocol.frame(Protocol.PROMPT_CARD, table.seatOf(o.getOwner()),
+				CompactGameState.cardCode(o.getVisibleCard()), o.getHiddenCard() != null ? 1 : 0));
+
+		// Une réponse invalide prend la carte restante plutôt que rien
+		if ((choice == 2 && o.getHiddenCard() != null) || o.getVisibleCard() == null) {
+			Card c = o.getHiddenCard();
+			o.removeHiddenCard();
+			return c;
+		}
+		Card c = o.getVisibleCard();
+		o.removeVisibleCard();
+		return c;
+	}
+
+	@Override
+	public void displayHand(Player p) {
+		// La main est envoyée au client à la distribution
+	}
+
+	/**
+	 * Envoie une demande au client et attend sa réponse, pendule du joueur en
+	 * marche.
+	 *
+	 * @return le code reçu, ou 1 si le client est déconnecté ou trop lent
+	 */
+	private int ask(Player p, ByteBuffer prompt) {
+		// Vider avant de tester la déconnexion : un réveil déposé par disconnect()
+		// juste après le test n'est ainsi jamais effacé
+		decisions.clear();
+		if (disconnected) {
+			return 1;
+		}
+		GameClock clock = table.getClock();
+		connection.send(prompt);
+		clock.start(table.seatOf(p), () -> decisions.offer(TIMED_OUT));
+		try {
+			int code = decisions.take();
+			return code != TIMED_OUT && !disconnected ? code : 1;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return 1;
+		} finally {
+			clock.stop();
+		}
+	}
+}
@@ -0,0 +1,247 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import controller.GameController;
+import model.Card;
+import model.CompactGameState;
+import model.GameClock;
+import model.Offer;
+import model.Player;
+import model.TableSnapshot;
+import model.TimingWheel;
+import model.VirtualPlayerCheater;
+import model.VirtualPlayerRandom;
+import view.GameObserver;
+
+/**
+ * Table de jeu hébergée par le serveur : une session {@link GameController}
+ * dont les places humaines sont tenues par des clients distants et les autres
+ * par des bots. La table relaie les événements de la partie aux clients assis.
+ */
+class Table implements GameObserver, Runnable {
+
+	private final GameServer server;
+	private final int id;
+	private final int nbPlayers;
+	private final int nbBots;
+	private final int mode;
+	private final boolean extensionActive;
+
+	// Clients assis, dans l'ordre des places (les bots occupent les dernières)
+	private final List<Connection> seats;
+	private final List<RemoteStrategy> strategies;
+	private GameController controller;
+	private GameClock clock;
+
+	Table(GameServer server, int id, int nbPlayers, int nbBots, int mode, boolean extensionActive) {
+		this.server = server;
+		this.id = id;
+		this.nbPlayers = nbPlayers;
+		this.nbBots = nbBots;
+		this.mode = mode;
+		this.extensionActive = extensionActive;
+		this.seats = new ArrayList<>();
+		this.strategies = new ArrayList<>();
+	}
+
+	/**
+	 * Assoit un client à la prochaine place libre.
+	 *
+	 * @return la place attribuée
+	 */
+	int join(Connection connection) {
+		RemoteStrategy strategy = new RemoteStrategy(connection, this);
+		seats.add(connection);
+		strategies.add(strategy);
+		int seat = seats.size() - 1;
+		connection.seat(this, strategy);
+		ByteBuffer joined = Protocol.start(Protocol.JOINED, 5);
+		joined.putInt(id);
+		joined.put((byte) seat);
+		connection.send(Protocol.finish(joined));
+		return seat;
+	}
+
+	List<Connection> seatsSnapshot() {
+		return new ArrayList<>(seats);
+	}
+
+	boolean isFull() {
+		return seats.size() == nbPlayers - nbBots;
+	}
+
+	/**
+	 * Joue la partie complète. Exécutée par l'exécuteur des tables du serveur.
+	 */
+	@Override
+	public void run() {
+		long seed = new Random().nextLong();
+		Random bots = new Random(seed);
+
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < seats.size(); i++) {
+			players.add(new Player(seats.get(i).getName(), strategies.get(i)));
+		}
+		for (int i = 0; i < nbBots; i++) {
+			if (bots.nextBoolean()) {
+				players.add(new Player("HAL-9000-" + (i + 1), new VirtualPlayerCheater()));
+			} else {
+				players.add(new Player("Bender-" + (i + 1), new VirtualPlayerRandom()));
+			}
+		}
+
+		clock = new GameClock(TimingWheel.shared(), players.size(), RemoteStrategy.DECISION_TIMEOUT_SECONDS,
+				RemoteStrategy.GAME_TIME_SECONDS, TimeUnit.SECONDS);
+		controller = new GameController();
+		controller.setSpeed(0);
+		controller.setHistoryEnabled(false);
+		controller.addObserver(this);
+		try {
+			controller.startGame(players, mode, extensionActive, seed);
+			controller.runGameLoop();
+		} catch (RuntimeException e) {
+			broadcast(errorFrame("Partie interrompue : " + e.getMessage()));
+			System.err.println("Table " + id + " : " + e);
+		} finally {
+			clock.stop();
+			releaseSeats();
+			server.tableFinished(this);
+		}
+	}
+
+	/**
+	 * Libère les clients, qui peuvent alors rejoindre une autre table.
+	 */
+	private void releaseSeats() {
+		for (Connection c : seats) {
+			c.release(this);
+		}
+	}
+
+	int seatOf(Player player) {
+		return controller.getPlayers().indexOf(player);
+	}
+
+	GameClock getClock() {
+		return clock;
+	}
+
+	int getId() {
+		return id;
+	}
+
+	private void broadcast(ByteBuffer frame) {
+		for (Connection c : seats) {
+			c.send(frame.duplicate());
+		}
+	}
+
+	static ByteBuffer errorFrame(String message) {
+		ByteBuffer frame = Protocol.start(Protocol.ERROR, Protocol.stringSize(message));
+		Protocol.putString(frame, message);
+		return Protocol.finish(frame);
+	}
+
+	// === OBSERVATEUR ===
+
+	@Override
+	public void onGameStarted(int nbPlayers, int mode, boolean extensionActive) {
+		broadcast(Protocol.frame(Protocol.GAME_STARTED, nbPlayers, mode, extensionActive ? 1 : 0));
+	}
+
+	@Override
+	public void onRoundStarted(int roundNumber) {
+		broadcast(Protocol.frame(Protocol.ROUND_STARTED, roundNumber));
+	}
+
+	@Override
+	public void onCardsDistributed(List<Player> players) {
+		// Chaque client ne reçoit que sa propre main
+		for (int seat = 0; seat < seats.size(); seat++) {
+			List<Card> hand = players.get(seat).getHand();
+			seats.get(seat).send(Protocol.frame(Protocol.HAND, CompactGameState.cardCode(hand.get(0)),
+					CompactGameState.cardCode(hand.get(1))));
+		}
+	}
+
+	@Override
+	public void onPlayerTurnToOffer(Player player) {
+		// La demande est envoyée par la stratégie du joueur concerné
+	}
+
+	@Override
+	public void onOfferMade(Player player, Offer offer) {
+		broadcast(Protocol.frame(Protocol.OFFER_MADE, seatOf(player), CompactGameState.cardCode(offer.getVisibleCard())));
+	}
+
+	@Override
+	public void onPlayerTurnToChoose(Player player, List<Offer> availableOffers) {
+		// La demande est envoyée par la stratégie du joueur concerné
+	}
+
+	@Override
+	public void onCardChosen(Player chooser, Player target, Card card) {
+		broadcast(Protocol.frame(Protocol.CARD_CHOSEN, seatOf(chooser), seatOf(target), CompactGameState.cardCode(card)));
+	}
+
+	@Override
+	public void onRoundEnded(List<Player> players) {
+	}
+
+	@Override
+	public void onGameEnded(Player winner, List<Player> players, int[] scores) {
+		ByteBuffer frame = Protocol.start(Protocol.GAME_ENDED, 2 + 2 * scores.length);
+		frame.put((byte) seatOf(winner));
+		frame.put((byte) scores.length);
+		for (int score : scores) {
+			frame.putShort((short) score);
+		}
+		// Libérer les places avant d'annoncer la fin, pour qu'un client puisse
+		// rejoindre une table dès réception
+		releaseSeats();
+		broadcast(Protocol.finish(frame));
+	}
+
+	@Override
+	public void onTrophyCardsDisplayed(Card trophy1, Card trophy2) {
+		broadcast(Protocol.frame(Protocol.TROPHIES, CompactGameState.cardCode(trophy1),
+				CompactGameState.cardCode(trophy2)));
+	}
+
+	@Override
+	public void onStackDisplayed(List<Card> stack) {
+		ByteBuffer frame = Protocol.start(Protocol.STACK, 1 + stack.size());
+		frame.put((byte) stack.size());
+		for (Card c : stack) {
+			frame.put((byte) CompactGameState.cardCode(c));
+		}
+		broadcast(Protocol.finish(frame));
+	}
+
+	@Override
+	public void onGameSaved(String saveName) {
+	}
+
+	@Override
+	public void onGameLoaded(String saveName) {
+	}
+
+	@Override
+	public void onStateRestored(int decisionIndex) {
+	}
+
+	@Override
+	public void onSnapshot(TableSnapshot snapshot) {
+		// Les clients reçoivent les événements, pas l'état complet
+	}
+
+	@Override
+	public void onError(String errorMessage) {
+		broadcast(errorFrame(errorMessage));
+	}
+}
@@ -0,0 +1,15 @@
+/**
+ * Serveur de parties Jest en réseau.
+ * <p>
+ * Ce package héberge de nombreuses tables dans une seule JVM : chaque table est
+ * une session {@link controller.GameController}, les connexions sont gérées par
+ * un sélecteur NIO non bloquant, et les joueurs distants sont branchés sur le
+ * jeu comme des {@link model.Strategy} alimentées par les messages reçus. Le
+ * protocole binaire est décrit dans {@link server.Protocol}.
+ * </p>
+ *
+ * @author Mathéo A.
+ * @author Jules CS
+ * @version 1.0
+ */
+package server;
@@ -0,0 +1,153 @@
+package view;
+
+import java.io.PrintStream;
+
+import model.Terminal;
+
+/**
+ * Affichage en mode console par écrans entiers.
+ * <p>
+ * Le texte d'un écran est assemblé dans un tampon réutilisé, puis écrit en une
+ * seule fois par {@link #flush()} : une seule écriture sur la sortie au lieu
+ * d'une par ligne, ce qui compte sur une connexion SSH lente ou une sortie
+ * redirigée. L'écran est effacé par une séquence ANSI plutôt que par des
+ * dizaines de lignes vides, et les pauses laissées au joueur pour suivre la
+ * partie sont réglables, voire supprimées.
+ * </p>
+ * <p>
+ * Utilisable depuis plusieurs threads : les vues reçoivent les événements et
+ * posent les questions depuis des threads différents.
+ * </p>
+ */
+public class ConsoleRenderer {
+
+	// Curseur en haut à gauche, puis effacement de l'écran
+	private static final String ANSI_CLEAR = "\033[H\033[2J";
+
+	// Au-delà, le tampon est libéré après l'écriture plutôt que conservé
+	private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private static ConsoleRenderer standard;
+
+	private final PrintStream out;
+	private final boolean ansi;
+	private StringBuilder frame;
+	private volatile double delayFactor;
+
+	/**
+	 * Construit un affichage sur un flux de sortie.
+	 *
+	 * @param out         le flux de sortie
+	 * @param ansi        true si le flux est un terminal qui comprend les
+	 *                    séquences ANSI
+	 * @param delayFactor le multiplicateur des pauses (1.0 pour le rythme
+	 *                    normal, 0 pour aucune pause)
+	 */
+	public ConsoleRenderer(PrintStream out, boolean ansi, double delayFactor) {
+		this.out = out;
+		this.ansi = ansi;
+		this.delayFactor = delayFactor;
+		this.frame = new StringBuilder(1024);
+	}
+
+	/**
+	 * Retourne l'affichage partagé sur la sortie standard. Si la sortie n'est pas
+	 * un terminal (redirection vers un fichier ou un autre programme), l'écran
+	 * n'est pas effacé et les pauses sont supprimées. La détection peut être
+	 * forcée par la propriété {@value Terminal#PROPERTY}.
+	 *
+	 * @return l'affichage de la sortie standard
+	 */
+	public static synchronized ConsoleRenderer getStandard() {
+		if (standard == null) {
+			boolean terminal = Terminal.isTerminal();
+			standard = new ConsoleRenderer(System.out, terminal, terminal ? 1.0 : 0);
+		}
+		return standard;
+	}
+
+	/**
+	 * Règle la durée des pauses.
+	 *
+	 * @param delayFactor le multiplicateur des pauses (1.0 pour le rythme normal,
+	 *                    0 pour aucune pause)
+	 */
+	public void setDelayFactor(double delayFactor) {
+		this.delayFactor = delayFactor;
+	}
+
+	public double getDelayFactor() {
+		return delayFactor;
+	}
+
+	// === CONSTRUCTION DE L'ÉCRAN ===
+
+	/**
+	 * Ajoute une ligne à l'écran en cours.
+	 *
+	 * @param text le texte de la ligne
+	 */
+	public synchronized void println(Object text) {
+		frame.append(text).append(System.lineSeparator());
+	}
+
+	/**
+	 * Ajoute une ligne vide à l'écran en cours.
+	 */
+	public synchronized void println() {
+		frame.append(System.lineSeparator());
+	}
+
+	/**
+	 * Ajoute du texte à l'écran en cours, sans passer à la ligne (invite de
+	 * saisie par exemple).
+	 *
+	 * @param text le texte à ajouter
+	 */
+	public synchronized void print(Object text) {
+		frame.append(text);
+	}
+
+	/**
+	 * Commence un nouvel écran : ce qui a déjà été assemblé est gardé, et
+	 * l'écran sera effacé à cet endroit lors de l'écriture. Sans terminal, une
+	 * ligne vide sépare simplement les écrans.
+	 */
+	public synchronized void clear() {
+		frame.append(ansi ? ANSI_CLEAR : System.lineSeparator());
+	}
+
+	/**
+	 * Écrit l'écran assemblé en une seule fois.
+	 */
+	public synchronized void flush() {
+		if (frame.length() > 0) {
+			out.append(frame);
+			if (frame.capacity() > MAX_RETAINED_CAPACITY) {
+				frame = new StringBuilder(1024);
+			} else {
+				frame.setLength(0);
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Écrit l'écran assemblé, puis laisse au joueur le temps de le lire. La
+	 * pause est ajustée selon {@link #setDelayFactor(double)}.
+	 *
+	 * @param millis la durée de la pause au rythme normal, en millisecondes
+	 */
+	public void pause(long millis) {
+		flush();
+		long delay = (long) (millis * delayFactor);
+		if (delay <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(delay);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
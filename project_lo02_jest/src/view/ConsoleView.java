@@ -1,19 +1,25 @@
 package view;
 
 import java.util.List;
-import java.util.Scanner;
 
 import controller.GameController;
+import controller.GameExecutor;
 import model.Card;
+import model.InputDriver;
 import model.InteractivePlayerStrategy;
 import model.Offer;
 import model.Player;
+import model.PromptDispatcher;
+import model.TableSnapshot;
 
 /**
  * Implémentation de l'interface utilisateur en mode ligne de commande.
  * <p>
- * Affiche les événements du jeu sur la sortie standard et récupère les entrées
- * utilisateur via un {@link java.util.Scanner}.
+ * Affiche les événements du jeu sur la sortie standard, par écrans entiers
+ * écrits d'un bloc ({@link ConsoleRenderer}), et lit les saisies dans un
+ * {@link InputDriver} : le clavier, ou un script qui joue à la place des
+ * humains. Une demande annulée cesse d'attendre sans consommer de ligne, qui
+ * revient à la demande suivante.
  * </p>
  * 
  * @author Mathéo A.
@@ -22,9 +28,12 @@ import model.Player;
  */
 public class ConsoleView implements GameViewInterface {
 
+	private static final String UNDO_HINT = "(u : annuler, r : rétablir)";
+
 	private GameController controller;
 	private InteractivePlayerStrategy playerStrategy;
-	private Scanner scanner;
+	private final ConsoleRenderer out;
+	private final InputDriver driver;
 	private boolean active = true;
 
 	/**
@@ -34,8 +43,20 @@ public class ConsoleView implements GameViewInterface {
 	 * @param controller le contrôleur de jeu à observer
 	 */
 	public ConsoleView(GameController controller) {
+		this(controller, InputDriver.getStandard());
+	}
+
+	/**
+	 * Construit une vue console qui lit les saisies dans une source donnée
+	 * (script de test par exemple).
+	 * 
+	 * @param controller le contrôleur de jeu à observer
+	 * @param input      la source des saisies
+	 */
+	public ConsoleView(GameController controller, InputDriver input) {
 		this.controller = controller;
-		this.scanner = new Scanner(System.in);
+		this.out = ConsoleRenderer.getStandard();
+		this.driver = input;
 		this.playerStrategy = new InteractivePlayerStrategy(this);
 		this.controller.addObserver(this);
 	}
@@ -59,19 +80,18 @@ public class ConsoleView implements GameViewInterface {
 	}
 
 	/**
-	 * Ferme la vue console et libère les ressources.
+	 * Ferme la vue console. La source des saisies, partagée, reste ouverte.
 	 */
 	@Override
 	public void close() {
 		active = false;
-		scanner.close();
 	}
 
 	/**
 	 * Affiche le titre ASCII du jeu.
 	 */
 	private void displayTitle() {
-		System.out.println("\n" + "█████████████████████████\n" + "███▄─▄█▄─▄▄─█─▄▄▄▄█─▄─▄─█\n"
+		out.println("\n" + "█████████████████████████\n" + "███▄─▄█▄─▄▄─█─▄▄▄▄█─▄─▄─█\n"
 				+ "█─▄█─███─▄█▀█▄▄▄▄─███─███\n" + "▀▄▄▄▀▀▀▄▄▄▄▄▀▄▄▄▄▄▀▀▄▄▄▀▀\n");
 	}
 
@@ -80,8 +100,8 @@ public class ConsoleView implements GameViewInterface {
 	 * démarrer une nouvelle partie ou de charger une sauvegarde.
 	 */
 	private void showMainMenu() {
-		System.out.println("♻️ Voulez-vous : (1) Nouvelle partie | (2) Charger une partie");
-		int choice = scanner.nextInt();
+		out.println("♻️ Voulez-vous : (1) Nouvelle partie | (2) Charger une partie");
+		int choice = nextInt();
 
 		if (choice == 2) {
 			loadGame();
@@ -98,26 +118,26 @@ public class ConsoleView implements GameViewInterface {
 		List<String> saves = controller.getAvailableSaves();
 
 		if (saves.isEmpty()) {
-			System.out.println("📝 Aucune sauvegarde trouvée. Démarrage d'une nouvelle partie...");
+			out.println("📝 Aucune sauvegarde trouvée. Démarrage d'une nouvelle partie...");
 			configureNewGame();
 			return;
 		}
 
-		System.out.println("♻️ Sauvegardes disponibles :");
+		out.println("♻️ Sauvegardes disponibles :");
 		for (int i = 0; i < saves.size(); i++) {
-			System.out.println((i + 1) + ". " + saves.get(i));
+			out.println((i + 1) + ". " + saves.get(i));
 		}
-		System.out.println("📝 Choisissez une sauvegarde (numéro) :");
-		int choice = scanner.nextInt() - 1;
+		out.println("📝 Choisissez une sauvegarde (numéro) :");
+		int choice = nextInt() - 1;
 
 		if (choice < 0 || choice >= saves.size()) {
-			System.out.println("❌ Choix invalide. Démarrage d'une nouvelle partie...");
+			out.println("❌ Choix invalide. Démarrage d'une nouvelle partie...");
 			configureNewGame();
 			return;
 		}
 
 		controller.loadGame(saves.get(choice));
-		controller.runGameLoop();
+		playGame();
 	}
 
 	/**
@@ -126,97 +146,98 @@ public class ConsoleView implements GameViewInterface {
 	 */
 	private void configureNewGame() {
 		// Extension
-		System.out.println("🃏 Souhaitez-vous activer l'extension Carte Bonus/Malus/Gold ? (0) Non | (1) Oui ");
-		int choixExt = scanner.nextInt();
+		out.println("🃏 Souhaitez-vous activer l'extension Carte Bonus/Malus/Gold ? (0) Non | (1) Oui ");
+		int choixExt = nextInt();
 		boolean extensionActive = (choixExt == 1);
 
 		if (extensionActive) {
-			System.out.println("✅ Extension Carte Bonus/Malus/Gold activée !");
+			out.println("✅ Extension Carte Bonus/Malus/Gold activée !");
 		} else {
-			System.out.println("❌ Extension désactivée.");
+			out.println("❌ Extension désactivée.");
 		}
 
 		// Joueurs humains
-		System.out.println("🧑‍🧑‍🧒‍🧒 Choisissez le nombre de joueurs Humain (max 4) :");
-		int nbHumanPlayers = Math.max(0, Math.min(4, scanner.nextInt()));
+		out.println("🧑‍🧑‍🧒‍🧒 Choisissez le nombre de joueurs Humain (max 4) :");
+		int nbHumanPlayers = Math.max(0, Math.min(4, nextInt()));
 
 		// Bots
 		int nbBotPlayers = 0;
 		java.util.List<Boolean> botTypes = new java.util.ArrayList<>();
 
 		if (nbHumanPlayers < 4) {
-			System.out.println("🤖 Choisissez le nombre de robot (max " + (4 - nbHumanPlayers) + ")");
-			nbBotPlayers = Math.max(0, Math.min(4 - nbHumanPlayers, scanner.nextInt()));
+			out.println("🤖 Choisissez le nombre de robot (max " + (4 - nbHumanPlayers) + ")");
+			nbBotPlayers = Math.max(0, Math.min(4 - nbHumanPlayers, nextInt()));
 
 			if (nbHumanPlayers + nbBotPlayers < 2) {
 				nbBotPlayers = 2 - nbHumanPlayers;
 			}
 
 			for (int i = 0; i < nbBotPlayers; i++) {
-				System.out.println("🤖 Souhaitez-vous rajouter pour le robot " + (i + 1)
+				out.println("🤖 Souhaitez-vous rajouter pour le robot " + (i + 1)
 						+ " une stratégie aléatoire ou un robot tricheur? (1) Robot Aléatoire | (2) Robot Tricheur");
-				int choice = scanner.nextInt();
+				int choice = nextInt();
 				botTypes.add(choice == 2);
 
 				if (choice == 2) {
-					System.out.println("🛸 HAL-9000-" + (i + 1) + " le robot manipulateur a été rajouté avec succès !");
+					out.println("🛸 HAL-9000-" + (i + 1) + " le robot manipulateur a été rajouté avec succès !");
 				} else {
-					System.out.println("🤪 Bender-" + (i + 1) + " le robot imprévisible a été rajouté avec succès !");
+					out.println("🤪 Bender-" + (i + 1) + " le robot imprévisible a été rajouté avec succès !");
 				}
 			}
 		}
 
 		// Mode de jeu
-		System.out.println("🕹 ️Choisissez votre mode de jeu :");
-		System.out.println("(1) ☕️ JEST classique - Règles classiques de JEST");
-		System.out.println(
+		out.println("🕹 ️Choisissez votre mode de jeu :");
+		out.println("(1) ☕️ JEST classique - Règles classiques de JEST");
+		out.println(
 				"(2) 👁️ JEST Bouffon - Le joueur avec la moins bonne main devient bouffon et commence le round");
-		System.out.println("(3) 🎭 JEST Clair - Le stack est affiché avant la distribution des cartes");
-		int choixMode = scanner.nextInt();
+		out.println("(3) 🎭 JEST Clair - Le stack est affiché avant la distribution des cartes");
+		int choixMode = nextInt();
 		int mode = 0;
 
 		if (choixMode == 2) {
 			mode = 1;
-			System.out.println("🎭 Vous avez choisi le mode JEST Bouffon !");
+			out.println("🎭 Vous avez choisi le mode JEST Bouffon !");
 		} else if (choixMode == 3) {
 			mode = 2;
-			System.out.println("👁 Vous avez choisi le mode JEST Clair !");
+			out.println("👁 Vous avez choisi le mode JEST Clair !");
 		}
 
 		// Noms des joueurs
 		java.util.List<String> playerNames = new java.util.ArrayList<>();
 		for (int i = 0; i < nbHumanPlayers; i++) {
-			System.out.println("📝 Entrez le nom du joueur " + (i + 1) + " :");
-			String name = scanner.next();
+			out.println("📝 Entrez le nom du joueur " + (i + 1) + " :");
+			String name = next();
 			playerNames.add(name);
 		}
 
 		// Démarrer la partie
 		controller.setHumanStrategy(playerStrategy);
 		controller.startNewGame(nbHumanPlayers, nbBotPlayers, playerNames, botTypes, mode, extensionActive);
-		controller.runGameLoop();
+		playGame();
 	}
 
 	// === MÉTHODES D'INTERACTION ===
 
 	@Override
 	public int askForOffer(Player player) {
-		System.out.println("\n>>> " + player.getName() + " - Quelle carte CACHER ?");
-		System.out.println("(1) Cacher " + player.getHand().get(0));
-		System.out.println("(2) Cacher " + player.getHand().get(1));
-		System.out.print(">>> Entrez 1 ou 2 : ");
-		System.out.flush();
-
-		int choice;
-		synchronized (scanner) {
-			String input = scanner.nextLine().trim();
-			choice = Integer.parseInt(input);
+		long request = PromptDispatcher.currentRequest();
+		out.println("\n>>> " + player.getName() + " - Quelle carte CACHER ?");
+		out.println("(1) Cacher " + player.getHand().get(0));
+		out.println("(2) Cacher " + player.getHand().get(1));
+		out.print(">>> Entrez 1 ou 2 " + UNDO_HINT + " : ");
+		out.flush();
+
+		int choice = readChoice();
+		if (choice == 0) {
+			return 0;
 		}
-		System.out.println("✓ Choix enregistré : " + choice);
+		out.println("✓ Choix enregistré : " + choice);
+		out.flush();
 
 		// Envoyer la réponse à la stratégie
 		if (playerStrategy != null) {
-			playerStrategy.provideResponse(choice);
+			playerStrategy.provideResponse(request, choice);
 		}
 
 		return choice;
@@ -224,24 +245,25 @@ public class ConsoleView implements GameViewInterface {
 
 	@Override
 	public int askForTarget(Player player, List<Offer> availableOffers) {
-		System.out.println("\n>>> " + player.getName() + " - Choisissez une cible:");
+		long request = PromptDispatcher.currentRequest();
+		out.println("\n>>> " + player.getName() + " - Choisissez une cible:");
 		for (int i = 0; i < availableOffers.size(); i++) {
 			Offer o = availableOffers.get(i);
-			System.out.println("(" + (i + 1) + ") " + o.getOwner().getName());
+			out.println("(" + (i + 1) + ") " + o.getOwner().getName());
 		}
-		System.out.print(">>> Entrez le numéro : ");
-		System.out.flush();
+		out.print(">>> Entrez le numéro " + UNDO_HINT + " : ");
+		out.flush();
 
-		int choice;
-		synchronized (scanner) {
-			String input = scanner.nextLine().trim();
-			choice = Integer.parseInt(input);
+		int choice = readChoice();
+		if (choice == 0) {
+			return 0;
 		}
-		System.out.println("✓ Choix enregistré : " + choice);
+		out.println("✓ Choix enregistré : " + choice);
+		out.flush();
 
 		// Envoyer la réponse à la stratégie
 		if (playerStrategy != null) {
-			playerStrategy.provideResponse(choice);
+			playerStrategy.provideResponse(request, choice);
 		}
 
 		return choice;
@@ -249,96 +271,151 @@ public class ConsoleView implements GameViewInterface {
 
 	@Override
 	public int askForCard(Player player, Offer targetOffer) {
-		System.out.println("\n>>> " + player.getName() + " - Quelle carte prendre ?");
+		long request = PromptDispatcher.currentRequest();
+		out.println("\n>>> " + player.getName() + " - Quelle carte prendre ?");
 		if (targetOffer.getVisibleCard() != null) {
-			System.out.println("(1) Carte visible: " + targetOffer.getVisibleCard());
+			out.println("(1) Carte visible: " + targetOffer.getVisibleCard());
 		}
 		if (targetOffer.getHiddenCard() != null) {
-			System.out.println("(2) Carte cachée: ???");
+			out.println("(2) Carte cachée: ???");
 		}
-		System.out.print(">>> Entrez 1 ou 2 : ");
-		System.out.flush();
+		out.print(">>> Entrez 1 ou 2 " + UNDO_HINT + " : ");
+		out.flush();
 
-		int choice;
-		synchronized (scanner) {
-			String input = scanner.nextLine().trim();
-			choice = Integer.parseInt(input);
+		int choice = readChoice();
+		if (choice == 0) {
+			return 0;
 		}
-		System.out.println("✓ Choix enregistré : " + choice);
+		out.println("✓ Choix enregistré : " + choice);
+		out.flush();
 
 		// Envoyer la réponse à la stratégie
 		if (playerStrategy != null) {
-			playerStrategy.provideResponse(choice);
+			playerStrategy.provideResponse(request, choice);
 		}
 
 		return choice;
 	}
 
+	/**
+	 * Lit un choix numérique. Les commandes "u" (annuler le dernier coup) et "r"
+	 * (le rétablir) sont transmises au contrôleur : le choix vaut alors 0 et
+	 * aucune réponse n'est envoyée à la stratégie. Les lignes tapées au clavier
+	 * avant la demande sont ignorées.
+	 * 
+	 * @return le choix saisi (1 à la fin d'un script), ou 0 si une commande
+	 *         d'historique a été appliquée ou si la demande a été annulée
+	 */
+	private int readChoice() {
+		driver.discardPending();
+		try {
+			while (true) {
+				out.flush();
+				String line = driver.nextLine();
+				if (line == null) {
+					return 1;
+				}
+				String input = line.trim();
+				if (input.isEmpty()) {
+					continue;
+				}
+				if (input.equalsIgnoreCase("u")) {
+					if (controller.undo()) {
+						return 0;
+					}
+					out.print("Aucun coup à annuler. Votre choix : ");
+				} else if (input.equalsIgnoreCase("r")) {
+					if (controller.redo()) {
+						return 0;
+					}
+					out.print("Aucun coup à rétablir. Votre choix : ");
+				} else {
+					try {
+						return Integer.parseInt(input);
+					} catch (NumberFormatException e) {
+						driver.reportMalformed(input, "un numéro, u ou r");
+						out.print("Choix invalide. Votre choix : ");
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			// Demande annulée : une autre vue a répondu
+			Thread.currentThread().interrupt();
+			return 0;
+		}
+	}
+
 	@Override
 	public void displayMessage(String message) {
-		System.out.println(message);
+		out.println(message);
+		out.flush();
 	}
 
 	// === OBSERVATEUR ===
 
 	@Override
 	public void onGameStarted(int nbPlayers, int mode, boolean extensionActive) {
-		System.out.println("\n✅ Partie démarrée !");
-		System.out.println("Joueurs : " + nbPlayers);
+		out.println("\n✅ Partie démarrée !");
+		out.println("Joueurs : " + nbPlayers);
 		String modeStr = mode == 0 ? "Classique" : (mode == 1 ? "Bouffon" : "Clair");
-		System.out.println("Mode : " + modeStr);
-		System.out.println("Extension : " + (extensionActive ? "Activée" : "Désactivée"));
+		out.println("Mode : " + modeStr);
+		out.println("Extension : " + (extensionActive ? "Activée" : "Désactivée"));
+		out.flush();
 	}
 
 	@Override
 	public void onRoundStarted(int roundNumber) {
-		clearScreen();
-		System.out.println("\n====== 🎮 ROUND " + roundNumber + " 🎮 ======");
+		out.clear();
+		out.println("\n====== 🎮 ROUND " + roundNumber + " 🎮 ======");
+		out.flush();
 	}
 
 	@Override
 	public void onCardsDistributed(List<Player> players) {
-		System.out.println("\n✅ Cartes distribuées à tous les joueurs.");
+		out.println("\n✅ Cartes distribuées à tous les joueurs.");
+		out.flush();
 	}
 
 	@Override
 	public void onPlayerTurnToOffer(Player player) {
-		clearScreen();
-		System.out.println("\n====== Tour de " + player.getName() + " ======");
+		out.clear();
+		out.println("\n====== Tour de " + player.getName() + " ======");
 
 		// Afficher UNIQUEMENT la main du joueur actif pendant la phase d'offre
 		if (player.getHand().size() >= 2) {
-			System.out.println("Votre main : ");
-			System.out.println("(1) " + player.getHand().get(0));
-			System.out.println("(2) " + player.getHand().get(1));
+			out.println("Votre main : ");
+			out.println("(1) " + player.getHand().get(0));
+			out.println("(2) " + player.getHand().get(1));
 		}
+		out.flush();
 	}
 
 	@Override
 	public void onOfferMade(Player player, Offer offer) {
 		// Ne plus afficher la main après avoir fait l'offre
 		// Seulement indiquer que l'offre a été faite
-		System.out.println(player.getName() + " a fait son offre (carte visible: " + offer.getVisibleCard()
+		out.println(player.getName() + " a fait son offre (carte visible: " + offer.getVisibleCard()
 				+ " / carte cachée: ???)");
 		waitForUser();
 	}
 
 	@Override
 	public void onPlayerTurnToChoose(Player player, List<Offer> availableOffers) {
-		clearScreen();
-		System.out.println("\n====== " + player.getName() + " doit choisir une carte ======");
+		out.clear();
+		out.println("\n====== " + player.getName() + " doit choisir une carte ======");
 
 		if (availableOffers.isEmpty()) {
-			System.out.println("Aucune offre disponible, vous prenez votre propre carte.");
+			out.println("Aucune offre disponible, vous prenez votre propre carte.");
 		} else {
-			System.out.println("\nOffres disponibles :");
+			out.println("\nOffres disponibles :");
 			int index = 0;
 			for (Offer o : availableOffers) {
-				System.out.println("(" + (index + 1) + ") " + o.getOwner().getName() + " - Visible: "
+				out.println("(" + (index + 1) + ") " + o.getOwner().getName() + " - Visible: "
 						+ o.getVisibleCard() + " / Cachée: ???");
 				index++;
 			}
 		}
+		out.flush();
 	}
 
 	/**
@@ -352,19 +429,19 @@ public class ConsoleView implements GameViewInterface {
 	@Override
 	public void onCardChosen(Player chooser, Player target, Card card) {
 		if (chooser == target) {
-			System.out.println(chooser.getName() + " prend de sa main " + card);
+			out.println(chooser.getName() + " prend de sa main " + card);
 		} else {
-			System.out.println(chooser.getName() + " prend " + card + " depuis " + target.getName());
+			out.println(chooser.getName() + " prend " + card + " depuis " + target.getName());
 		}
 		waitForUser();
 	}
 
 	@Override
 	public void onRoundEnded(List<Player> players) {
-		System.out.println("\n====== Fin du round ======");
-		System.out.println("\nJest des joueurs :");
+		out.println("\n====== Fin du round ======");
+		out.println("\nJest des joueurs :");
 		for (Player p : players) {
-			System.out.println(p.getName() + " : " + p.getJest());
+			out.println(p.getName() + " : " + p.getJest());
 		}
 		waitForUser();
 
@@ -374,66 +451,121 @@ public class ConsoleView implements GameViewInterface {
 
 	@Override
 	public void onGameEnded(Player winner, List<Player> players, int[] scores) {
-		clearScreen();
-		System.out.println("\n ====== 🏆 FIN DE LA PARTIE 🏆 =====");
+		out.clear();
+		out.println("\n ====== 🏆 FIN DE LA PARTIE 🏆 =====");
 
-		System.out.println("\n ====== 📈 SCORES 📈 =====");
+		out.println("\n ====== 📈 SCORES 📈 =====");
 		for (int i = 0; i < players.size(); i++) {
-			System.out.println(players.get(i).getName() + " : " + scores[i] + " points");
+			out.println(players.get(i).getName() + " : " + scores[i] + " points");
 		}
 
-		System.out.println("\n ====== 👑 GAGNANT 👑 =====");
-		System.out.println("Félicitations à " + winner.getName() + " 👑 qui remporte le jeu !");
+		out.println("\n ====== 👑 GAGNANT 👑 =====");
+		out.println("Félicitations à " + winner.getName() + " 👑 qui remporte le jeu !");
 
 		// La sauvegarde sera gérée par la popup GUI pour ne pas bloquer
-		System.out.println("\n(La sauvegarde peut être effectuée via l'interface graphique)");
+		out.println("\n(La sauvegarde peut être effectuée via l'interface graphique)");
+		out.flush();
 	}
 
 	@Override
 	public void onTrophyCardsDisplayed(Card trophy1, Card trophy2) {
-		System.out.println("\n====== TROPHEES =====");
-		System.out.println(trophy1);
+		out.println("\n====== TROPHEES =====");
+		out.println(trophy1);
 		if (trophy2 != null) {
-			System.out.println(trophy2);
+			out.println(trophy2);
 		}
-		System.out.println("=====================\n");
+		out.println("=====================\n");
+		out.flush();
 	}
 
 	@Override
 	public void onStackDisplayed(List<Card> stack) {
-		System.out.println("👁️ JEST Clair : Le stack est composé de :");
+		out.println("👁️ JEST Clair : Le stack est composé de :");
 		for (Card s : stack) {
-			System.out.println(s.getColor() + " " + s.getFaceValue());
+			out.println(s.getColor() + " " + s.getFaceValue());
 		}
-		System.out.println("\n");
+		out.println("\n");
+		out.flush();
 	}
 
 	@Override
 	public void onGameSaved(String saveName) {
-		System.out.println("✅ Partie sauvegardée avec succès : " + saveName);
+		out.println("✅ Partie sauvegardée avec succès : " + saveName);
+		out.flush();
 	}
 
 	@Override
 	public void onGameLoaded(String saveName) {
-		System.out.println("✅ Partie chargée avec succès : " + saveName);
+		out.println("✅ Partie chargée avec succès : " + saveName);
+		out.flush();
+	}
+
+	@Override
+	public void onSnapshot(TableSnapshot snapshot) {
+		// La console affiche les événements au fil de l'eau
+	}
+
+	@Override
+	public void onStateRestored(int decisionIndex) {
+		out.println("\n⏪ Retour au coup " + decisionIndex + " (round " + controller.getCurrentRound() + ")");
+		for (Player p : controller.getPlayers()) {
+			out.println(p.getName() + " : " + p.getJest());
+		}
+		out.flush();
 	}
 
 	@Override
 	public void onError(String errorMessage) {
-		System.out.println("❌ ERREUR : " + errorMessage);
+		out.println("❌ ERREUR : " + errorMessage);
+		out.flush();
 	}
 
 	// === MÉTHODES UTILITAIRES ===
 
-	private void clearScreen() {
-		System.out.println("\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n");
+	/**
+	 * Confie la partie au service des parties et attend sa fin.
+	 */
+	private void playGame() {
+		out.flush();
+		try {
+			GameExecutor.getDefault().submit(controller).await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
-	private void waitForUser() {
+	/**
+	 * Lit un entier pendant la configuration, après avoir affiché la question.
+	 */
+	private int nextInt() {
+		out.flush();
 		try {
-			Thread.sleep(1500);
+			return driver.nextInt(0);
 		} catch (InterruptedException e) {
-			e.printStackTrace();
+			Thread.currentThread().interrupt();
+			return 0;
 		}
 	}
+
+	/**
+	 * Lit une ligne pendant la configuration, après avoir affiché la question.
+	 */
+	private String next() {
+		out.flush();
+		try {
+			String line = driver.nextLine();
+			return line != null && !line.isBlank() ? line.trim() : "Joueur";
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "Joueur";
+		}
+	}
+
+	/**
+	 * Laisse au joueur le temps de lire l'écran, selon le réglage des pauses
+	 * de {@link ConsoleRenderer}.
+	 */
+	private void waitForUser() {
+		out.pause(1500);
+	}
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import model.Card;
 import model.Offer;
 import model.Player;
+import model.TableSnapshot;
 
 /**
  * Interface Observer pour notifier les vues des changements d'état du jeu.
@@ -97,6 +98,24 @@ public interface GameObserver {
 	 */
 	void onGameLoaded(String saveName);
 
+	/**
+	 * Notifie que la partie a été replacée dans un état antérieur (ou rétablie)
+	 * par une annulation ou un retour arrière. L'état courant est à relire depuis
+	 * le contrôleur.
+	 * 
+	 * @param decisionIndex l'index du coup correspondant au nouvel état
+	 */
+	void onStateRestored(int decisionIndex);
+
+	/**
+	 * Transmet l'instantané immuable de la table après un changement d'état. Il
+	 * précède la notification de l'événement correspondant, et peut être lu
+	 * depuis n'importe quel thread.
+	 * 
+	 * @param snapshot l'état visible de la partie
+	 */
+	void onSnapshot(TableSnapshot snapshot);
+
 	/**
 	 * Notifie une erreur
 	 */
@@ -0,0 +1,155 @@
+package view.gui;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Outil de construction de l'atlas des images de l'interface : les images de
+ * cartes, réduites à deux fois leur taille d'affichage (écrans haute densité
+ * compris), et les images de décor sont rangées dans une seule image,
+ * accompagnée d'un index de leurs positions. {@link CardImageCache} lit l'atlas
+ * depuis le classpath en un seul décodage.
+ * <p>
+ * À relancer après toute modification des images de {@code resources/img} :
+ * </p>
+ *
+ * <pre>
+ * java -cp bin view.gui.AtlasPacker resources/img resources/atlas
+ * </pre>
+ * <p>
+ * Format de l'index : une ligne par image, « nom x y largeur hauteur », les
+ * lignes commençant par # étant des commentaires.
+ * </p>
+ */
+public class AtlasPacker {
+
+	/** Nom de l'image de l'atlas. */
+	public static final String ATLAS_IMAGE = "cards.png";
+
+	/** Nom de l'index de l'atlas. */
+	public static final String ATLAS_INDEX = "cards.idx";
+
+	/** Échelle des cartes dans l'atlas, par rapport à leur taille d'affichage. */
+	public static final int CARD_SCALE = 2;
+
+	// Images de décor rangées dans l'atlas à leur taille d'origine
+	private static final List<String> DECOR_IMAGES = List.of("carpet");
+
+	private static final int MAX_WIDTH = 1024;
+	private static final int PADDING = 2;
+
+	/**
+	 * Image placée dans l'atlas.
+	 */
+	private static class Sprite {
+		private final String name;
+		private final BufferedImage image;
+		private int x;
+		private int y;
+
+		Sprite(String name, BufferedImage image) {
+			this.name = name;
+			this.image = image;
+		}
+	}
+
+	/**
+	 * Construit l'atlas.
+	 *
+	 * @param args le dossier des images et le dossier de l'atlas (par défaut
+	 *             resources/img et resources/atlas)
+	 * @throws IOException si une image ne peut pas être lue ou l'atlas écrit
+	 */
+	public static void main(String[] args) throws IOException {
+		File source = new File(args.length > 0 ? args[0] : "resources/img");
+		File target = new File(args.length > 1 ? args[1] : "resources/atlas");
+
+		File[] files = source.listFiles((dir, name) -> name.endsWith(".png"));
+		if (files == null) {
+			System.err.println("Dossier d'images introuvable : " + source);
+			return;
+		}
+		Arrays.sort(files);
+
+		List<Sprite> sprites = new ArrayList<>();
+		for (File file : files) {
+			String name = file.getName().substring(0, file.getName().length() - 4);
+			boolean card = CardImageCache.parseCardName(name) != null;
+			if (!card && !DECOR_IMAGES.contains(name)) {
+				continue;
+			}
+			BufferedImage image = ImageIO.read(file);
+			if (image == null) {
+				System.err.println("Image illisible : " + file.getName());
+				continue;
+			}
+			if (card) {
+				image = CardImageCache.scale(image, CardImageCache.CARD_WIDTH * CARD_SCALE,
+						CardImageCache.CARD_HEIGHT * CARD_SCALE, false);
+			}
+			sprites.add(new Sprite(name, image));
+		}
+
+		BufferedImage atlas = pack(sprites);
+		if (!target.isDirectory() && !target.mkdirs()) {
+			throw new IOException("Impossible de créer le dossier " + target);
+		}
+		ImageIO.write(atlas, "png", new File(target, ATLAS_IMAGE));
+		try (PrintWriter index = new PrintWriter(new File(target, ATLAS_INDEX), StandardCharsets.UTF_8)) {
+			index.println("# Atlas généré par view.gui.AtlasPacker : nom x y largeur hauteur");
+			for (Sprite s : sprites) {
+				index.println(s.name + " " + s.x + " " + s.y + " " + s.image.getWidth() + " " + s.image.getHeight());
+			}
+		}
+		System.out.println(sprites.size() + " images rangées dans un atlas de " + atlas.getWidth() + "x"
+				+ atlas.getHeight() + " (" + target + ")");
+	}
+
+	/**
+	 * Range les images par étagères : les plus hautes d'abord, de gauche à
+	 * droite, en passant à l'étagère suivante quand la largeur maximale est
+	 * atteinte.
+	 */
+	private static BufferedImage pack(List<Sprite> sprites) {
+		List<Sprite> order = new ArrayList<>(sprites);
+		order.sort(Comparator.comparingInt((Sprite s) -> s.image.getHeight()).reversed());
+
+		int x = 0;
+		int y = 0;
+		int shelfHeight = 0;
+		int width = 0;
+		for (Sprite s : order) {
+			if (x > 0 && x + s.image.getWidth() > MAX_WIDTH) {
+				x = 0;
+				y += shelfHeight + PADDING;
+				shelfHeight = 0;
+			}
+			s.x = x;
+			s.y = y;
+			x += s.image.getWidth() + PADDING;
+			shelfHeight = Math.max(shelfHeight, s.image.getHeight());
+			width = Math.max(width, x - PADDING);
+		}
+
+		BufferedImage atlas = new BufferedImage(Math.max(1, width), Math.max(1, y + shelfHeight),
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = atlas.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		for (Sprite s : order) {
+			g.drawImage(s.image, s.x, s.y, null);
+		}
+		g.dispose();
+		return atlas;
+	}
+}
@@ -0,0 +1,265 @@
+package view.gui;
+
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import model.Card;
+
+/**
+ * Animation des déplacements de cartes sur la table (offre, prise d'une carte
+ * vers le Jest), dessinée sur une couche transparente au-dessus de la fenêtre
+ * (sa vitre, qui laisse passer les clics).
+ * <p>
+ * Un seul {@link Timer} Swing cadence toutes les animations à une fréquence
+ * fixe, et ne tourne que lorsqu'une carte est en mouvement. La position d'une
+ * carte dépend du temps écoulé depuis son départ, pas du nombre d'images
+ * affichées : si l'EDT prend du retard, les images manquées sont sautées
+ * (le minuteur regroupe ses déclenchements) et la carte arrive à l'heure. Les
+ * cartes en mouvement sont des emplacements réservés à la construction, et les
+ * images viennent du {@link CardImageCache} : une image de l'animation
+ * n'alloue rien.
+ * </p>
+ * <p>
+ * La durée d'une animation ne dépend que de l'animateur : la boucle de jeu ne
+ * l'attend jamais, et la vitesse des bots n'a pas d'effet sur elle. S'utilise
+ * dans le thread de l'interface.
+ * </p>
+ */
+class CardAnimator extends JComponent {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Intervalle entre deux images, en millisecondes (60 images par seconde). */
+	static final int FRAME_MILLIS = 16;
+
+	/** Durée par défaut d'un déplacement, en millisecondes. */
+	static final int DEFAULT_DURATION_MILLIS = 400;
+
+	// Nombre maximal de cartes en mouvement ; au-delà, la plus ancienne est
+	// remplacée
+	private static final int MAX_SPRITES = 32;
+
+	private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(FRAME_MILLIS);
+
+	/**
+	 * Carte en mouvement.
+	 */
+	private static final class Sprite {
+		private Image image;
+		private int fromX;
+		private int fromY;
+		private int toX;
+		private int toY;
+		private int x;
+		private int y;
+		private long start;
+		private boolean active;
+	}
+
+	private final CardImageCache images;
+	private final Sprite[] sprites;
+	private final Timer timer;
+	private final long durationNanos;
+
+	// Dos de carte, dessiné au premier besoin
+	private BufferedImage back;
+
+	private int activeCount;
+	private long lastTick;
+	private long frameCount;
+	private long skippedFrames;
+
+	/**
+	 * Construit un animateur.
+	 *
+	 * @param images         le cache des images de cartes
+	 * @param durationMillis la durée d'un déplacement, en millisecondes
+	 */
+	CardAnimator(CardImageCache images, int durationMillis) {
+		this.images = images;
+		this.durationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, durationMillis));
+		this.sprites = new Sprite[MAX_SPRITES];
+		for (int i = 0; i < MAX_SPRITES; i++) {
+			sprites[i] = new Sprite();
+		}
+		this.timer = new Timer(FRAME_MILLIS, e -> tick());
+		timer.setCoalesce(true);
+		setOpaque(false);
+		setVisible(false);
+	}
+
+	/**
+	 * Lance le déplacement d'une carte entre deux composants de la fenêtre, de
+	 * centre à centre.
+	 *
+	 * @param card     la carte, ou null pour une carte inconnue
+	 * @param isHidden true pour déplacer la carte face cachée
+	 * @param from     le composant de départ
+	 * @param to       le composant d'arrivée
+	 */
+	void animate(Card card, boolean isHidden, Component from, Component to) {
+		if (from == null || to == null || !SwingUtilities.isDescendingFrom(from, getRootPane())
+				|| !SwingUtilities.isDescendingFrom(to, getRootPane())) {
+			return;
+		}
+		// Les cartes qui viennent d'apparaître doivent avoir leur position
+		getRootPane().validate();
+
+		Sprite sprite = acquire();
+		sprite.image = imageOf(card, isHidden);
+		Point start = SwingUtilities.convertPoint(from, from.getWidth() / 2, from.getHeight() / 2, this);
+		Point end = SwingUtilities.convertPoint(to, to.getWidth() / 2, to.getHeight() / 2, this);
+		sprite.fromX = start.x - CardImageCache.CARD_WIDTH / 2;
+		sprite.fromY = start.y - CardImageCache.CARD_HEIGHT / 2;
+		sprite.toX = end.x - CardImageCache.CARD_WIDTH / 2;
+		sprite.toY = end.y - CardImageCache.CARD_HEIGHT / 2;
+		sprite.x = sprite.fromX;
+		sprite.y = sprite.fromY;
+		sprite.start = System.nanoTime();
+
+		setVisible(true);
+		repaint(sprite.x, sprite.y, CardImageCache.CARD_WIDTH, CardImageCache.CARD_HEIGHT);
+		if (!timer.isRunning()) {
+			lastTick = sprite.start;
+			timer.start();
+		}
+	}
+
+	/**
+	 * Réserve un emplacement libre, ou reprend celui de la carte partie le plus
+	 * tôt.
+	 */
+	private Sprite acquire() {
+		Sprite oldest = sprites[0];
+		for (Sprite s : sprites) {
+			if (!s.active) {
+				s.active = true;
+				activeCount++;
+				return s;
+			}
+			if (s.start < oldest.start) {
+				oldest = s;
+			}
+		}
+		repaint(oldest.x, oldest.y, CardImageCache.CARD_WIDTH, CardImageCache.CARD_HEIGHT);
+		return oldest;
+	}
+
+	private Image imageOf(Card card, boolean isHidden) {
+		if (!isHidden && card != null) {
+			ImageIcon icon = images.getCardIcon(card);
+			if (icon != null) {
+				return icon.getImage();
+			}
+		}
+		if (back == null) {
+			back = drawBack();
+		}
+		return back;
+	}
+
+	/**
+	 * Dessine le dos d'une carte, comme l'emplacement d'une carte cachée.
+	 */
+	private static BufferedImage drawBack() {
+		int w = CardImageCache.CARD_WIDTH;
+		int h = CardImageCache.CARD_HEIGHT;
+		BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g.setColor(java.awt.Color.WHITE);
+		g.fillRect(0, 0, w, h);
+		g.setColor(java.awt.Color.BLACK);
+		g.fillRect(0, 0, w, 2);
+		g.fillRect(0, h - 2, w, 2);
+		g.fillRect(0, 0, 2, h);
+		g.fillRect(w - 2, 0, 2, h);
+		g.setColor(new java.awt.Color(139, 69, 19));
+		g.setFont(new Font("Arial", Font.BOLD, 72));
+		int textWidth = g.getFontMetrics().stringWidth("?");
+		g.drawString("?", (w - textWidth) / 2, h / 2 + g.getFontMetrics().getAscent() / 3);
+		g.dispose();
+		return image;
+	}
+
+	/**
+	 * Avance toutes les cartes en mouvement à leur position à l'instant
+	 * présent, et ne redessine que les zones qu'elles quittent et atteignent.
+	 */
+	private void tick() {
+		long now = System.nanoTime();
+		long late = (now - lastTick) / FRAME_NANOS - 1;
+		if (late > 0) {
+			skippedFrames += late;
+		}
+		lastTick = now;
+		frameCount++;
+
+		for (Sprite s : sprites) {
+			if (!s.active) {
+				continue;
+			}
+			repaint(s.x, s.y, CardImageCache.CARD_WIDTH, CardImageCache.CARD_HEIGHT);
+			double t = Math.min(1.0, (double) (now - s.start) / durationNanos);
+			if (t >= 1.0) {
+				s.active = false;
+				s.image = null;
+				activeCount--;
+				continue;
+			}
+			// Départ et arrivée en douceur
+			double eased = t * t * (3 - 2 * t);
+			s.x = s.fromX + (int) Math.round((s.toX - s.fromX) * eased);
+			s.y = s.fromY + (int) Math.round((s.toY - s.fromY) * eased);
+			repaint(s.x, s.y, CardImageCache.CARD_WIDTH, CardImageCache.CARD_HEIGHT);
+		}
+
+		if (activeCount == 0) {
+			timer.stop();
+			setVisible(false);
+		}
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		for (Sprite s : sprites) {
+			if (s.active) {
+				g.drawImage(s.image, s.x, s.y, CardImageCache.CARD_WIDTH, CardImageCache.CARD_HEIGHT, null);
+			}
+		}
+	}
+
+	/**
+	 * Indique si des cartes sont en mouvement.
+	 *
+	 * @return true pendant une animation
+	 */
+	boolean isAnimating() {
+		return activeCount > 0;
+	}
+
+	long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Retourne le nombre d'images sautées parce que l'EDT était en retard.
+	 *
+	 * @return le nombre d'images sautées depuis la création
+	 */
+	long getSkippedFrames() {
+		return skippedFrames;
+	}
+}
@@ -0,0 +1,337 @@
+package view.gui;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+import model.Card;
+import model.Color;
+import model.ThreadManager;
+
+/**
+ * Cache des images de l'interface graphique. Les images sont décodées une
+ * seule fois, en arrière-plan, au lancement de l'application : de préférence
+ * depuis l'atlas construit par {@link AtlasPacker}, lu dans le classpath en un
+ * seul décodage, sinon depuis les fichiers de {@code resources/img}. Les images
+ * de cartes sont aussitôt réduites à la taille d'affichage, pour chaque échelle
+ * d'écran présente (écrans haute densité compris), dans des images compatibles
+ * avec l'affichage. L'affichage d'une carte ne fait ensuite qu'une lecture de
+ * tableau, sans accès au disque ni redimensionnement.
+ */
+public final class CardImageCache {
+
+	/** Largeur d'affichage d'une carte, en pixels logiques. */
+	public static final int CARD_WIDTH = 100;
+
+	/** Hauteur d'affichage d'une carte, en pixels logiques. */
+	public static final int CARD_HEIGHT = 140;
+
+	// Dossier de l'atlas dans le classpath (resources en est une racine)
+	private static final String ATLAS_PATH = "/atlas/";
+
+	// Dossier des images sources, si l'atlas est absent
+	private static final String IMAGE_DIR = "resources/img/";
+
+	// Valeur maximale d'une carte (l'or vaut 5)
+	private static final int MAX_VALUE = 5;
+
+	private static CardImageCache instance;
+
+	// Icônes des cartes par couleur, indexées par valeur
+	private final Map<Color, ImageIcon[]> cards;
+
+	// Autres images (tapis, règles), à leur taille d'origine, par nom de fichier
+	private final Map<String, BufferedImage> images;
+
+	// Terminé, avec le cache, à la fin du chargement
+	private final CompletableFuture<CardImageCache> loaded;
+
+	private CardImageCache() {
+		this.cards = new EnumMap<>(Color.class);
+		for (Color c : Color.values()) {
+			cards.put(c, new ImageIcon[MAX_VALUE + 1]);
+		}
+		this.images = new HashMap<>();
+		this.loaded = new CompletableFuture<>();
+	}
+
+	/**
+	 * Retourne le cache, et lance son chargement en arrière-plan au premier
+	 * appel. À appeler dès le lancement de l'interface.
+	 *
+	 * @return le cache des images
+	 */
+	public static synchronized CardImageCache getInstance() {
+		if (instance == null) {
+			instance = new CardImageCache();
+			ThreadManager.submit(instance::load);
+		}
+		return instance;
+	}
+
+	/**
+	 * Indique si toutes les images sont chargées.
+	 *
+	 * @return true si le chargement est terminé
+	 */
+	public boolean isLoaded() {
+		return loaded.isDone();
+	}
+
+	/**
+	 * Exécute une action dans le thread de l'interface dès que les images sont
+	 * chargées (immédiatement si elles le sont déjà).
+	 *
+	 * @param action l'action à exécuter
+	 */
+	public void whenLoaded(Runnable action) {
+		loaded.thenRun(() -> SwingUtilities.invokeLater(action));
+	}
+
+	/**
+	 * Retourne le chargement des images, terminé avec le cache dès que toutes
+	 * les images sont prêtes.
+	 *
+	 * @return le chargement en cours ou terminé
+	 */
+	public CompletableFuture<CardImageCache> getLoading() {
+		return loaded;
+	}
+
+	/**
+	 * Retourne l'icône d'une carte, à la taille d'affichage.
+	 *
+	 * @param card la carte
+	 * @return l'icône, ou null si elle n'existe pas ou n'est pas encore chargée
+	 */
+	public ImageIcon getCardIcon(Card card) {
+		int value = card.getFaceValue();
+		if (!isLoaded() || value < 0 || value > MAX_VALUE) {
+			return null;
+		}
+		return cards.get(card.getColor())[value];
+	}
+
+	/**
+	 * Retourne une image qui n'est pas une carte, à sa taille d'origine.
+	 *
+	 * @param name le nom du fichier sans extension (par exemple "carpet")
+	 * @return l'image, ou null si elle n'existe pas ou n'est pas encore chargée
+	 */
+	public BufferedImage getImage(String name) {
+		return isLoaded() ? images.get(name) : null;
+	}
+
+	// === CHARGEMENT ===
+
+	/**
+	 * Décode toutes les images puis termine le chargement, ce qui exécute les
+	 * actions en attente. Les tables ne sont publiées qu'à la fin, par
+	 * l'achèvement du chargement.
+	 */
+	private void load() {
+		try {
+			double[] scales = displayScales();
+			if (!loadAtlas(scales)) {
+				loadFiles(scales);
+			}
+		} finally {
+			loaded.complete(this);
+		}
+	}
+
+	/**
+	 * Charge les images depuis l'atlas du classpath : l'image de l'atlas est
+	 * décodée une seule fois, puis découpée selon son index.
+	 *
+	 * @return false si l'atlas est absent ou illisible
+	 */
+	private boolean loadAtlas(double[] scales) {
+		try (InputStream image = CardImageCache.class.getResourceAsStream(ATLAS_PATH + AtlasPacker.ATLAS_IMAGE);
+				InputStream index = CardImageCache.class.getResourceAsStream(ATLAS_PATH + AtlasPacker.ATLAS_INDEX)) {
+			if (image == null || index == null) {
+				return false;
+			}
+			BufferedImage atlas = ImageIO.read(image);
+			if (atlas == null) {
+				return false;
+			}
+			BufferedReader in = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8));
+			String line;
+			while ((line = in.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] fields = line.split("\\s+");
+				int width = Integer.parseInt(fields[3]);
+				int height = Integer.parseInt(fields[4]);
+				BufferedImage sprite = atlas.getSubimage(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+						width, height);
+				if (!storeCard(fields[0], sprite, scales)) {
+					// Copie indépendante de l'atlas, qui peut alors être libéré
+					images.put(fields[0], draw(sprite, width, height, true));
+				}
+			}
+			return true;
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Atlas d'images illisible, chargement des fichiers : " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Charge les images une à une depuis {@code resources/img}.
+	 */
+	private void loadFiles(double[] scales) {
+		File[] files = new File(IMAGE_DIR).listFiles((dir, name) -> name.endsWith(".png"));
+		if (files == null) {
+			System.err.println("Dossier d'images introuvable : " + IMAGE_DIR);
+			return;
+		}
+		for (File file : files) {
+			String name = file.getName().substring(0, file.getName().length() - 4);
+			try {
+				BufferedImage image = ImageIO.read(file);
+				if (image == null) {
+					continue;
+				}
+				if (!storeCard(name, image, scales)) {
+					images.put(name, image);
+				}
+			} catch (IOException e) {
+				System.err.println("Erreur lors du chargement de " + file.getName() + " : " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Range une image de carte nommée "couleur_valeur", réduite à chaque
+	 * échelle d'écran.
+	 *
+	 * @return false si le nom n'est pas celui d'une carte
+	 */
+	private boolean storeCard(String name, BufferedImage image, double[] scales) {
+		Card card = parseCardName(name);
+		if (card == null) {
+			return false;
+		}
+
+		List<Image> variants = new ArrayList<>(scales.length);
+		for (double scale : scales) {
+			variants.add(scale(image, (int) Math.round(CARD_WIDTH * scale), (int) Math.round(CARD_HEIGHT * scale)));
+		}
+		Image icon = variants.size() == 1 ? variants.get(0)
+				: new BaseMultiResolutionImage(variants.toArray(new Image[0]));
+		cards.get(card.getColor())[card.getFaceValue()] = new ImageIcon(icon);
+		return true;
+	}
+
+	/**
+	 * Retourne la carte désignée par un nom d'image "couleur_valeur".
+	 *
+	 * @param name le nom de l'image, sans extension
+	 * @return la carte, ou null si le nom n'est pas celui d'une carte
+	 */
+	static Card parseCardName(String name) {
+		int sep = name.lastIndexOf('_');
+		if (sep < 0) {
+			return null;
+		}
+		try {
+			Color color = Color.valueOf(name.substring(0, sep).toUpperCase(Locale.ROOT));
+			int value = Integer.parseInt(name.substring(sep + 1));
+			return value < 0 || value > MAX_VALUE ? null : new Card(value, color);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Retourne les échelles des écrans présents, triées, en commençant par 1.
+	 */
+	private static double[] displayScales() {
+		TreeMap<Double, Boolean> scales = new TreeMap<>();
+		scales.put(1.0, true);
+		if (!GraphicsEnvironment.isHeadless()) {
+			for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+				scales.put(device.getDefaultConfiguration().getDefaultTransform().getScaleX(), true);
+			}
+		}
+		return scales.keySet().stream().mapToDouble(Double::doubleValue).toArray();
+	}
+
+	/**
+	 * Réduit une image par moitiés successives puis à la taille exacte, ce qui
+	 * garde la netteté des grandes images sources.
+	 */
+	static BufferedImage scale(BufferedImage source, int width, int height) {
+		return scale(source, width, height, true);
+	}
+
+	/**
+	 * Réduit une image, le résultat étant au format de l'écran ou en ARGB
+	 * (pour l'écriture de l'atlas).
+	 */
+	static BufferedImage scale(BufferedImage source, int width, int height, boolean compatible) {
+		BufferedImage current = source;
+		int w = source.getWidth();
+		int h = source.getHeight();
+		while (w / 2 >= width && h / 2 >= height) {
+			w /= 2;
+			h /= 2;
+			current = draw(current, w, h, false);
+		}
+		return draw(current, width, height, compatible);
+	}
+
+	private static BufferedImage draw(BufferedImage source, int width, int height, boolean compatible) {
+		BufferedImage target = compatible ? createCompatibleImage(width, height)
+				: new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = target.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		g.drawImage(source, 0, 0, width, height, null);
+		g.dispose();
+		return target;
+	}
+
+	/**
+	 * Crée une image au format de l'écran, copiée sans conversion à
+	 * l'affichage.
+	 */
+	private static BufferedImage createCompatibleImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+				.getDefaultConfiguration();
+		return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+}
@@ -0,0 +1,193 @@
+package view.gui;
+
+import java.awt.BorderLayout;
+import java.awt.CardLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Font;
+
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+
+import model.Card;
+import model.Color;
+
+/**
+ * Emplacement de carte conservé d'un affichage à l'autre. Ses quatre faces
+ * (image, symbole et valeur, carte cachée, emplacement vide) sont créées une
+ * seule fois ; {@link #setCard(Card, boolean)} ne modifie que ce qui change. La
+ * taille de l'emplacement est fixe : un changement de carte ne demande qu'un
+ * nouveau dessin, jamais une nouvelle mise en page de la table.
+ * <p>
+ * S'utilise dans le thread de l'interface.
+ * </p>
+ */
+class CardView extends JPanel {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final String FACE_IMAGE = "image";
+	private static final String FACE_INFO = "info";
+	private static final String FACE_HIDDEN = "hidden";
+	private static final String FACE_EMPTY = "empty";
+
+	private static final Font SYMBOL_FONT = new Font("Arial", Font.BOLD, 48);
+	private static final Font VALUE_FONT = new Font("Arial", Font.BOLD, 32);
+
+	private final CardImageCache images;
+	private final CardLayout faces;
+	private final JLabel imageLabel;
+	private final JPanel infoPanel;
+	private final JLabel colorLabel;
+	private final JLabel valueLabel;
+
+	// Dernier affichage : face, couleur et valeur de la carte
+	private String face;
+	private Color color;
+	private int value;
+
+	/**
+	 * Construit un emplacement vide.
+	 *
+	 * @param images le cache des images de cartes
+	 */
+	CardView(CardImageCache images) {
+		this.images = images;
+		this.faces = new CardLayout();
+		setLayout(faces);
+		setPreferredSize(new Dimension(CardImageCache.CARD_WIDTH, CardImageCache.CARD_HEIGHT));
+		setBackground(java.awt.Color.WHITE);
+		setBorder(BorderFactory.createLineBorder(java.awt.Color.BLACK, 2));
+
+		imageLabel = new JLabel();
+		add(imageLabel, FACE_IMAGE);
+
+		// Placeholder textuel, tant que les images ne sont pas chargées
+		infoPanel = new JPanel();
+		infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+		colorLabel = new JLabel("", SwingConstants.CENTER);
+		colorLabel.setFont(SYMBOL_FONT);
+		colorLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+		infoPanel.add(colorLabel);
+		valueLabel = new JLabel("", SwingConstants.CENTER);
+		valueLabel.setFont(VALUE_FONT);
+		valueLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+		infoPanel.add(valueLabel);
+		add(infoPanel, FACE_INFO);
+
+		// Carte cachée
+		JPanel hiddenPanel = new JPanel(new BorderLayout());
+		hiddenPanel.setOpaque(false);
+		JLabel backLabel = new JLabel("?", SwingConstants.CENTER);
+		backLabel.setFont(new Font("Arial", Font.BOLD, 72));
+		backLabel.setForeground(new java.awt.Color(139, 69, 19));
+		hiddenPanel.add(backLabel, BorderLayout.CENTER);
+		JLabel hiddenLabel = new JLabel("CACHÉE", SwingConstants.CENTER);
+		hiddenLabel.setFont(new Font("Arial", Font.BOLD, 10));
+		hiddenPanel.add(hiddenLabel, BorderLayout.SOUTH);
+		add(hiddenPanel, FACE_HIDDEN);
+
+		// Carte vide
+		JLabel emptyLabel = new JLabel("VIDE", SwingConstants.CENTER);
+		emptyLabel.setFont(new Font("Arial", Font.BOLD, 16));
+		emptyLabel.setForeground(java.awt.Color.GRAY);
+		add(emptyLabel, FACE_EMPTY);
+
+		setFace(FACE_EMPTY);
+	}
+
+	/**
+	 * Affiche une carte, si elle diffère de la carte affichée.
+	 *
+	 * @param card     la carte, ou null pour un emplacement vide
+	 * @param isHidden true pour montrer le dos de la carte
+	 */
+	void setCard(Card card, boolean isHidden) {
+		if (isHidden) {
+			setFace(FACE_HIDDEN);
+			return;
+		}
+		if (card == null) {
+			setFace(FACE_EMPTY);
+			return;
+		}
+
+		ImageIcon icon = images.getCardIcon(card);
+		String next = icon != null ? FACE_IMAGE : FACE_INFO;
+		if (next.equals(face) && card.getColor() == color && card.getFaceValue() == value) {
+			return;
+		}
+		color = card.getColor();
+		value = card.getFaceValue();
+		if (icon != null) {
+			imageLabel.setIcon(icon);
+		} else {
+			infoPanel.setBackground(getColorForCard(color));
+			colorLabel.setText(getColorSymbol(color));
+			valueLabel.setText(String.valueOf(value));
+		}
+		setFace(next);
+		repaint();
+	}
+
+	private void setFace(String next) {
+		if (next.equals(face)) {
+			return;
+		}
+		face = next;
+		if (!FACE_IMAGE.equals(next) && !FACE_INFO.equals(next)) {
+			color = null;
+		}
+		faces.show(this, next);
+	}
+
+	private static java.awt.Color getColorForCard(Color color) {
+		switch (color) {
+		case HEART:
+			return new java.awt.Color(255, 200, 200);
+		case SPADE:
+			return new java.awt.Color(200, 200, 200);
+		case CLUB:
+			return new java.awt.Color(180, 255, 180);
+		case DIAMOND:
+			return new java.awt.Color(200, 220, 255);
+		case JOKER:
+			return new java.awt.Color(255, 255, 150);
+		case BONUS:
+			return new java.awt.Color(150, 255, 150);
+		case MALUS:
+			return new java.awt.Color(255, 150, 150);
+		case GOLD:
+			return new java.awt.Color(255, 215, 0);
+		default:
+			return java.awt.Color.WHITE;
+		}
+	}
+
+	private static String getColorSymbol(Color color) {
+		switch (color) {
+		case HEART:
+			return "♥";
+		case SPADE:
+			return "♠";
+		case CLUB:
+			return "♣";
+		case DIAMOND:
+			return "♦";
+		case JOKER:
+			return "🃏";
+		case BONUS:
+			return "⭐";
+		case MALUS:
+			return "⚠";
+		case GOLD:
+			return "💰";
+		default:
+			return "?";
+		}
+	}
+}
@@ -1,40 +1,36 @@
 package view.gui;
 
 import java.awt.BorderLayout;
-import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.GridLayout;
-import java.awt.Image;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.BorderFactory;
-import javax.swing.BoxLayout;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
-import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
 import controller.GameController;
 import model.Card;
-import model.Color; // Notre enum de couleurs de cartes
 import model.InteractivePlayerStrategy;
 import model.Offer;
 import model.Player;
+import model.TableSnapshot;
+import model.TableSnapshot.PlayerSnapshot;
+import model.PromptDispatcher;
 import view.GameViewInterface;
 
 /**
@@ -50,21 +46,32 @@ public class GameView extends JFrame implements GameViewInterface {
 
 	// Composants UI
 	private JPanel mainPanel;
-	private BufferedImage carpetImage;
+	private final TiledBackground carpet = new TiledBackground();
 	private JPanel trophyPanel;
+	private JLabel trophyLabel;
+	private CardView trophy1View;
+	private CardView trophy2View;
 	private JPanel playersPanel;
+	private final List<PlayerPanel> playerPanels = new ArrayList<>();
+	private CardAnimator animator;
 	private JPanel actionPanel;
 	private JTextArea logArea;
+	private LogConsole logConsole;
 	private JButton btnSave;
+	private JButton btnUndo;
+	private JButton btnRedo;
+	private JPanel savePanel;
+	private boolean replaying;
 
 	// État de l'interface
 	private BlockingQueue<Integer> inputQueue;
-	private Map<String, ImageIcon> cardImages;
+	private final CardImageCache images;
 
-	// État du jeu
-	private List<Player> currentPlayers;
-	private Player currentPlayer;
-	private boolean isChoosingPhase; // true pendant la phase de choix de cible/carte
+	// État du jeu : dernier instantané reçu, seule source de l'affichage
+	private volatile TableSnapshot snapshot;
+	// Instantané précédent : l'état de la table avant le dernier changement
+	private volatile TableSnapshot previousSnapshot;
+	private final AtomicBoolean renderPending = new AtomicBoolean();
 
 	/**
 	 * Construit la vue graphique du jeu. Initialise l'interface, charge les images
@@ -76,11 +83,11 @@ public class GameView extends JFrame implements GameViewInterface {
 		this.controller = controller;
 		this.inputQueue = new LinkedBlockingQueue<>();
 		this.playerStrategy = new InteractivePlayerStrategy(this);
-		this.cardImages = new HashMap<>();
+		this.images = CardImageCache.getInstance();
 		this.controller.addObserver(this);
 
-		loadCardImages();
 		initializeUI();
+		loadCardImages();
 	}
 
 	/**
@@ -102,18 +109,20 @@ public class GameView extends JFrame implements GameViewInterface {
 	}
 
 	/**
-	 * Charge les images de cartes et l'image de fond du tapis.
+	 * Affiche le tapis et les images de cartes dès qu'elles sont chargées par le
+	 * cache. D'ici là, les cartes sont dessinées avec leur symbole et leur
+	 * valeur.
 	 */
 	private void loadCardImages() {
-		// Charger l'image de fond du tapis
-		try {
-			File carpetFile = new File("resources/img/carpet.png");
-			if (carpetFile.exists()) {
-				carpetImage = javax.imageio.ImageIO.read(carpetFile);
+		images.whenLoaded(() -> {
+			carpet.setTile(images.getImage("carpet"));
+			mainPanel.repaint();
+			TableSnapshot s = snapshot;
+			if (s != null && s.getTrophyCard1() != null) {
+				onTrophyCardsDisplayed(s.getTrophyCard1(), s.getTrophyCard2());
 			}
-		} catch (Exception e) {
-			System.err.println("Erreur lors du chargement de carpet.png : " + e.getMessage());
-		}
+			updatePlayersDisplay();
+		});
 	}
 
 	/**
@@ -131,16 +140,8 @@ public class GameView extends JFrame implements GameViewInterface {
 			@Override
 			protected void paintComponent(Graphics g) {
 				super.paintComponent(g);
-				if (carpetImage != null) {
-					// Dessiner l'image en mosaïque pour couvrir tout le panel
-					int imgWidth = carpetImage.getWidth();
-					int imgHeight = carpetImage.getHeight();
-					for (int x = 0; x < getWidth(); x += imgWidth) {
-						for (int y = 0; y < getHeight(); y += imgHeight) {
-							g.drawImage(carpetImage, x, y, null);
-						}
-					}
-				}
+				// Mosaïque du tapis, remplie une seule fois par taille du panel
+				carpet.paint(g, this);
 			}
 		};
 		mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -152,6 +153,18 @@ public class GameView extends JFrame implements GameViewInterface {
 		trophyPanel.setOpaque(false);
 		trophyPanel.setBorder(BorderFactory.createTitledBorder(BorderFactory.createLineBorder(java.awt.Color.YELLOW, 2),
 				"Cartes Trophées", 0, 0, new Font("Arial", Font.BOLD, 16), java.awt.Color.YELLOW));
+		trophyLabel = new JLabel("🏆 TROPHÉES 🏆");
+		trophyLabel.setFont(new Font("Arial", Font.BOLD, 18));
+		trophyLabel.setForeground(java.awt.Color.YELLOW);
+		trophy1View = new CardView(images);
+		trophy2View = new CardView(images);
+		trophyPanel.add(trophyLabel);
+		trophyPanel.add(trophy1View);
+		trophyPanel.add(trophy2View);
+		// Affichés à la réception des trophées
+		trophyLabel.setVisible(false);
+		trophy1View.setVisible(false);
+		trophy2View.setVisible(false);
 		mainPanel.add(trophyPanel, BorderLayout.NORTH);
 
 		// Panel central : Joueurs et leurs cartes
@@ -175,22 +188,52 @@ public class GameView extends JFrame implements GameViewInterface {
 		logArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
 		logArea.setBackground(new java.awt.Color(240, 240, 240));
 		logArea.setForeground(java.awt.Color.BLACK);
+		logConsole = new LogConsole(logArea, LogConsole.DEFAULT_MAX_LINES);
 		JScrollPane scrollPane = new JScrollPane(logArea);
 		scrollPane.setPreferredSize(new Dimension(600, 150));
 		bottomPanel.add(scrollPane, BorderLayout.CENTER);
 
 		// Bouton de sauvegarde
-		JPanel savePanel = new JPanel();
+		savePanel = new JPanel();
 		savePanel.setOpaque(false);
 		btnSave = new JButton("💾 Sauvegarder");
 		btnSave.setFont(new Font("Arial", Font.BOLD, 14));
 		btnSave.addActionListener(e -> saveGame());
+		btnUndo = new JButton("↶ Annuler");
+		btnUndo.setFont(new Font("Arial", Font.BOLD, 14));
+		btnUndo.addActionListener(e -> controller.undo());
+		btnRedo = new JButton("↷ Rétablir");
+		btnRedo.setFont(new Font("Arial", Font.BOLD, 14));
+		btnRedo.addActionListener(e -> controller.redo());
+		savePanel.add(btnUndo);
+		savePanel.add(btnRedo);
 		savePanel.add(btnSave);
 		bottomPanel.add(savePanel, BorderLayout.SOUTH);
 
 		mainPanel.add(bottomPanel, BorderLayout.SOUTH);
 
 		add(mainPanel);
+
+		// Animations des cartes, sur la vitre de la fenêtre
+		animator = new CardAnimator(images, CardAnimator.DEFAULT_DURATION_MILLIS);
+		setGlassPane(animator);
+	}
+
+	/**
+	 * Passe la fenêtre en visionnage d'une partie enregistrée : les boutons de
+	 * sauvegarde et d'annulation sont remplacés par les commandes du replay, et
+	 * les retours à un coup ne sont plus écrits dans le journal.
+	 *
+	 * @param controls les commandes de visionnage
+	 */
+	void showReplayControls(JComponent controls) {
+		replaying = true;
+		setTitle("JEST - Revoir la partie");
+		setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+		savePanel.removeAll();
+		savePanel.add(controls);
+		savePanel.revalidate();
+		savePanel.repaint();
 	}
 
 	private void saveGame() {
@@ -201,149 +244,26 @@ public class GameView extends JFrame implements GameViewInterface {
 	}
 
 	private void log(String message) {
-		SwingUtilities.invokeLater(() -> {
-			logArea.append(message + "\n");
-			logArea.setCaretPosition(logArea.getDocument().getLength());
-		});
-	}
-
-	// === CRÉATION DE CARTES GRAPHIQUES ===
-
-	private JPanel createCardPanel(Card card, boolean isHidden) {
-		JPanel cardPanel = new JPanel();
-		cardPanel.setLayout(new BorderLayout());
-		cardPanel.setPreferredSize(new Dimension(100, 140));
-		cardPanel.setBackground(java.awt.Color.WHITE);
-		cardPanel.setBorder(BorderFactory.createLineBorder(java.awt.Color.BLACK, 2));
-
-		if (isHidden) {
-			// Carte cachée
-			JLabel backLabel = new JLabel("?", SwingConstants.CENTER);
-			backLabel.setFont(new Font("Arial", Font.BOLD, 72));
-			backLabel.setForeground(new java.awt.Color(139, 69, 19));
-			cardPanel.add(backLabel, BorderLayout.CENTER);
-
-			JLabel hiddenLabel = new JLabel("CACHÉE", SwingConstants.CENTER);
-			hiddenLabel.setFont(new Font("Arial", Font.BOLD, 10));
-			cardPanel.add(hiddenLabel, BorderLayout.SOUTH);
-		} else if (card != null) {
-			// Carte visible
-			ImageIcon icon = getCardImage(card);
-			if (icon != null) {
-				JLabel imageLabel = new JLabel(icon);
-				cardPanel.add(imageLabel, BorderLayout.CENTER);
-			} else {
-				// Placeholder textuel
-				JPanel infoPanel = new JPanel();
-				infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-				infoPanel.setBackground(getColorForCard(card.getColor()));
-
-				JLabel colorLabel = new JLabel(getColorSymbol(card.getColor()), SwingConstants.CENTER);
-				colorLabel.setFont(new Font("Arial", Font.BOLD, 48));
-				colorLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-				infoPanel.add(colorLabel);
-
-				JLabel valueLabel = new JLabel(String.valueOf(card.getFaceValue()), SwingConstants.CENTER);
-				valueLabel.setFont(new Font("Arial", Font.BOLD, 32));
-				valueLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-				infoPanel.add(valueLabel);
-
-				cardPanel.add(infoPanel, BorderLayout.CENTER);
-			}
-		} else {
-			// Carte vide
-			JLabel emptyLabel = new JLabel("VIDE", SwingConstants.CENTER);
-			emptyLabel.setFont(new Font("Arial", Font.BOLD, 16));
-			emptyLabel.setForeground(java.awt.Color.GRAY);
-			cardPanel.add(emptyLabel, BorderLayout.CENTER);
-		}
-
-		return cardPanel;
+		logConsole.append(message);
 	}
 
-	private ImageIcon getCardImage(Card card) {
-		// Tentative de chargement de l'image depuis resources/img
-		String filename = "resources/img/" + card.getColor().toString().toLowerCase() + "_" + card.getFaceValue()
-				+ ".png";
-		File imageFile = new File(filename);
-
-		if (imageFile.exists()) {
-			try {
-				ImageIcon icon = new ImageIcon(imageFile.getAbsolutePath());
-				Image img = icon.getImage().getScaledInstance(100, 140, Image.SCALE_SMOOTH);
-				return new ImageIcon(img);
-			} catch (Exception e) {
-				// Utiliser le placeholder
-			}
-		}
-
-		// Sinon, utiliser placeholder générique
-		String placeholderPath = "resources/img/placeholder_card.png";
-		File placeholderFile = new File(placeholderPath);
-		if (placeholderFile.exists()) {
-			try {
-				ImageIcon icon = new ImageIcon(placeholderFile.getAbsolutePath());
-				Image img = icon.getImage().getScaledInstance(100, 140, Image.SCALE_SMOOTH);
-				return new ImageIcon(img);
-			} catch (Exception e) {
-				// Ignorer
-			}
-		}
-
-		return null;
-	}
-
-	private java.awt.Color getColorForCard(Color color) {
-		switch (color) {
-		case HEART:
-			return new java.awt.Color(255, 200, 200);
-		case SPADE:
-			return new java.awt.Color(200, 200, 200);
-		case CLUB:
-			return new java.awt.Color(180, 255, 180);
-		case DIAMOND:
-			return new java.awt.Color(200, 220, 255);
-		case JOKER:
-			return new java.awt.Color(255, 255, 150);
-		case BONUS:
-			return new java.awt.Color(150, 255, 150);
-		case MALUS:
-			return new java.awt.Color(255, 150, 150);
-		case GOLD:
-			return new java.awt.Color(255, 215, 0);
-		default:
-			return java.awt.Color.WHITE;
-		}
-	}
+	// === MÉTHODES D'INTERACTION ===
 
-	private String getColorSymbol(Color color) {
-		switch (color) {
-		case HEART:
-			return "♥";
-		case SPADE:
-			return "♠";
-		case CLUB:
-			return "♣";
-		case DIAMOND:
-			return "♦";
-		case JOKER:
-			return "🃏";
-		case BONUS:
-			return "⭐";
-		case MALUS:
-			return "⚠";
-		case GOLD:
-			return "💰";
-		default:
-			return "?";
-		}
+	/**
+	 * Retire les boutons d'action d'une demande terminée ou annulée.
+	 */
+	private void clearActions() {
+		SwingUtilities.invokeLater(() -> {
+			actionPanel.removeAll();
+			actionPanel.revalidate();
+			actionPanel.repaint();
+		});
 	}
 
-	// === MÉTHODES D'INTERACTION ===
-
 	@Override
 	public int askForOffer(Player player) {
 		inputQueue.clear();
+		long request = PromptDispatcher.currentRequest();
 
 		// Vérifier si le joueur est humain
 		boolean isHuman = player.getStrategy() instanceof InteractivePlayerStrategy;
@@ -364,7 +284,7 @@ public class GameView extends JFrame implements GameViewInterface {
 						inputQueue.offer(1);
 						// Envoyer aussi à la stratégie
 						if (playerStrategy != null) {
-							playerStrategy.provideResponse(1);
+							playerStrategy.provideResponse(request, 1);
 						}
 					});
 					actionPanel.add(btn1);
@@ -374,7 +294,7 @@ public class GameView extends JFrame implements GameViewInterface {
 						inputQueue.offer(2);
 						// Envoyer aussi à la stratégie
 						if (playerStrategy != null) {
-							playerStrategy.provideResponse(2);
+							playerStrategy.provideResponse(request, 2);
 						}
 					});
 					actionPanel.add(btn2);
@@ -394,14 +314,17 @@ public class GameView extends JFrame implements GameViewInterface {
 		try {
 			return inputQueue.take();
 		} catch (InterruptedException e) {
-			e.printStackTrace();
-			return 1;
+			// Demande annulée : une autre vue a répondu
+			Thread.currentThread().interrupt();
+			clearActions();
+			return 0;
 		}
 	}
 
 	@Override
 	public int askForTarget(Player player, List<Offer> availableOffers) {
 		inputQueue.clear();
+		long request = PromptDispatcher.currentRequest();
 
 		// Vérifier si le joueur est humain
 		boolean isHuman = player.getStrategy() instanceof InteractivePlayerStrategy;
@@ -424,7 +347,7 @@ public class GameView extends JFrame implements GameViewInterface {
 						inputQueue.offer(index);
 						// Envoyer aussi à la stratégie
 						if (playerStrategy != null) {
-							playerStrategy.provideResponse(index);
+							playerStrategy.provideResponse(request, index);
 						}
 					});
 					actionPanel.add(btn);
@@ -444,14 +367,17 @@ public class GameView extends JFrame implements GameViewInterface {
 		try {
 			return inputQueue.take();
 		} catch (InterruptedException e) {
-			e.printStackTrace();
-			return 1;
+			// Demande annulée : une autre vue a répondu
+			Thread.currentThread().interrupt();
+			clearActions();
+			return 0;
 		}
 	}
 
 	@Override
 	public int askForCard(Player player, Offer targetOffer) {
 		inputQueue.clear();
+		long request = PromptDispatcher.currentRequest();
 
 		// Vérifier si le joueur est humain
 		boolean isHuman = player.getStrategy() instanceof InteractivePlayerStrategy;
@@ -472,7 +398,7 @@ public class GameView extends JFrame implements GameViewInterface {
 						inputQueue.offer(1);
 						// Envoyer aussi à la stratégie
 						if (playerStrategy != null) {
-							playerStrategy.provideResponse(1);
+							playerStrategy.provideResponse(request, 1);
 						}
 					});
 					actionPanel.add(btnVisible);
@@ -484,7 +410,7 @@ public class GameView extends JFrame implements GameViewInterface {
 						inputQueue.offer(2);
 						// Envoyer aussi à la stratégie
 						if (playerStrategy != null) {
-							playerStrategy.provideResponse(2);
+							playerStrategy.provideResponse(request, 2);
 						}
 					});
 					actionPanel.add(btnHidden);
@@ -504,8 +430,10 @@ public class GameView extends JFrame implements GameViewInterface {
 		try {
 			return inputQueue.take();
 		} catch (InterruptedException e) {
-			e.printStackTrace();
-			return 1;
+			// Demande annulée : une autre vue a répondu
+			Thread.currentThread().interrupt();
+			clearActions();
+			return 0;
 		}
 	}
 
@@ -542,17 +470,12 @@ public class GameView extends JFrame implements GameViewInterface {
 
 	@Override
 	public void onCardsDistributed(List<Player> players) {
-		this.currentPlayers = players;
 		log("✅ Cartes distribuées à tous les joueurs.");
-		updatePlayersDisplay();
 	}
 
 	@Override
 	public void onPlayerTurnToOffer(Player player) {
-		this.currentPlayer = player;
-		this.isChoosingPhase = false; // Phase d'offre, on affiche la main
 		log("\n====== Tour de " + player.getName() + " ======");
-		updatePlayersDisplay();
 	}
 
 	@Override
@@ -566,13 +489,20 @@ public class GameView extends JFrame implements GameViewInterface {
 			actionPanel.repaint();
 		});
 
-		updatePlayersDisplay();
+		// Les deux cartes partent de la main vers l'offre
+		Card visible = offer.getVisibleCard();
+		int seat = seatOfOffer(snapshot, visible);
+		SwingUtilities.invokeLater(() -> {
+			if (seat >= 0 && seat < playerPanels.size()) {
+				PlayerPanel panel = playerPanels.get(seat);
+				animator.animate(visible, false, panel.getHandAnchor(), panel.getOfferSlot(false));
+				animator.animate(null, true, panel.getHandAnchor(), panel.getOfferSlot(true));
+			}
+		});
 	}
 
 	@Override
 	public void onPlayerTurnToChoose(Player player, List<Offer> availableOffers) {
-		this.currentPlayer = player;
-		this.isChoosingPhase = true; // Phase de choix, on affiche seulement les offres
 		log("\n====== " + player.getName() + " doit choisir une carte ======");
 
 		if (availableOffers.isEmpty()) {
@@ -584,8 +514,6 @@ public class GameView extends JFrame implements GameViewInterface {
 				log("(" + (i + 1) + ") " + o.getOwner().getName() + " - " + o.getVisibleCard() + " / CACHÉE");
 			}
 		}
-
-		updatePlayersDisplay();
 	}
 
 	@Override
@@ -603,7 +531,18 @@ public class GameView extends JFrame implements GameViewInterface {
 			actionPanel.repaint();
 		});
 
-		updatePlayersDisplay();
+		// La carte part de l'offre vers le Jest ; l'instantané d'avant la prise
+		// dit où elle était et si c'était la carte cachée
+		TableSnapshot before = previousSnapshot;
+		int from = seatOfOffer(before, card);
+		int to = seatOfJest(snapshot, card);
+		boolean hidden = from >= 0 && before.getPlayers().get(from).getOfferHiddenCard() == card;
+		SwingUtilities.invokeLater(() -> {
+			if (from >= 0 && from < playerPanels.size() && to >= 0 && to < playerPanels.size()) {
+				animator.animate(card, hidden, playerPanels.get(from).getOfferSlot(hidden),
+						playerPanels.get(to).getJestAnchor());
+			}
+		});
 	}
 
 	@Override
@@ -613,13 +552,16 @@ public class GameView extends JFrame implements GameViewInterface {
 		for (Player p : players) {
 			log(p.getName() + " : " + p.getJest());
 		}
-		updatePlayersDisplay();
 
 		// La sauvegarde peut être faite à tout moment via le bouton dédié
 	}
 
 	@Override
 	public void onGameEnded(Player winner, List<Player> players, int[] scores) {
+		if (!replaying) {
+			// La partie pourra être revue depuis le menu
+			controller.archiveReplay();
+		}
 		log("\n====== 🏆 FIN DE LA PARTIE 🏆 ======");
 		log("\n====== 📈 SCORES 📈 ======");
 		for (int i = 0; i < players.size(); i++) {
@@ -628,6 +570,20 @@ public class GameView extends JFrame implements GameViewInterface {
 		log("\n====== 👑 GAGNANT 👑 ======");
 		log("Félicitations à " + winner.getName() + " 👑 qui remporte le jeu !");
 
+		// L'écran des scores s'affiche plus tard : il garde ses propres copies des
+		// objets de l'événement
+		List<Player> standings = new ArrayList<>();
+		Player champion = null;
+		for (Player p : players) {
+			Player copy = new Player(p);
+			standings.add(copy);
+			if (p == winner) {
+				champion = copy;
+			}
+		}
+		Player finalWinner = champion != null ? champion : new Player(winner);
+		int[] finalScores = scores.clone();
+
 		SwingUtilities.invokeLater(() -> {
 			// Afficher popup de sauvegarde non-bloquante
 			int choice = JOptionPane.showConfirmDialog(this, "Voulez-vous sauvegarder cette partie ?", "Sauvegarde",
@@ -642,7 +598,7 @@ public class GameView extends JFrame implements GameViewInterface {
 			}
 
 			// Afficher l'écran des scores
-			ScoreFrame scoreFrame = new ScoreFrame(winner, players, scores, controller);
+			ScoreFrame scoreFrame = new ScoreFrame(finalWinner, standings, finalScores, controller);
 			scoreFrame.setVisible(true);
 			this.dispose();
 		});
@@ -651,21 +607,13 @@ public class GameView extends JFrame implements GameViewInterface {
 	@Override
 	public void onTrophyCardsDisplayed(Card trophy1, Card trophy2) {
 		SwingUtilities.invokeLater(() -> {
-			trophyPanel.removeAll();
-
-			JLabel trophyLabel = new JLabel("🏆 TROPHÉES 🏆");
-			trophyLabel.setFont(new Font("Arial", Font.BOLD, 18));
-			trophyLabel.setForeground(java.awt.Color.YELLOW);
-			trophyPanel.add(trophyLabel);
-
-			trophyPanel.add(createCardPanel(trophy1, false));
-
+			trophyLabel.setVisible(true);
+			trophy1View.setVisible(true);
+			trophy1View.setCard(trophy1, false);
+			trophy2View.setVisible(trophy2 != null);
 			if (trophy2 != null) {
-				trophyPanel.add(createCardPanel(trophy2, false));
+				trophy2View.setCard(trophy2, false);
 			}
-
-			trophyPanel.revalidate();
-			trophyPanel.repaint();
 		});
 	}
 
@@ -688,26 +636,29 @@ public class GameView extends JFrame implements GameViewInterface {
 	public void onGameLoaded(String saveName) {
 		log("✅ Partie chargée : " + saveName);
 
-		// Récupérer l'état du jeu et mettre à jour l'affichage
-		this.currentPlayers = controller.getPlayers();
-
-		// Afficher les informations de la partie
-		log("Joueurs : " + controller.getNbPlayers());
-		String modeStr = controller.getMode() == 0 ? "Classique" : (controller.getMode() == 1 ? "Bouffon" : "Clair");
+		// L'instantané de la partie chargée a été reçu juste avant
+		TableSnapshot s = snapshot;
+		log("Joueurs : " + s.getPlayers().size());
+		String modeStr = s.getMode() == 0 ? "Classique" : (s.getMode() == 1 ? "Bouffon" : "Clair");
 		log("Mode : " + modeStr);
-		log("Extension : " + (controller.isExtensionActive() ? "Activée" : "Désactivée"));
-		log("Round actuel : " + controller.getCurrentRound());
+		log("Extension : " + (s.isExtensionActive() ? "Activée" : "Désactivée"));
+		log("Round actuel : " + s.getRound());
 
 		// Afficher les cartes trophées
-		Card trophy1 = controller.getTrophyCard1();
-		Card trophy2 = controller.getTrophyCard2();
-		onTrophyCardsDisplayed(trophy1, trophy2);
+		onTrophyCardsDisplayed(s.getTrophyCard1(), s.getTrophyCard2());
 
-		// Mettre à jour l'affichage des joueurs et cartes
-		// Important : faire ça APRÈS les trophées pour que tout soit visible
-		updatePlayersDisplay();
+		log("\n⏯️ Reprise de la partie au round " + s.getRound() + "...");
+	}
 
-		log("\n⏯️ Reprise de la partie au round " + controller.getCurrentRound() + "...");
+	@Override
+	public void onStateRestored(int decisionIndex) {
+		// L'instantané de l'état restauré a été reçu juste avant
+		TableSnapshot s = snapshot;
+		if (!replaying) {
+			log("\n⏪ Retour au coup " + decisionIndex + " (round " + s.getRound() + ")");
+		}
+		clearActions();
+		onTrophyCardsDisplayed(s.getTrophyCard1(), s.getTrophyCard2());
 	}
 
 	@Override
@@ -718,98 +669,84 @@ public class GameView extends JFrame implements GameViewInterface {
 
 	// === MISE À JOUR DE L'AFFICHAGE ===
 
+	@Override
+	public void onSnapshot(TableSnapshot snapshot) {
+		this.previousSnapshot = this.snapshot;
+		this.snapshot = snapshot;
+		updatePlayersDisplay();
+	}
+
+	/**
+	 * Met à jour les joueurs depuis le dernier instantané. Plusieurs instantanés
+	 * reçus avant le passage de l'EDT ne donnent lieu qu'à un seul rendu, et
+	 * seuls les panneaux des joueurs qui ont changé sont modifiés.
+	 */
 	private void updatePlayersDisplay() {
+		if (!renderPending.compareAndSet(false, true)) {
+			return;
+		}
 		SwingUtilities.invokeLater(() -> {
-			playersPanel.removeAll();
-
-			if (currentPlayers != null) {
-				for (Player player : currentPlayers) {
-					JPanel playerPanel = createPlayerPanel(player);
-					playersPanel.add(playerPanel);
+			renderPending.set(false);
+			TableSnapshot s = snapshot;
+			List<PlayerSnapshot> players = s != null ? s.getPlayers() : List.of();
+
+			// Les panneaux ne sont créés ou retirés que si le nombre de joueurs change
+			if (playerPanels.size() != players.size()) {
+				while (playerPanels.size() < players.size()) {
+					PlayerPanel panel = new PlayerPanel(images);
+					playerPanels.add(panel);
+					playersPanel.add(panel);
+				}
+				while (playerPanels.size() > players.size()) {
+					playersPanel.remove(playerPanels.remove(playerPanels.size() - 1));
 				}
+				playersPanel.revalidate();
+				playersPanel.repaint();
 			}
 
-			playersPanel.revalidate();
-			playersPanel.repaint();
+			for (int i = 0; i < players.size(); i++) {
+				playerPanels.get(i).update(players.get(i), i == s.getActivePlayer(), s.isChoosingPhase());
+			}
 		});
 	}
 
-	private JPanel createPlayerPanel(Player player) {
-		JPanel panel = new JPanel();
-		panel.setLayout(new BorderLayout());
-		panel.setBackground(new java.awt.Color(50, 100, 50));
-
-		boolean isCurrentPlayer = (player == currentPlayer);
-		java.awt.Color borderColor = isCurrentPlayer ? java.awt.Color.YELLOW : java.awt.Color.WHITE;
-		int borderWidth = isCurrentPlayer ? 3 : 1;
-
-		panel.setBorder(BorderFactory.createLineBorder(borderColor, borderWidth));
-
-		// Nom du joueur
-		JLabel nameLabel = new JLabel(player.getName(), SwingConstants.CENTER);
-		nameLabel.setFont(new Font("Arial", Font.BOLD, 16));
-		nameLabel.setForeground(isCurrentPlayer ? java.awt.Color.YELLOW : java.awt.Color.WHITE);
-		panel.add(nameLabel, BorderLayout.NORTH);
-
-		// Cartes
-		JPanel cardsPanel = new JPanel();
-		cardsPanel.setLayout(new FlowLayout(FlowLayout.CENTER));
-		cardsPanel.setBackground(new java.awt.Color(50, 100, 50));
-
-		// Main du joueur - VISIBLE UNIQUEMENT pendant la phase d'offre ET pour le
-		// joueur actif ET si c'est un humain
-		boolean isHuman = player.getStrategy() instanceof InteractivePlayerStrategy;
-		if (!isChoosingPhase && !player.getHand().isEmpty() && isCurrentPlayer && isHuman) {
-			JLabel handLabel = new JLabel("Main: ");
-			handLabel.setForeground(java.awt.Color.WHITE);
-			cardsPanel.add(handLabel);
-
-			for (Card card : player.getHand()) {
-				cardsPanel.add(createCardPanel(card, false));
+	/**
+	 * Retourne la place du joueur dont l'offre contient une carte. Chaque carte
+	 * est unique, contrairement aux noms des joueurs.
+	 *
+	 * @return la place, ou -1 si aucune offre ne contient la carte
+	 */
+	private static int seatOfOffer(TableSnapshot s, Card card) {
+		if (s == null || card == null) {
+			return -1;
+		}
+		List<PlayerSnapshot> players = s.getPlayers();
+		for (int i = 0; i < players.size(); i++) {
+			PlayerSnapshot p = players.get(i);
+			if (p.getOfferVisibleCard() == card || p.getOfferHiddenCard() == card) {
+				return i;
 			}
 		}
+		return -1;
+	}
 
-		// Offre du joueur - Afficher uniquement la carte VISIBLE
-		if (currentPlayers != null) {
-			for (model.Offer offer : controller.getOffers()) {
-				if (offer.getOwner() == player) {
-					JLabel offerLabel = new JLabel(" | Offre: ");
-					offerLabel.setForeground(java.awt.Color.YELLOW);
-					cardsPanel.add(offerLabel);
-
-					// Carte visible
-					if (offer.getVisibleCard() != null) {
-						cardsPanel.add(createCardPanel(offer.getVisibleCard(), false));
-					}
-
-					// Carte cachée (toujours masquée sauf pour le joueur lui-même)
-					if (offer.getHiddenCard() != null) {
-						if (isCurrentPlayer) {
-							// Le joueur voit sa propre carte cachée
-							cardsPanel.add(createCardPanel(offer.getHiddenCard(), false));
-						} else {
-							// Les autres voient juste qu'il y a une carte cachée
-							cardsPanel.add(createCardPanel(null, true));
-						}
-					}
-					break;
+	/**
+	 * Retourne la place du joueur dont le Jest contient une carte.
+	 *
+	 * @return la place, ou -1 si aucun Jest ne contient la carte
+	 */
+	private static int seatOfJest(TableSnapshot s, Card card) {
+		if (s == null || card == null) {
+			return -1;
+		}
+		List<PlayerSnapshot> players = s.getPlayers();
+		for (int i = 0; i < players.size(); i++) {
+			for (Card c : players.get(i).getJest()) {
+				if (c == card) {
+					return i;
 				}
 			}
 		}
-
-		// Jest du joueur (cartes collectées) - Toujours visible (nombre uniquement)
-		if (!player.getJest().isEmpty()) {
-			JLabel jestLabel = new JLabel(" | Jest: ");
-			jestLabel.setForeground(java.awt.Color.WHITE);
-			cardsPanel.add(jestLabel);
-
-			JLabel jestCount = new JLabel("(" + player.getJest().size() + " cartes)");
-			jestCount.setForeground(java.awt.Color.CYAN);
-			cardsPanel.add(jestCount);
-		}
-
-		panel.add(cardsPanel, BorderLayout.CENTER);
-
-		return panel;
+		return -1;
 	}
 }
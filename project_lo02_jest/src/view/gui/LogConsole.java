@@ -0,0 +1,126 @@
+package view.gui;
+
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+
+/**
+ * Journal affiché dans une zone de texte, utilisable depuis n'importe quel
+ * thread.
+ * <p>
+ * Les messages sont déposés dans un tampon circulaire borné, puis écrits
+ * ensemble au plus une fois par image (environ 60 fois par seconde) : une
+ * rafale de messages ne coûte qu'une mise à jour de l'EDT. La zone ne garde
+ * que les {@code maxLines} dernières lignes, les plus anciennes étant retirées
+ * du document. Le coût d'un message reste ainsi le même quelle que soit la
+ * durée de la partie.
+ * </p>
+ */
+public class LogConsole {
+
+	/** Nombre de lignes gardées par défaut. */
+	public static final int DEFAULT_MAX_LINES = 2000;
+
+	// Intervalle entre deux écritures, en millisecondes (une image à 60 Hz)
+	private static final int FRAME_MILLIS = 16;
+
+	private final JTextArea area;
+	private final int maxLines;
+	private final Timer flushTimer;
+
+	// Tampon circulaire des messages en attente
+	private final String[] pending;
+	private int head;
+	private int size;
+	private boolean scheduled;
+	private long dropped;
+
+	/**
+	 * Construit un journal affiché dans une zone de texte.
+	 *
+	 * @param area     la zone de texte, non modifiable
+	 * @param maxLines le nombre de lignes gardées dans la zone
+	 */
+	public LogConsole(JTextArea area, int maxLines) {
+		this.area = area;
+		this.maxLines = maxLines;
+		this.pending = new String[maxLines];
+		this.flushTimer = new Timer(FRAME_MILLIS, e -> flush());
+		flushTimer.setRepeats(false);
+	}
+
+	/**
+	 * Ajoute un message au journal. Il est affiché à la prochaine image.
+	 *
+	 * @param message le message, éventuellement sur plusieurs lignes
+	 */
+	public void append(String message) {
+		synchronized (pending) {
+			if (size == pending.length) {
+				// Tampon plein : le plus ancien message serait de toute façon retiré
+				head = (head + 1) % pending.length;
+				size--;
+				dropped++;
+			}
+			pending[(head + size) % pending.length] = message;
+			size++;
+			if (scheduled) {
+				return;
+			}
+			scheduled = true;
+		}
+		// Le minuteur n'est manipulé que dans l'EDT : démarré depuis un autre
+		// thread, il peut perdre son déclenchement pendant une écriture
+		SwingUtilities.invokeLater(flushTimer::start);
+	}
+
+	/**
+	 * Écrit les messages en attente dans la zone, retire les lignes en trop et
+	 * fait défiler jusqu'à la fin. S'exécute dans l'EDT.
+	 */
+	private void flush() {
+		StringBuilder text = new StringBuilder();
+		synchronized (pending) {
+			for (int i = 0; i < size; i++) {
+				int index = (head + i) % pending.length;
+				text.append(pending[index]).append('\n');
+				pending[index] = null;
+			}
+			head = 0;
+			size = 0;
+			scheduled = false;
+		}
+		if (text.length() == 0) {
+			return;
+		}
+
+		area.append(text.toString());
+		Document document = area.getDocument();
+		Element root = document.getDefaultRootElement();
+		// La dernière ligne, vide, suit le dernier saut de ligne
+		int excess = root.getElementCount() - 1 - maxLines;
+		if (excess > 0) {
+			try {
+				document.remove(0, root.getElement(excess - 1).getEndOffset());
+			} catch (BadLocationException e) {
+				area.setText("");
+			}
+		}
+		area.setCaretPosition(document.getLength());
+	}
+
+	/**
+	 * Retourne le nombre de messages retirés du tampon avant d'être affichés,
+	 * parce qu'il était plein.
+	 *
+	 * @return le nombre de messages jamais affichés
+	 */
+	public long getDroppedCount() {
+		synchronized (pending) {
+			return dropped;
+		}
+	}
+}
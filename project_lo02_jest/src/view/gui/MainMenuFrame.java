@@ -5,15 +5,20 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
+import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JDialog;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -22,13 +27,19 @@ import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
 import javax.swing.JTextField;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import controller.GameController;
+import controller.GameExecutor;
+import model.GameReplay;
+import model.SaveLoadManager;
 import view.ConsoleView;
 
 /**
  * Menu principal du jeu JEST (interface graphique). Permet de configurer et
- * démarrer une nouvelle partie ou charger une sauvegarde.
+ * démarrer une nouvelle partie, charger une sauvegarde ou revoir une partie
+ * enregistrée.
  */
 public class MainMenuFrame extends JFrame {
 
@@ -41,6 +52,7 @@ public class MainMenuFrame extends JFrame {
 	private JCheckBox checkExtension;
 	private JPanel panelPlayerNames;
 	private List<JTextField> playerNameFields;
+	private JLabel statusLabel;
 
 	/**
 	 * Construit le menu principal.
@@ -60,7 +72,7 @@ public class MainMenuFrame extends JFrame {
 	 */
 	private void initializeUI() {
 		setTitle("JEST - Menu Principal");
-		setSize(600, 700);
+		setSize(600, 780);
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setLocationRelativeTo(null);
 		setResizable(false);
@@ -171,6 +183,24 @@ public class MainMenuFrame extends JFrame {
 		btnLoad.addActionListener(e -> loadGame());
 		buttonPanel.add(btnLoad);
 
+		JButton btnRules = new JButton("Règles");
+		btnRules.setFont(new Font("Arial", Font.BOLD, 16));
+		btnRules.setBackground(new Color(200, 200, 120));
+		btnRules.setForeground(Color.BLACK);
+		btnRules.setFocusPainted(false);
+		btnRules.setBorderPainted(false);
+		btnRules.setPreferredSize(new Dimension(180, 40));
+		btnRules.addActionListener(e -> showRules());
+
+		JButton btnReplays = new JButton("Revoir une partie");
+		btnReplays.setFont(new Font("Arial", Font.BOLD, 16));
+		btnReplays.setBackground(new Color(170, 140, 210));
+		btnReplays.setForeground(Color.BLACK);
+		btnReplays.setFocusPainted(false);
+		btnReplays.setBorderPainted(false);
+		btnReplays.setPreferredSize(new Dimension(180, 40));
+		btnReplays.addActionListener(e -> openReplay());
+
 		JButton btnQuit = new JButton("Quitter");
 		btnQuit.setFont(new Font("Arial", Font.BOLD, 16));
 		btnQuit.setBackground(new Color(200, 100, 100));
@@ -183,9 +213,61 @@ public class MainMenuFrame extends JFrame {
 
 		mainPanel.add(buttonPanel);
 
+		mainPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+
+		JPanel secondaryPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+		secondaryPanel.setBackground(new Color(240, 240, 250));
+		secondaryPanel.add(btnRules);
+		secondaryPanel.add(btnReplays);
+		mainPanel.add(secondaryPanel);
+
+		// État du chargement des ressources, en arrière-plan
+		statusLabel = new JLabel("Chargement des ressources…");
+		statusLabel.setFont(new Font("Arial", Font.ITALIC, 12));
+		statusLabel.setForeground(new Color(100, 100, 150));
+		statusLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+		mainPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+		mainPanel.add(statusLabel);
+		ResourceLoader resources = ResourceLoader.getInstance();
+		resources.getAll().whenComplete((v, e) -> SwingUtilities
+				.invokeLater(() -> statusLabel.setText(e == null ? "Prêt" : "Prêt (ressources incomplètes)")));
+
+		// Le menu est utilisable dès son premier affichage
+		addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowOpened(WindowEvent e) {
+				SwingUtilities.invokeLater(resources::markInteractive);
+			}
+		});
+
 		add(new JScrollPane(mainPanel));
 	}
 
+	/**
+	 * Affiche l'image des règles, ou un message d'attente tant qu'elle est en
+	 * cours de chargement.
+	 */
+	private void showRules() {
+		JDialog dialog = new JDialog(this, "Règles du JEST", false);
+		JLabel content = new JLabel("Chargement des règles…", SwingConstants.CENTER);
+		content.setPreferredSize(new Dimension(480, 300));
+		dialog.add(new JScrollPane(content));
+		dialog.pack();
+		dialog.setLocationRelativeTo(this);
+		dialog.setVisible(true);
+
+		ResourceLoader.getInstance().getRulesImage().whenComplete((image, e) -> SwingUtilities.invokeLater(() -> {
+			if (image != null) {
+				content.setText(null);
+				content.setIcon(new ImageIcon(image));
+				content.setPreferredSize(null);
+			} else {
+				content.setText("Règles indisponibles");
+			}
+			dialog.pack();
+		}));
+	}
+
 	private void updatePlayerNamesPanel() {
 		panelPlayerNames.removeAll();
 		playerNameFields.clear();
@@ -265,10 +347,8 @@ public class MainMenuFrame extends JFrame {
 		this.setVisible(false);
 		gameView.setVisible(true);
 
-		// Lancer le jeu dans un thread séparé
-		new Thread(() -> {
-			controller.runGameLoop();
-		}).start();
+		// Confier la boucle de jeu au service des parties
+		GameExecutor.getDefault().submit(controller);
 	}
 
 	private void loadGame() {
@@ -304,10 +384,49 @@ public class MainMenuFrame extends JFrame {
 			// Charger la partie APRÈS avoir configuré et affiché les vues
 			controller.loadGame(selected);
 
-			// Lancer le jeu dans un thread séparé
-			new Thread(() -> {
-				controller.runGameLoop();
-			}).start();
+			// Confier la boucle de jeu au service des parties
+			GameExecutor.getDefault().submit(controller);
+		}
+	}
+
+	/**
+	 * Propose les parties enregistrées (fichiers du dossier 'replays/', puis
+	 * parties archivées, les plus récentes d'abord) et ouvre celle choisie dans
+	 * le visionnage.
+	 */
+	private void openReplay() {
+		List<String> files = SaveLoadManager.listReplays();
+		List<String> archived = SaveLoadManager.listArchivedReplays();
+		Collections.sort(files);
+		archived.sort(Collections.reverseOrder());
+		if (files.isEmpty() && archived.isEmpty()) {
+			JOptionPane.showMessageDialog(this, "Aucune partie enregistrée.", "Information",
+					JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+
+		List<String> labels = new ArrayList<>();
+		for (String name : files) {
+			labels.add("📁 " + name);
+		}
+		for (String name : archived) {
+			labels.add("🗄️ " + name);
+		}
+		String[] labelArray = labels.toArray(new String[0]);
+		String selected = (String) JOptionPane.showInputDialog(this, "Choisissez une partie à revoir :",
+				"Revoir une partie", JOptionPane.PLAIN_MESSAGE, null, labelArray, labelArray[0]);
+		if (selected == null) {
+			return;
+		}
+
+		int index = labels.indexOf(selected);
+		GameReplay replay = index < files.size() ? SaveLoadManager.loadReplay(files.get(index))
+				: SaveLoadManager.loadArchivedReplay(archived.get(index - files.size()));
+		if (replay == null) {
+			JOptionPane.showMessageDialog(this, "Cette partie ne peut pas être lue.", "Replay",
+					JOptionPane.ERROR_MESSAGE);
+			return;
 		}
+		new ReplayViewer(replay).open(this);
 	}
 }
@@ -0,0 +1,200 @@
+package view.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.border.Border;
+
+import model.Card;
+import model.TableSnapshot.PlayerSnapshot;
+
+/**
+ * Panneau d'un joueur sur la table, conservé d'un instantané à l'autre : nom,
+ * main, offre et Jest. {@link #update(PlayerSnapshot, boolean, boolean)}
+ * compare le nouvel état au précédent et ne touche qu'aux composants qui
+ * changent ; seuls ceux-ci sont redessinés, et la mise en page n'est refaite
+ * que si un élément apparaît, disparaît ou change de taille.
+ * <p>
+ * S'utilise dans le thread de l'interface.
+ * </p>
+ */
+class PlayerPanel extends JPanel {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final java.awt.Color TABLE_GREEN = new java.awt.Color(50, 100, 50);
+	private static final Border CURRENT_BORDER = BorderFactory.createLineBorder(java.awt.Color.YELLOW, 3);
+	private static final Border IDLE_BORDER = BorderFactory.createLineBorder(java.awt.Color.WHITE, 1);
+
+	private final CardImageCache images;
+	private final JLabel nameLabel;
+	private final JPanel cardsPanel;
+	private final JLabel handLabel;
+	private final List<CardView> handCards;
+	private final JLabel offerLabel;
+	private final CardView offerVisible;
+	private final CardView offerHidden;
+	private final JLabel jestLabel;
+	private final JLabel jestCount;
+
+	// Dernier état affiché : les instantanés partagent les joueurs inchangés
+	private PlayerSnapshot shown;
+	private boolean shownCurrent;
+	private boolean shownChoosing;
+	private boolean shownImages;
+
+	/**
+	 * Construit le panneau d'un joueur, vide jusqu'au premier
+	 * {@link #update(PlayerSnapshot, boolean, boolean)}.
+	 *
+	 * @param images le cache des images de cartes
+	 */
+	PlayerPanel(CardImageCache images) {
+		this.images = images;
+		setLayout(new BorderLayout());
+		setBackground(TABLE_GREEN);
+		setBorder(IDLE_BORDER);
+
+		// Nom du joueur
+		nameLabel = new JLabel("", SwingConstants.CENTER);
+		nameLabel.setFont(new Font("Arial", Font.BOLD, 16));
+		nameLabel.setForeground(java.awt.Color.WHITE);
+		add(nameLabel, BorderLayout.NORTH);
+
+		// Cartes : main, offre puis Jest, dans cet ordre
+		cardsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+		cardsPanel.setBackground(TABLE_GREEN);
+
+		handLabel = new JLabel("Main: ");
+		handLabel.setForeground(java.awt.Color.WHITE);
+		cardsPanel.add(handLabel);
+		handCards = new ArrayList<>();
+
+		offerLabel = new JLabel(" | Offre: ");
+		offerLabel.setForeground(java.awt.Color.YELLOW);
+		cardsPanel.add(offerLabel);
+		offerVisible = new CardView(images);
+		cardsPanel.add(offerVisible);
+		offerHidden = new CardView(images);
+		cardsPanel.add(offerHidden);
+
+		jestLabel = new JLabel(" | Jest: ");
+		jestLabel.setForeground(java.awt.Color.WHITE);
+		cardsPanel.add(jestLabel);
+		jestCount = new JLabel();
+		jestCount.setForeground(java.awt.Color.CYAN);
+		cardsPanel.add(jestCount);
+
+		add(cardsPanel, BorderLayout.CENTER);
+		hideAll();
+	}
+
+	private void hideAll() {
+		handLabel.setVisible(false);
+		offerLabel.setVisible(false);
+		offerVisible.setVisible(false);
+		offerHidden.setVisible(false);
+		jestLabel.setVisible(false);
+		jestCount.setVisible(false);
+	}
+
+	/**
+	 * Met le panneau à jour. Rien n'est fait si le joueur, son rôle dans le tour
+	 * et le chargement des images n'ont pas changé.
+	 *
+	 * @param player          l'état du joueur
+	 * @param isCurrentPlayer true si c'est le tour de ce joueur
+	 * @param isChoosingPhase true pendant la phase de choix
+	 */
+	void update(PlayerSnapshot player, boolean isCurrentPlayer, boolean isChoosingPhase) {
+		boolean loaded = images.isLoaded();
+		if (player == shown && isCurrentPlayer == shownCurrent && isChoosingPhase == shownChoosing
+				&& loaded == shownImages) {
+			return;
+		}
+		shown = player;
+		shownCurrent = isCurrentPlayer;
+		shownChoosing = isChoosingPhase;
+		shownImages = loaded;
+
+		// Les setters Swing ne redessinent que si la valeur change
+		setBorder(isCurrentPlayer ? CURRENT_BORDER : IDLE_BORDER);
+		nameLabel.setText(player.getName());
+		nameLabel.setForeground(isCurrentPlayer ? java.awt.Color.YELLOW : java.awt.Color.WHITE);
+
+		// Main du joueur - VISIBLE UNIQUEMENT pendant la phase d'offre ET pour le
+		// joueur actif ET si c'est un humain
+		List<Card> hand = !isChoosingPhase && isCurrentPlayer && player.isHuman() ? player.getHand() : List.of();
+		handLabel.setVisible(!hand.isEmpty());
+		while (handCards.size() < hand.size()) {
+			CardView view = new CardView(images);
+			// Après la dernière carte de la main, avant l'offre
+			cardsPanel.add(view, cardsPanel.getComponentZOrder(offerLabel));
+			handCards.add(view);
+		}
+		for (int i = 0; i < handCards.size(); i++) {
+			CardView view = handCards.get(i);
+			if (i < hand.size()) {
+				view.setCard(hand.get(i), false);
+			}
+			view.setVisible(i < hand.size());
+		}
+
+		// Offre du joueur - Afficher uniquement la carte VISIBLE
+		offerLabel.setVisible(player.hasOffer());
+		Card visible = player.hasOffer() ? player.getOfferVisibleCard() : null;
+		offerVisible.setVisible(visible != null);
+		if (visible != null) {
+			offerVisible.setCard(visible, false);
+		}
+		// Carte cachée (toujours masquée sauf pour le joueur lui-même)
+		Card hidden = player.hasOffer() ? player.getOfferHiddenCard() : null;
+		offerHidden.setVisible(hidden != null);
+		if (hidden != null) {
+			offerHidden.setCard(hidden, !isCurrentPlayer);
+		}
+
+		// Jest du joueur (cartes collectées) - Toujours visible (nombre uniquement)
+		int jestSize = player.getJest().size();
+		jestLabel.setVisible(jestSize > 0);
+		jestCount.setVisible(jestSize > 0);
+		if (jestSize > 0) {
+			jestCount.setText("(" + jestSize + " cartes)");
+		}
+	}
+
+	// === POINTS D'ANCRAGE DES ANIMATIONS ===
+
+	/**
+	 * Retourne le composant d'où partent les cartes du joueur (sa main, ou son
+	 * nom quand la main n'est pas montrée).
+	 */
+	Component getHandAnchor() {
+		return !handCards.isEmpty() && handCards.get(0).isVisible() ? handCards.get(0) : nameLabel;
+	}
+
+	/**
+	 * Retourne l'emplacement d'une carte de l'offre du joueur.
+	 *
+	 * @param hidden true pour la carte cachée
+	 */
+	Component getOfferSlot(boolean hidden) {
+		return hidden ? offerHidden : offerVisible;
+	}
+
+	/**
+	 * Retourne le composant où arrivent les cartes prises par le joueur (son
+	 * Jest, ou son nom tant que le Jest est vide).
+	 */
+	Component getJestAnchor() {
+		return jestCount.isVisible() ? jestCount : nameLabel;
+	}
+}
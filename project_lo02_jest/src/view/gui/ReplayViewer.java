@@ -0,0 +1,239 @@
+package view.gui;
+
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JSlider;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import controller.GameController;
+import controller.ReplayEngine;
+import model.GameReplay;
+import model.ThreadManager;
+
+/**
+ * Visionnage d'une partie enregistrée dans la fenêtre de jeu habituelle
+ * ({@link GameView}), avec une ligne de temps sur tous les coups et une lecture
+ * de 0,25x à 64x.
+ * <p>
+ * La partie est d'abord rejouée une fois à pleine vitesse ; l'historique du
+ * contrôleur garde alors l'état après chaque coup, avec une image clé toutes
+ * les {@link model.SnapshotChain#DEFAULT_KEYFRAME_INTERVAL} entrées. Aller à
+ * un coup ne coûte donc que la reconstruction depuis l'image clé qui le
+ * précède, jamais une nouvelle partie depuis le début.
+ * </p>
+ * <p>
+ * Les déplacements se font dans un thread de fond, qui ne traite que la
+ * dernière position demandée : glisser le curseur ou lire à 64x ne crée pas de
+ * file d'attente. L'EDT ne fait que déposer la position voulue, et la fenêtre
+ * se dessine depuis les instantanés publiés par le contrôleur, sans jamais
+ * attendre ce thread.
+ * </p>
+ */
+public class ReplayViewer {
+
+	/** Vitesses de lecture proposées. */
+	static final double[] SPEEDS = { 0.25, 0.5, 1, 2, 4, 8, 16, 32, 64 };
+
+	// Durée d'un coup à la vitesse 1x, en millisecondes (la pause des bots)
+	private static final int STEP_MILLIS = 1000;
+
+	// Intervalle entre deux avancées de la lecture (une image à 60 Hz)
+	private static final int FRAME_MILLIS = 16;
+
+	private final GameReplay replay;
+	private GameController controller;
+	private GameView view;
+
+	private JSlider timeline;
+	private JLabel positionLabel;
+	private JButton btnPlay;
+	private JComboBox<String> comboSpeed;
+	private Timer playTimer;
+
+	// Tête de lecture, en coups (fractionnaire pendant la lecture)
+	private double playhead;
+	private long lastTick;
+	private boolean adjusting;
+
+	// Dernière position demandée au thread de fond (-1 si aucune)
+	private final AtomicInteger requested = new AtomicInteger(-1);
+	private final AtomicBoolean seeking = new AtomicBoolean();
+
+	/**
+	 * Construit le visionnage d'une partie enregistrée.
+	 *
+	 * @param replay l'enregistrement à revoir
+	 */
+	public ReplayViewer(GameReplay replay) {
+		this.replay = replay;
+	}
+
+	/**
+	 * Rejoue la partie en arrière-plan, puis ouvre la fenêtre au premier coup.
+	 *
+	 * @param parent la fenêtre qui sert de repère pour les messages d'erreur
+	 */
+	public void open(Component parent) {
+		ThreadManager.submit(() -> {
+			ReplayEngine engine = new ReplayEngine(replay);
+			GameController replayed = engine.run();
+			SwingUtilities.invokeLater(() -> {
+				if (!engine.isComplete() || replayed.getHistorySize() == 0) {
+					JOptionPane.showMessageDialog(parent, "Cette partie ne peut pas être rejouée.", "Replay",
+							JOptionPane.ERROR_MESSAGE);
+					return;
+				}
+				show(replayed);
+			});
+		});
+	}
+
+	/**
+	 * Crée la fenêtre sur le contrôleur de la partie rejouée. S'exécute dans
+	 * l'EDT.
+	 */
+	private void show(GameController replayed) {
+		controller = replayed;
+		view = new GameView(controller);
+		view.showReplayControls(createControls());
+		view.setVisible(true);
+		seek(0);
+	}
+
+	private JPanel createControls() {
+		JPanel controls = new JPanel(new FlowLayout(FlowLayout.CENTER));
+		controls.setOpaque(false);
+		int last = controller.getHistorySize() - 1;
+
+		btnPlay = new JButton("▶ Lecture");
+		btnPlay.setFont(new Font("Arial", Font.BOLD, 14));
+		btnPlay.addActionListener(e -> togglePlay());
+		controls.add(btnPlay);
+
+		timeline = new JSlider(0, last, 0);
+		timeline.setOpaque(false);
+		timeline.addChangeListener(e -> {
+			if (!adjusting) {
+				// Déplacement à la main : la lecture reprendra d'ici
+				playhead = timeline.getValue();
+				seek(timeline.getValue());
+			}
+		});
+		controls.add(timeline);
+
+		positionLabel = new JLabel();
+		positionLabel.setFont(new Font("Monospaced", Font.BOLD, 14));
+		positionLabel.setForeground(java.awt.Color.WHITE);
+		controls.add(positionLabel);
+
+		String[] labels = new String[SPEEDS.length];
+		for (int i = 0; i < SPEEDS.length; i++) {
+			labels[i] = formatSpeed(SPEEDS[i]);
+		}
+		comboSpeed = new JComboBox<>(labels);
+		comboSpeed.setSelectedIndex(2);
+		controls.add(comboSpeed);
+
+		playTimer = new Timer(FRAME_MILLIS, e -> advance());
+		playTimer.setCoalesce(true);
+		return controls;
+	}
+
+	private static String formatSpeed(double speed) {
+		return (speed == Math.rint(speed) ? String.valueOf((int) speed) : String.valueOf(speed)) + "x";
+	}
+
+	// === LECTURE ===
+
+	private void togglePlay() {
+		if (playTimer.isRunning()) {
+			stop();
+			return;
+		}
+		if (timeline.getValue() >= timeline.getMaximum()) {
+			playhead = 0;
+		}
+		lastTick = System.nanoTime();
+		btnPlay.setText("⏸ Pause");
+		playTimer.start();
+	}
+
+	private void stop() {
+		playTimer.stop();
+		btnPlay.setText("▶ Lecture");
+	}
+
+	/**
+	 * Avance la tête de lecture selon le temps écoulé depuis la dernière image :
+	 * la lecture garde son rythme même si l'EDT prend du retard, et plusieurs
+	 * coups peuvent être franchis en une image aux grandes vitesses.
+	 */
+	private void advance() {
+		if (!view.isDisplayable()) {
+			playTimer.stop();
+			return;
+		}
+		long now = System.nanoTime();
+		double elapsedMillis = (double) (now - lastTick) / TimeUnit.MILLISECONDS.toNanos(1);
+		lastTick = now;
+		playhead += elapsedMillis * SPEEDS[comboSpeed.getSelectedIndex()] / STEP_MILLIS;
+
+		int last = timeline.getMaximum();
+		if (playhead >= last) {
+			playhead = last;
+			stop();
+		}
+		int index = (int) playhead;
+		if (index != timeline.getValue()) {
+			adjusting = true;
+			timeline.setValue(index);
+			adjusting = false;
+			seek(index);
+		}
+	}
+
+	// === DÉPLACEMENTS ===
+
+	/**
+	 * Demande l'affichage de l'état qui suit le coup d'index donné. Ne bloque
+	 * pas : seule la dernière demande est traitée par le thread de fond.
+	 */
+	private void seek(int index) {
+		positionLabel.setText("Coup " + index + " / " + timeline.getMaximum());
+		requested.set(index);
+		if (seeking.compareAndSet(false, true)) {
+			ThreadManager.submit(this::drainSeeks);
+		}
+	}
+
+	/**
+	 * Restaure les positions demandées jusqu'à ce qu'il n'y en ait plus. Le
+	 * contrôleur publie l'instantané de chaque état restauré, que la fenêtre
+	 * dessine à son rythme.
+	 */
+	private void drainSeeks() {
+		while (true) {
+			int index = requested.getAndSet(-1);
+			if (index >= 0) {
+				controller.seek(index);
+				continue;
+			}
+			seeking.set(false);
+			// Une demande arrivée entre la lecture et la libération serait perdue
+			if (requested.get() < 0 || !seeking.compareAndSet(false, true)) {
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package view.gui;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import javax.imageio.ImageIO;
+
+import model.ThreadManager;
+
+/**
+ * Chargement des ressources de l'interface graphique au lancement : images de
+ * cartes et tapis ({@link CardImageCache}), image des règles et polices. Les
+ * ressources se chargent en parallèle, chacune dans un thread virtuel, pendant
+ * que le menu s'affiche ; chacune est exposée par un {@link CompletableFuture},
+ * et l'interface affiche un substitut tant qu'elle n'est pas prête.
+ * <p>
+ * Le chargeur mesure aussi le temps de démarrage, depuis le lancement de la
+ * JVM : affichage du menu (temps jusqu'à l'interactivité) et fin du chargement
+ * de chaque ressource. Les mesures ne sont écrites, sur la sortie d'erreur,
+ * qu'avec la propriété système {@value #TIMING_PROPERTY} à {@code true}, pour
+ * ne pas se mêler à l'affichage en mode console.
+ * </p>
+ */
+public final class ResourceLoader {
+
+	/** Propriété système qui active l'affichage des temps de démarrage. */
+	public static final String TIMING_PROPERTY = "jest.timing";
+
+	// Image des règles dans le classpath, puis sur disque
+	private static final String RULES_RESOURCE = "/img/rules.png";
+	private static final String RULES_FILE = "resources/img/rules.png";
+
+	// Texte qui charge les glyphes des polices de l'interface (symboles et
+	// emojis compris, qui viennent des polices de secours)
+	private static final String WARM_UP_TEXT = "JEST Jest 0123456789 éèàç ♥♠♣♦ 🃏⭐⚠💰🏆👑";
+
+	private static ResourceLoader instance;
+
+	private final Instant start;
+	private final CompletableFuture<CardImageCache> images;
+	private final CompletableFuture<BufferedImage> rules;
+	private final CompletableFuture<Void> fonts;
+	private final CompletableFuture<Void> all;
+	private boolean interactive;
+
+	private ResourceLoader() {
+		this.start = ProcessHandle.current().info().startInstant().orElseGet(Instant::now);
+		this.images = timed("images", CardImageCache.getInstance().getLoading());
+		this.rules = timed("règles", supply(ResourceLoader::readRules));
+		this.fonts = timed("polices", supply(() -> {
+			warmFonts();
+			return null;
+		}));
+		this.all = CompletableFuture.allOf(images, rules, fonts);
+		all.whenComplete((v, e) -> printTiming("Ressources chargées"));
+	}
+
+	/**
+	 * Retourne le chargeur, et lance le chargement en parallèle de toutes les
+	 * ressources au premier appel. À appeler le plus tôt possible au lancement
+	 * de l'interface.
+	 *
+	 * @return le chargeur de ressources
+	 */
+	public static synchronized ResourceLoader getInstance() {
+		if (instance == null) {
+			instance = new ResourceLoader();
+		}
+		return instance;
+	}
+
+	private static <T> CompletableFuture<T> supply(Supplier<T> task) {
+		return CompletableFuture.supplyAsync(task, ThreadManager.getExecutor());
+	}
+
+	private <T> CompletableFuture<T> timed(String name, CompletableFuture<T> future) {
+		future.whenComplete((v, e) -> {
+			if (e != null) {
+				System.err.println("Ressource indisponible (" + name + ") : " + e.getMessage());
+			} else {
+				printTiming("Ressource « " + name + " » chargée");
+			}
+		});
+		return future;
+	}
+
+	// === RESSOURCES ===
+
+	/**
+	 * Retourne le chargement des images de cartes et du tapis.
+	 *
+	 * @return le cache des images, une fois chargé
+	 */
+	public CompletableFuture<CardImageCache> getImages() {
+		return images;
+	}
+
+	/**
+	 * Retourne le chargement de l'image des règles.
+	 *
+	 * @return l'image des règles, une fois décodée (en échec si elle est
+	 *         introuvable)
+	 */
+	public CompletableFuture<BufferedImage> getRulesImage() {
+		return rules;
+	}
+
+	/**
+	 * Retourne le chargement des polices de l'interface : les fichiers de
+	 * police et leurs glyphes sont chargés avant la création des fenêtres de
+	 * jeu.
+	 *
+	 * @return le préchargement des polices
+	 */
+	public CompletableFuture<Void> getFonts() {
+		return fonts;
+	}
+
+	/**
+	 * Retourne le chargement de toutes les ressources.
+	 *
+	 * @return terminé quand toutes les ressources sont prêtes ou en échec
+	 */
+	public CompletableFuture<Void> getAll() {
+		return all;
+	}
+
+	private static BufferedImage readRules() {
+		try (InputStream in = ResourceLoader.class.getResourceAsStream(RULES_RESOURCE)) {
+			BufferedImage image = in != null ? ImageIO.read(in) : ImageIO.read(new File(RULES_FILE));
+			if (image == null) {
+				throw new IOException("format d'image inconnu");
+			}
+			return image;
+		} catch (IOException e) {
+			throw new CompletionException("Image des règles illisible : " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Charge les polices de l'interface. Les polices sont créées ici, dans le
+	 * thread de chargement : la première création charge la bibliothèque
+	 * graphique.
+	 */
+	private static void warmFonts() {
+		Font[] fonts = { new Font("Arial", Font.PLAIN, 12), new Font("Arial", Font.BOLD, 16),
+				new Font("Arial", Font.ITALIC, 14), new Font("Monospaced", Font.PLAIN, 12) };
+		FontRenderContext frc = new FontRenderContext(null, true, true);
+		for (Font font : fonts) {
+			font.getStringBounds(WARM_UP_TEXT, frc);
+		}
+	}
+
+	// === MESURES ===
+
+	/**
+	 * Signale que le menu est affiché et utilisable. Le premier appel affiche
+	 * le temps écoulé depuis le lancement, si les mesures sont activées.
+	 */
+	public synchronized void markInteractive() {
+		if (interactive) {
+			return;
+		}
+		interactive = true;
+		printTiming("Menu interactif");
+	}
+
+	private void printTiming(String step) {
+		if (Boolean.getBoolean(TIMING_PROPERTY)) {
+			System.err.println("⏱️ " + step + " après " + elapsedMillis() + " ms");
+		}
+	}
+
+	/**
+	 * Retourne le temps écoulé depuis le lancement de la JVM.
+	 *
+	 * @return la durée en millisecondes
+	 */
+	public long elapsedMillis() {
+		return Duration.between(start, Instant.now()).toMillis();
+	}
+}
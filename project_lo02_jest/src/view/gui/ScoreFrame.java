@@ -18,6 +18,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 
 import controller.GameController;
+import model.GameReplay;
 import model.Player;
 
 /**
@@ -55,7 +56,7 @@ public class ScoreFrame extends JFrame {
 	 */
 	private void initializeUI() {
 		setTitle("JEST - Fin de partie");
-		setSize(600, 500);
+		setSize(800, 500);
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setLocationRelativeTo(null);
 
@@ -143,6 +144,20 @@ public class ScoreFrame extends JFrame {
 		});
 		buttonPanel.add(btnSave);
 
+		// Revoir la partie, sauf pour une partie chargée (pas d'enregistrement)
+		GameReplay replay = controller.getReplay();
+		if (replay != null) {
+			JButton btnReplay = new JButton("🎬 Revoir");
+			btnReplay.setFont(new Font("Arial", Font.BOLD, 16));
+			btnReplay.setBackground(new Color(200, 200, 120));
+			btnReplay.setForeground(Color.BLACK);
+			btnReplay.setFocusPainted(false);
+			btnReplay.setBorderPainted(false);
+			btnReplay.setPreferredSize(new Dimension(180, 40));
+			btnReplay.addActionListener(e -> new ReplayViewer(replay).open(this));
+			buttonPanel.add(btnReplay);
+		}
+
 		JButton btnNewGame = new JButton("🎮 Nouvelle Partie");
 		btnNewGame.setFont(new Font("Arial", Font.BOLD, 16));
 		btnNewGame.setBackground(new Color(100, 200, 100));
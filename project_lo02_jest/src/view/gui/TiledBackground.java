@@ -0,0 +1,153 @@
+package view.gui;
+
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.TexturePaint;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Fond d'un panneau, fait d'une image répétée en mosaïque (le tapis de jeu).
+ * <p>
+ * La mosaïque est remplie une seule fois, d'un seul {@link TexturePaint}, dans
+ * une image à la taille du panneau ; chaque affichage ne fait ensuite qu'une
+ * copie de cette image. Elle est refaite uniquement quand le panneau change de
+ * taille, quand il passe sur un écran d'une autre configuration, ou quand la
+ * carte graphique a perdu son contenu. L'image est une {@link VolatileImage}
+ * (mémoire de la carte graphique) quand le panneau est affiché, une image
+ * ordinaire sinon.
+ * </p>
+ * <p>
+ * Les méthodes s'appellent dans le thread de l'interface.
+ * </p>
+ */
+public class TiledBackground {
+
+	private BufferedImage tile;
+	private int transparency;
+
+	// Mosaïque prête à copier, avec la configuration pour laquelle elle est faite
+	private VolatileImage buffer;
+	private BufferedImage fallback;
+	private GraphicsConfiguration config;
+	private int rebuildCount;
+
+	/**
+	 * Change l'image répétée. La mosaïque sera refaite au prochain affichage.
+	 *
+	 * @param tile l'image, ou null pour ne rien dessiner
+	 */
+	public void setTile(BufferedImage tile) {
+		this.tile = tile;
+		this.transparency = tile != null && isOpaque(tile) ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+		flush();
+	}
+
+	/**
+	 * Indique si tous les pixels d'une image sont opaques : la mosaïque est
+	 * alors une image opaque, copiée sans mélange.
+	 */
+	private static boolean isOpaque(BufferedImage image) {
+		if (image.getTransparency() == Transparency.OPAQUE) {
+			return true;
+		}
+		int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+		for (int pixel : pixels) {
+			if (pixel >>> 24 != 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean hasTile() {
+		return tile != null;
+	}
+
+	/**
+	 * Dessine le fond sur toute la surface d'un composant.
+	 *
+	 * @param g         le contexte graphique du composant
+	 * @param component le composant
+	 */
+	public void paint(Graphics g, Component component) {
+		int width = component.getWidth();
+		int height = component.getHeight();
+		if (tile == null || width <= 0 || height <= 0) {
+			return;
+		}
+		GraphicsConfiguration gc = component.getGraphicsConfiguration();
+		if (gc == null) {
+			g.drawImage(fallbackImage(width, height), 0, 0, null);
+			return;
+		}
+
+		do {
+			if (buffer == null || gc != config || buffer.getWidth() != width || buffer.getHeight() != height) {
+				flush();
+				config = gc;
+				buffer = gc.createCompatibleVolatileImage(width, height, transparency);
+				render(buffer);
+			} else {
+				int status = buffer.validate(gc);
+				if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+					buffer.flush();
+					buffer = gc.createCompatibleVolatileImage(width, height, transparency);
+					render(buffer);
+				} else if (status == VolatileImage.IMAGE_RESTORED) {
+					render(buffer);
+				}
+			}
+			g.drawImage(buffer, 0, 0, null);
+		} while (buffer.contentsLost());
+	}
+
+	private BufferedImage fallbackImage(int width, int height) {
+		if (fallback == null || fallback.getWidth() != width || fallback.getHeight() != height) {
+			flush();
+			fallback = new BufferedImage(width, height, transparency == Transparency.OPAQUE
+					? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+			render(fallback);
+		}
+		return fallback;
+	}
+
+	/**
+	 * Remplit une image avec la mosaïque.
+	 */
+	private void render(Image target) {
+		Graphics2D g = (Graphics2D) target.getGraphics();
+		g.setComposite(AlphaComposite.Src);
+		g.setPaint(new TexturePaint(tile, new Rectangle(0, 0, tile.getWidth(), tile.getHeight())));
+		g.fillRect(0, 0, target.getWidth(null), target.getHeight(null));
+		g.dispose();
+		rebuildCount++;
+	}
+
+	/**
+	 * Libère la mosaïque (par exemple à la fermeture de la fenêtre).
+	 */
+	public void flush() {
+		if (buffer != null) {
+			buffer.flush();
+			buffer = null;
+		}
+		fallback = null;
+		config = null;
+	}
+
+	/**
+	 * Retourne le nombre de fois où la mosaïque a été remplie.
+	 *
+	 * @return le nombre de remplissages depuis la création
+	 */
+	public int getRebuildCount() {
+		return rebuildCount;
+	}
+}